@@ -0,0 +1,150 @@
+package com.github.astefanich.ringhunter.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Counts how often each non-negative integer value occurs. Values are counted in a dense array
+ * which grows to fit the largest value, so adding is constant time, and two histograms are
+ * merged by adding their arrays. That makes histograms cheap to gather per thread and combine at
+ * the end.
+ * 
+ * @author AndrewStefanich
+ */
+public final class Histogram {
+
+	/** number of times each value occurred, indexed by value */
+	private long[] counts = new long[16];
+
+	/** number of values added */
+	private long total;
+
+	/** sum of the values added */
+	private long sum;
+
+	/** the largest value added, or -1 if none */
+	private int max = -1;
+
+	/**
+	 * Counts one occurrence of a value.
+	 * 
+	 * @param value
+	 *            the value, which must not be negative
+	 */
+	public void add(int value) {
+		add(value, 1);
+	}
+
+	/**
+	 * Counts several occurrences of a value.
+	 * 
+	 * @param value
+	 *            the value, which must not be negative
+	 * @param times
+	 *            number of occurrences
+	 */
+	public void add(int value, long times) {
+		if (value < 0) {
+			throw new IllegalArgumentException(String.format("value must not be negative, was %d", value));
+		}
+		if (value >= counts.length) {
+			counts = Arrays.copyOf(counts, Math.max(value + 1, counts.length * 2));
+		}
+		counts[value] += times;
+		total += times;
+		sum += value * times;
+		max = Math.max(max, value);
+	}
+
+	/**
+	 * Adds every count of another histogram to this one.
+	 * 
+	 * @param other
+	 *            the histogram to add, which is not changed
+	 * @return this histogram
+	 */
+	public Histogram merge(Histogram other) {
+		if (other.max >= counts.length) {
+			counts = Arrays.copyOf(counts, other.max + 1);
+		}
+		for (int value = 0; value <= other.max; value++) {
+			counts[value] += other.counts[value];
+		}
+		total += other.total;
+		sum += other.sum;
+		max = Math.max(max, other.max);
+		return this;
+	}
+
+	/**
+	 * Gets the number of times a value occurred.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the count
+	 */
+	public long getCount(int value) {
+		return value >= 0 && value < counts.length ? counts[value] : 0;
+	}
+
+	/**
+	 * Gets the number of values added.
+	 * 
+	 * @return the total count
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * Gets the largest value added.
+	 * 
+	 * @return the maximum, or -1 if the histogram is empty
+	 */
+	public int getMax() {
+		return max;
+	}
+
+	/**
+	 * Gets the mean of the values added.
+	 * 
+	 * @return the mean, or 0 if the histogram is empty
+	 */
+	public double getMean() {
+		return total == 0 ? 0 : (double) sum / total;
+	}
+
+	/**
+	 * Gets the smallest value which at least the given fraction of values are less than or equal
+	 * to.
+	 * 
+	 * @param fraction
+	 *            between 0 and 1, for example 0.99 for the 99th percentile
+	 * @return the value, or -1 if the histogram is empty
+	 */
+	public int getPercentile(double fraction) {
+		if (!(fraction >= 0 && fraction <= 1)) {
+			throw new IllegalArgumentException(String.format("fraction must be between 0 and 1, was %f", fraction));
+		}
+		final double target = Math.max(1, Math.ceil(fraction * total));
+		long seen = 0;
+		for (int value = 0; value <= max; value++) {
+			seen += counts[value];
+			if (seen >= target) {
+				return value;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Summarizes the histogram.
+	 * 
+	 * @return count, mean, median, 90th and 99th percentiles, and maximum
+	 */
+	@Override
+	public String toString() {
+		return String.format("n=%d mean=%.2f p50=%d p90=%d p99=%d max=%d", total, getMean(), getPercentile(0.5),
+				getPercentile(0.9), getPercentile(0.99), max);
+	}
+
+}
@@ -0,0 +1,164 @@
+package com.github.astefanich.ringhunter.analytics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.trees.RandomTree;
+
+/**
+ * Gathers {@link TreeStats} about trees. Each tree is walked once, iteratively, recording every
+ * node in preorder; subtree sizes are then summed by a sweep over that record from the last node
+ * back to the first, so deep trees cannot overflow the call stack. The record is kept between
+ * trees, so an analyzer allocates nothing once it has seen its largest tree. <br>
+ * An analyzer is not thread-safe. To analyze in parallel, give each thread its own analyzer and
+ * {@link #merge(TreeAnalyzer)} them, as {@link #survey(long, long)} does.
+ * 
+ * @author AndrewStefanich
+ * @see RandomTree
+ */
+public final class TreeAnalyzer {
+
+	/** statistics of every tree added so far */
+	private final TreeStats stats = new TreeStats();
+
+	/** nodes waiting to be recorded */
+	private MiddleEarthNode[] stack = new MiddleEarthNode[64];
+
+	/** index of the parent of each node waiting to be recorded */
+	private int[] stackParents = new int[64];
+
+	/** index of the parent of each recorded node, -1 for the root */
+	private int[] parents = new int[64];
+
+	/** level of each recorded node */
+	private int[] depths = new int[64];
+
+	/** number of children of each recorded node */
+	private int[] fanOuts = new int[64];
+
+	/** size of the subtree of each recorded node */
+	private int[] sizes = new int[64];
+
+	/**
+	 * Gathers statistics about one tree.
+	 * 
+	 * @param root
+	 *            the root node
+	 * @return the statistics
+	 */
+	public static TreeStats analyze(MiddleEarthNode root) {
+		final TreeAnalyzer analyzer = new TreeAnalyzer();
+		analyzer.add(root, 0);
+		return analyzer.getStats();
+	}
+
+	/**
+	 * Generates trees with {@link RandomTree}, and gathers their statistics in parallel. Tree
+	 * {@code i} is generated from a seed derived from the given seed and {@code i}, so a survey
+	 * gives the same result however its trees are split between threads.
+	 * 
+	 * @param trees
+	 *            number of trees to generate
+	 * @param seed
+	 *            seed of the survey
+	 * @return the statistics of every tree
+	 */
+	public static TreeStats survey(long trees, long seed) {
+		if (trees < 0) {
+			throw new IllegalArgumentException("trees must not be negative");
+		}
+		return LongStream.range(0, trees).parallel().collect(TreeAnalyzer::new, (analyzer, i) -> {
+			final RandomTree generator = new RandomTree(new SplittableRandom(seed + i).nextLong());
+			final MiddleEarthNode root = generator.getTreeTop();
+			analyzer.add(root, generator.getRetryCount());
+		}, TreeAnalyzer::merge).getStats();
+	}
+
+	/**
+	 * Adds the statistics of a tree.
+	 * 
+	 * @param root
+	 *            the root node
+	 * @param retryCount
+	 *            number of invalid trees thrown away before this one was generated
+	 */
+	public void add(MiddleEarthNode root, int retryCount) {
+		if (root == null) {
+			throw new IllegalArgumentException("root must not be null");
+		}
+		int count = 0;
+		int top = 0;
+		int treeDepth = 0;
+		int ringDepth = -1;
+		stack[top] = root;
+		stackParents[top++] = -1;
+		while (top > 0) {
+			final MiddleEarthNode node = stack[--top];
+			stack[top] = null;
+			final int parent = stackParents[top];
+			final List<MiddleEarthNode> children = node.getChildren();
+			if (count == parents.length) {
+				grow();
+			}
+			final int depth = parent < 0 ? 0 : depths[parent] + 1;
+			parents[count] = parent;
+			depths[count] = depth;
+			fanOuts[count] = children.size();
+			sizes[count] = 1;
+			treeDepth = Math.max(treeDepth, depth);
+			if (node.hasRing() && ringDepth < 0) {
+				ringDepth = depth;
+			}
+			if (top + children.size() > stack.length) {
+				stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + children.size()));
+				stackParents = Arrays.copyOf(stackParents, stack.length);
+			}
+			for (int i = children.size() - 1; i >= 0; i--) {
+				stack[top] = children.get(i);
+				stackParents[top++] = count;
+			}
+			count++;
+		}
+		for (int i = count - 1; i >= 0; i--) {  //children are recorded after their parents
+			if (parents[i] >= 0) {
+				sizes[parents[i]] += sizes[i];
+			}
+			stats.addNode(depths[i], fanOuts[i], sizes[i]);
+		}
+		stats.addTree(count, treeDepth, retryCount, ringDepth);
+	}
+
+	/**
+	 * Doubles the room for recorded nodes.
+	 */
+	private void grow() {
+		final int length = parents.length * 2;
+		parents = Arrays.copyOf(parents, length);
+		depths = Arrays.copyOf(depths, length);
+		fanOuts = Arrays.copyOf(fanOuts, length);
+		sizes = Arrays.copyOf(sizes, length);
+	}
+
+	/**
+	 * Adds the statistics gathered by another analyzer to this one.
+	 * 
+	 * @param other
+	 *            the analyzer, which is not changed
+	 */
+	public void merge(TreeAnalyzer other) {
+		stats.merge(other.stats);
+	}
+
+	/**
+	 * Gets the statistics of every tree added so far.
+	 * 
+	 * @return the statistics
+	 */
+	public TreeStats getStats() {
+		return stats;
+	}
+
+}
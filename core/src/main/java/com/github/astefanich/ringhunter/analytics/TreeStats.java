@@ -0,0 +1,199 @@
+package com.github.astefanich.ringhunter.analytics;
+
+/**
+ * The shape of one or more trees, as gathered by a {@link TreeAnalyzer}. Per-tree histograms
+ * (size, depth, retries, depth of the ring) get one value per tree; per-node histograms (depth,
+ * fan-out, subtree size) get one value per node. Statistics of separate trees are combined with
+ * {@link #merge(TreeStats)}.
+ * 
+ * @author AndrewStefanich
+ */
+public final class TreeStats {
+
+	/** number of trees */
+	private long trees;
+
+	/** number of trees in which the ring can be reached from the root */
+	private long ringReachable;
+
+	/** nodes per tree */
+	private final Histogram treeSizes = new Histogram();
+
+	/** levels below the root, per tree */
+	private final Histogram treeDepths = new Histogram();
+
+	/** invalid trees thrown away before each tree was generated */
+	private final Histogram retries = new Histogram();
+
+	/** level of the ring bearer, for trees in which it can be reached */
+	private final Histogram ringDepths = new Histogram();
+
+	/** level of every node */
+	private final Histogram nodeDepths = new Histogram();
+
+	/** number of children of every node */
+	private final Histogram fanOuts = new Histogram();
+
+	/** number of nodes in the subtree of every node, including the node */
+	private final Histogram subtreeSizes = new Histogram();
+
+	/**
+	 * Counts one tree.
+	 * 
+	 * @param size
+	 *            number of nodes
+	 * @param depth
+	 *            levels below the root
+	 * @param retryCount
+	 *            invalid trees thrown away first
+	 * @param ringDepth
+	 *            level of the ring bearer, or -1 if it cannot be reached
+	 */
+	void addTree(int size, int depth, int retryCount, int ringDepth) {
+		trees++;
+		treeSizes.add(size);
+		treeDepths.add(depth);
+		retries.add(retryCount);
+		if (ringDepth >= 0) {
+			ringReachable++;
+			ringDepths.add(ringDepth);
+		}
+	}
+
+	/**
+	 * Counts one node.
+	 * 
+	 * @param depth
+	 *            level of the node
+	 * @param fanOut
+	 *            number of children
+	 * @param subtreeSize
+	 *            number of nodes in its subtree, including itself
+	 */
+	void addNode(int depth, int fanOut, int subtreeSize) {
+		nodeDepths.add(depth);
+		fanOuts.add(fanOut);
+		subtreeSizes.add(subtreeSize);
+	}
+
+	/**
+	 * Adds the statistics of other trees to these.
+	 * 
+	 * @param other
+	 *            the statistics to add, which are not changed
+	 * @return these statistics
+	 */
+	public TreeStats merge(TreeStats other) {
+		trees += other.trees;
+		ringReachable += other.ringReachable;
+		treeSizes.merge(other.treeSizes);
+		treeDepths.merge(other.treeDepths);
+		retries.merge(other.retries);
+		ringDepths.merge(other.ringDepths);
+		nodeDepths.merge(other.nodeDepths);
+		fanOuts.merge(other.fanOuts);
+		subtreeSizes.merge(other.subtreeSizes);
+		return this;
+	}
+
+	/**
+	 * Gets the number of trees.
+	 * 
+	 * @return the tree count
+	 */
+	public long getTrees() {
+		return trees;
+	}
+
+	/**
+	 * Gets the number of trees in which the ring can be reached from the root.
+	 * 
+	 * @return the count
+	 */
+	public long getRingReachable() {
+		return ringReachable;
+	}
+
+	/**
+	 * Gets the number of nodes per tree.
+	 * 
+	 * @return the histogram
+	 */
+	public Histogram getTreeSizes() {
+		return treeSizes;
+	}
+
+	/**
+	 * Gets the number of levels below the root, per tree.
+	 * 
+	 * @return the histogram
+	 */
+	public Histogram getTreeDepths() {
+		return treeDepths;
+	}
+
+	/**
+	 * Gets the number of invalid trees thrown away before each tree.
+	 * 
+	 * @return the histogram
+	 */
+	public Histogram getRetries() {
+		return retries;
+	}
+
+	/**
+	 * Gets the level of the ring bearer, for trees in which it can be reached.
+	 * 
+	 * @return the histogram
+	 */
+	public Histogram getRingDepths() {
+		return ringDepths;
+	}
+
+	/**
+	 * Gets the level of every node.
+	 * 
+	 * @return the histogram
+	 */
+	public Histogram getNodeDepths() {
+		return nodeDepths;
+	}
+
+	/**
+	 * Gets the number of children of every node.
+	 * 
+	 * @return the histogram
+	 */
+	public Histogram getFanOuts() {
+		return fanOuts;
+	}
+
+	/**
+	 * Gets the number of nodes in the subtree of every node.
+	 * 
+	 * @return the histogram
+	 */
+	public Histogram getSubtreeSizes() {
+		return subtreeSizes;
+	}
+
+	/**
+	 * Summarizes the statistics, one line per histogram.
+	 * 
+	 * @return the summary
+	 */
+	@Override
+	public String toString() {
+		final String newLine = System.lineSeparator();
+		return String.format("trees %d, ring reachable in %d (%.2f%%)", trees, ringReachable,
+				trees == 0 ? 0 : 100.0 * ringReachable / trees) + newLine
+				+ "tree size      " + treeSizes + newLine
+				+ "tree depth     " + treeDepths + newLine
+				+ "retries        " + retries + newLine
+				+ "ring depth     " + ringDepths + newLine
+				+ "node depth     " + nodeDepths + newLine
+				+ "fan-out        " + fanOuts + newLine
+				+ "subtree size   " + subtreeSizes;
+	}
+
+}
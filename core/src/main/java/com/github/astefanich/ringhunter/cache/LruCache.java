@@ -0,0 +1,189 @@
+package com.github.astefanich.ringhunter.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * A bounded cache which evicts the least recently used entries once it is full. Entries are kept
+ * in a {@link LinkedHashMap} in access order, so lookups, insertions and evictions are all
+ * constant time. By default each entry counts as one towards the capacity; a weigher can count
+ * large values as more, such as a tree by its nodes. All methods are synchronized, so one cache
+ * can be shared between threads.
+ * 
+ * @author AndrewStefanich
+ * @param <K>
+ *            type of the keys
+ * @param <V>
+ *            type of the values
+ */
+public class LruCache<K, V> {
+
+	/** the most total weight kept */
+	private final int capacity;
+
+	/** weight of each value, which must not change while it is cached */
+	private final ToIntFunction<? super V> weigher;
+
+	/** total weight of the entries */
+	private long weight;
+
+	/** the entries, least recently used first */
+	private final LinkedHashMap<K, V> entries;
+
+	/** number of lookups which found an entry */
+	private long hits;
+
+	/** number of lookups which did not */
+	private long misses;
+
+	/**
+	 * Creates an empty cache.
+	 * 
+	 * @param capacity
+	 *            the most entries to keep
+	 */
+	public LruCache(int capacity) {
+		this(capacity, value -> 1);
+	}
+
+	/**
+	 * Creates an empty cache bounded by the total weight of its values.
+	 * 
+	 * @param capacity
+	 *            the most total weight to keep
+	 * @param weigher
+	 *            the weight of a value, which must not be negative
+	 */
+	public LruCache(int capacity, ToIntFunction<? super V> weigher) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("capacity must be at least 1");
+		}
+		if (weigher == null) {
+			throw new IllegalArgumentException("weigher must not be null");
+		}
+		this.capacity = capacity;
+		this.weigher = weigher;
+		this.entries = new LinkedHashMap<K, V>(16, 0.75f, true);
+	}
+
+	/**
+	 * Gets a value, and marks it as recently used.
+	 * 
+	 * @param key
+	 *            the key
+	 * @return the value, or null if it is not cached
+	 */
+	public synchronized V get(K key) {
+		final V value = entries.get(key);
+		if (value == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return value;
+	}
+
+	/**
+	 * Caches a value, evicting the least recently used entries until the cache is no longer over
+	 * its capacity. A value which weighs more than the whole capacity is evicted at once.
+	 * 
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value, which must not be null
+	 */
+	public synchronized void put(K key, V value) {
+		if (value == null) {
+			throw new IllegalArgumentException("value must not be null");
+		}
+		final V replaced = entries.put(key, value);
+		weight += weigher.applyAsInt(value);
+		if (replaced != null) {
+			weight -= weigher.applyAsInt(replaced);
+		}
+		final Iterator<V> eldest = entries.values().iterator();  //least recently used first
+		while (weight > capacity) {
+			weight -= weigher.applyAsInt(eldest.next());
+			eldest.remove();
+		}
+	}
+
+	/**
+	 * Gets a value, computing and caching it if it is not cached. The value is computed without
+	 * holding the cache's lock, so two threads which miss on the same key at once may both
+	 * compute it; the last one to finish is kept.
+	 * 
+	 * @param key
+	 *            the key
+	 * @param compute
+	 *            computes the value from the key
+	 * @return the value
+	 */
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> compute) {
+		final V cached = get(key);
+		if (cached != null) {
+			return cached;
+		}
+		final V value = compute.apply(key);
+		put(key, value);
+		return value;
+	}
+
+	/**
+	 * Removes every entry, and resets the hit and miss counts.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		weight = 0;
+		hits = 0;
+		misses = 0;
+	}
+
+	/**
+	 * Gets the number of entries.
+	 * 
+	 * @return the entry count
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Gets the total weight of the entries, which is their number unless there is a weigher.
+	 * 
+	 * @return the weight
+	 */
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	/**
+	 * Gets the most total weight kept, which is the most entries unless there is a weigher.
+	 * 
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Gets the number of lookups which found an entry.
+	 * 
+	 * @return the hit count
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Gets the number of lookups which did not find an entry.
+	 * 
+	 * @return the miss count
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.github.astefanich.ringhunter.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted once per call to {@code RandomTree.getTreeTop()}.
+ * 
+ * @author AndrewStefanich
+ */
+@Name("com.github.astefanich.ringhunter.Generate")
+@Label("Generate Tree")
+@Description("Generation of a random tree, including invalid trees which were thrown away")
+public class GenerateEvent extends TreePhaseEvent {
+
+	/** number of trees discarded before a valid one was built */
+	@Label("Retries")
+	@Description("Number of invalid trees discarded before a valid tree was built")
+	private int retries;
+
+	/**
+	 * Sets the number of discarded trees.
+	 * 
+	 * @param retries
+	 *            the retry count
+	 */
+	public void setRetries(int retries) {
+		this.retries = retries;
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.github.astefanich.ringhunter.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted once per hunt run by the game or a {@code HuntService}, including hunts a service
+ * answered from its cache.
+ * 
+ * @author AndrewStefanich
+ */
+@Name("com.github.astefanich.ringhunter.Hunt")
+@Label("Hunt")
+@Description("A hunter searching a tree for The One Ring")
+public class HuntEvent extends TreePhaseEvent {
+
+	/** name of the hunter */
+	@Label("Hunter")
+	private String hunter;
+
+	/** number of nodes the hunter encountered */
+	@Label("Nodes Visited")
+	@Description("Number of nodes the hunter encountered, including the root")
+	private int nodesVisited;
+
+	/** true if the result came from a cache */
+	@Label("Cache Hit")
+	@Description("True if the result was an earlier hunt's, taken from a cache, rather than a new hunt's")
+	private boolean cacheHit;
+
+	/** length of the hunter's report */
+	@Label("Report Length")
+	@Description("Number of characters in the hunter's report")
+	private int reportLength;
+
+	/**
+	 * Sets the name of the hunter.
+	 * 
+	 * @param hunter
+	 *            the name
+	 */
+	public void setHunter(String hunter) {
+		this.hunter = hunter;
+	}
+
+	/**
+	 * Sets the number of nodes the hunter encountered.
+	 * 
+	 * @param nodesVisited
+	 *            the visit count
+	 */
+	public void setNodesVisited(int nodesVisited) {
+		this.nodesVisited = nodesVisited;
+	}
+
+	/**
+	 * Sets whether the result came from a cache.
+	 * 
+	 * @param cacheHit
+	 *            true if no hunt was run
+	 */
+	public void setCacheHit(boolean cacheHit) {
+		this.cacheHit = cacheHit;
+	}
+
+	/**
+	 * Sets the length of the hunter's report.
+	 * 
+	 * @param reportLength
+	 *            the number of characters
+	 */
+	public void setReportLength(int reportLength) {
+		this.reportLength = reportLength;
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.github.astefanich.ringhunter.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted once per call to {@code TreeRenderer.getTreeGraphic()}.
+ * 
+ * @author AndrewStefanich
+ */
+@Name("com.github.astefanich.ringhunter.Layout")
+@Label("Layout Tree")
+@Description("Computing node positions for the tree graphic")
+public class LayoutEvent extends TreePhaseEvent {
+
+}
@@ -0,0 +1,38 @@
+package com.github.astefanich.ringhunter.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted once per call to {@code TreeVisualizer.paint()}.
+ * 
+ * @author AndrewStefanich
+ */
+@Name("com.github.astefanich.ringhunter.Paint")
+@Label("Paint Tree")
+@Description("Painting the edges and boxes of the tree graphic")
+public class PaintEvent extends TreePhaseEvent {
+
+	/** width of the painted area, in pixels */
+	@Label("Width")
+	private int width;
+
+	/** height of the painted area, in pixels */
+	@Label("Height")
+	private int height;
+
+	/**
+	 * Sets the size of the painted area.
+	 * 
+	 * @param width
+	 *            width in pixels
+	 * @param height
+	 *            height in pixels
+	 */
+	public void setArea(int width, int height) {
+		this.width = width;
+		this.height = height;
+	}
+
+}
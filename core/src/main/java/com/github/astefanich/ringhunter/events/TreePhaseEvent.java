@@ -0,0 +1,53 @@
+package com.github.astefanich.ringhunter.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base class for the Flight Recorder events emitted by each phase of a hunt. Every phase records
+ * the shape of the tree it worked on, so a latency spike can be traced back to the tree behind it.
+ * 
+ * @author AndrewStefanich
+ * @see GenerateEvent
+ * @see HuntEvent
+ * @see LayoutEvent
+ * @see PaintEvent
+ */
+@Category({ "Ring Hunter", "Phases" })
+@StackTrace(false)
+public abstract class TreePhaseEvent extends Event {
+
+	/** number of nodes in the tree, including the root and the ring bearer */
+	@Label("Tree Size")
+	@Description("Number of nodes in the tree")
+	protected int treeSize;
+
+	/** number of levels below the root */
+	@Label("Tree Depth")
+	@Description("Number of levels below the root node")
+	protected int treeDepth;
+
+	/**
+	 * Sets the number of nodes in the tree.
+	 * 
+	 * @param treeSize
+	 *            the node count
+	 */
+	public void setTreeSize(int treeSize) {
+		this.treeSize = treeSize;
+	}
+
+	/**
+	 * Sets the depth of the tree.
+	 * 
+	 * @param treeDepth
+	 *            levels below the root
+	 */
+	public void setTreeDepth(int treeDepth) {
+		this.treeDepth = treeDepth;
+	}
+
+}
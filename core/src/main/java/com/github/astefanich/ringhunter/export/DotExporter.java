@@ -0,0 +1,171 @@
+package com.github.astefanich.ringhunter.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+
+/**
+ * Exports a tree as a Graphviz DOT digraph. Nodes are labelled with their names and carry their
+ * id, kind and ring flags as attributes; the ring bearer is filled gold. With positions set, each
+ * node gets a pinned {@code pos} in points (y flipped, since Graphviz measures upwards), so
+ * {@code neato -n} draws the game's own layout. With a hunt overlaid, visited nodes carry their
+ * visit order and are filled grey, and the path is drawn in red.
+ * 
+ * @author AndrewStefanich
+ */
+public class DotExporter extends TreeExporter {
+
+	/** reused for escaping labels */
+	private final StringBuilder escaped = new StringBuilder();
+
+	/**
+	 * Opens the digraph.
+	 * 
+	 * @param out
+	 *            the output
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	@Override
+	protected void writeHeader(Writer out) throws IOException {
+		out.write("digraph middleEarth {\n");
+		out.write("node [shape=box, style=\"rounded,filled\", fillcolor=white];\n");
+	}
+
+	/**
+	 * Writes a node statement.
+	 * 
+	 * @param out
+	 *            the output
+	 * @param number
+	 *            the node's preorder number
+	 * @param node
+	 *            the node
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	@Override
+	protected void writeNode(Writer out, long number, MiddleEarthNode node) throws IOException {
+		out.write('n');
+		out.write(Long.toString(number));
+		out.write(" [label=");
+		writeQuoted(out, node.getName() == null ? "" : node.getName());
+		out.write(", id=");
+		out.write(Long.toString(node.getId()));
+		out.write(", kind=");
+		out.write(node.getKind().name());
+		if (node.hasRing()) {
+			out.write(", hasRing=true, fillcolor=gold");
+		} else if (node.isAdjacentToRing()) {
+			out.write(", adjacentToRing=true");
+		}
+		final NodeCoordinates coordinates = getCoordinates();
+		if (coordinates != null) {
+			final double x = coordinates.getX(node);
+			final double y = coordinates.getY(node);
+			if (!Double.isNaN(x) && !Double.isNaN(y)) {
+				out.write(", pos=\"");
+				out.write(Double.toString(x));
+				out.write(',');
+				out.write(Double.toString(-y));
+				out.write("!\"");
+			}
+		}
+		final HuntOverlay overlay = getOverlay();
+		if (overlay != null) {
+			final int visit = overlay.getVisitOrder(node);
+			if (visit >= 0) {
+				out.write(", visitOrder=");
+				out.write(Integer.toString(visit));
+				if (!node.hasRing()) {
+					out.write(", fillcolor=lightgrey");
+				}
+			}
+			final int step = overlay.getPathIndex(node);
+			if (step >= 0) {
+				out.write(", pathIndex=");
+				out.write(Integer.toString(step));
+				out.write(", color=red, penwidth=2");
+			}
+		}
+		out.write("];\n");
+	}
+
+	/**
+	 * Writes an edge statement.
+	 * 
+	 * @param out
+	 *            the output
+	 * @param parentNumber
+	 *            the parent's preorder number
+	 * @param parent
+	 *            the parent
+	 * @param childNumber
+	 *            the child's preorder number
+	 * @param child
+	 *            the child
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	@Override
+	protected void writeEdge(Writer out, long parentNumber, MiddleEarthNode parent, long childNumber,
+			MiddleEarthNode child) throws IOException {
+		out.write('n');
+		out.write(Long.toString(parentNumber));
+		out.write(" -> n");
+		out.write(Long.toString(childNumber));
+		out.write(" [distance=");
+		out.write(Double.toString(child.getDistanceFromParent()));
+		if (isOnPath(parent, child)) {
+			out.write(", color=red, penwidth=2");
+		}
+		out.write("];\n");
+	}
+
+	/**
+	 * Closes the digraph.
+	 * 
+	 * @param out
+	 *            the output
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	@Override
+	protected void writeFooter(Writer out) throws IOException {
+		out.write("}\n");
+	}
+
+	/**
+	 * Writes a DOT string: quoted, with quotes and backslashes escaped and line breaks turned
+	 * into spaces.
+	 * 
+	 * @param out
+	 *            the output
+	 * @param text
+	 *            the text
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	private void writeQuoted(Writer out, String text) throws IOException {
+		escaped.setLength(0);
+		escaped.append('"');
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			switch (c) {
+			case '"':
+			case '\\':
+				escaped.append('\\').append(c);
+				break;
+			case '\n':
+			case '\r':
+				escaped.append(' ');
+				break;
+			default:
+				escaped.append(c);
+			}
+		}
+		out.append(escaped.append('"'));
+	}
+
+}
@@ -0,0 +1,229 @@
+package com.github.astefanich.ringhunter.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+
+/**
+ * Exports a tree as a directed GraphML graph, which tools such as Gephi, yEd and NetworkX read.
+ * Every node has its id, kind, name, description and ring flags as data; its x and y when
+ * positions are set; and its visit order and path index when a hunt is overlaid and reached it.
+ * Edges carry the distance from parent to child, and whether they are a step of the path.
+ * 
+ * @author AndrewStefanich
+ */
+public class GraphMLExporter extends TreeExporter {
+
+	/** reused for escaping values */
+	private final StringBuilder escaped = new StringBuilder();
+
+	/**
+	 * Opens the document and declares the data keys.
+	 * 
+	 * @param out
+	 *            the output
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	@Override
+	protected void writeHeader(Writer out) throws IOException {
+		out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		out.write("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+		writeKey(out, "id", "node", "long");
+		writeKey(out, "kind", "node", "string");
+		writeKey(out, "name", "node", "string");
+		writeKey(out, "description", "node", "string");
+		writeKey(out, "hasRing", "node", "boolean");
+		writeKey(out, "adjacentToRing", "node", "boolean");
+		if (getCoordinates() != null) {
+			writeKey(out, "x", "node", "double");
+			writeKey(out, "y", "node", "double");
+		}
+		if (getOverlay() != null) {
+			writeKey(out, "visitOrder", "node", "int");
+			writeKey(out, "pathIndex", "node", "int");
+		}
+		writeKey(out, "distance", "edge", "double");
+		if (getOverlay() != null) {
+			writeKey(out, "onPath", "edge", "boolean");
+		}
+		out.write("<graph id=\"middleEarth\" edgedefault=\"directed\">\n");
+	}
+
+	/**
+	 * Declares a data key.
+	 * 
+	 * @param out
+	 *            the output
+	 * @param name
+	 *            the key's id and name
+	 * @param domain
+	 *            "node" or "edge"
+	 * @param type
+	 *            the GraphML type of its values
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	private static void writeKey(Writer out, String name, String domain, String type) throws IOException {
+		out.write("<key id=\"");
+		out.write(name);
+		out.write("\" for=\"");
+		out.write(domain);
+		out.write("\" attr.name=\"");
+		out.write(name);
+		out.write("\" attr.type=\"");
+		out.write(type);
+		out.write("\"/>\n");
+	}
+
+	/**
+	 * Writes a node element.
+	 * 
+	 * @param out
+	 *            the output
+	 * @param number
+	 *            the node's preorder number
+	 * @param node
+	 *            the node
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	@Override
+	protected void writeNode(Writer out, long number, MiddleEarthNode node) throws IOException {
+		out.write("<node id=\"n");
+		out.write(Long.toString(number));
+		out.write("\">");
+		writeData(out, "id", Long.toString(node.getId()));
+		writeData(out, "kind", node.getKind().name());
+		writeData(out, "name", node.getName());
+		writeData(out, "description", node.getDescription());
+		writeData(out, "hasRing", Boolean.toString(node.hasRing()));
+		writeData(out, "adjacentToRing", Boolean.toString(node.isAdjacentToRing()));
+		final NodeCoordinates coordinates = getCoordinates();
+		if (coordinates != null) {
+			final double x = coordinates.getX(node);
+			final double y = coordinates.getY(node);
+			if (!Double.isNaN(x) && !Double.isNaN(y)) {
+				writeData(out, "x", Double.toString(x));
+				writeData(out, "y", Double.toString(y));
+			}
+		}
+		final HuntOverlay overlay = getOverlay();
+		if (overlay != null) {
+			final int visit = overlay.getVisitOrder(node);
+			if (visit >= 0) {
+				writeData(out, "visitOrder", Integer.toString(visit));
+			}
+			final int step = overlay.getPathIndex(node);
+			if (step >= 0) {
+				writeData(out, "pathIndex", Integer.toString(step));
+			}
+		}
+		out.write("</node>\n");
+	}
+
+	/**
+	 * Writes an edge element.
+	 * 
+	 * @param out
+	 *            the output
+	 * @param parentNumber
+	 *            the parent's preorder number
+	 * @param parent
+	 *            the parent
+	 * @param childNumber
+	 *            the child's preorder number
+	 * @param child
+	 *            the child
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	@Override
+	protected void writeEdge(Writer out, long parentNumber, MiddleEarthNode parent, long childNumber,
+			MiddleEarthNode child) throws IOException {
+		out.write("<edge source=\"n");
+		out.write(Long.toString(parentNumber));
+		out.write("\" target=\"n");
+		out.write(Long.toString(childNumber));
+		out.write("\">");
+		writeData(out, "distance", Double.toString(child.getDistanceFromParent()));
+		if (getOverlay() != null) {
+			writeData(out, "onPath", Boolean.toString(isOnPath(parent, child)));
+		}
+		out.write("</edge>\n");
+	}
+
+	/**
+	 * Closes the graph and the document.
+	 * 
+	 * @param out
+	 *            the output
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	@Override
+	protected void writeFooter(Writer out) throws IOException {
+		out.write("</graph>\n</graphml>\n");
+	}
+
+	/**
+	 * Writes a data element, unless its value is null.
+	 * 
+	 * @param out
+	 *            the output
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value, which is escaped
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	private void writeData(Writer out, String key, String value) throws IOException {
+		if (value == null) {
+			return;
+		}
+		out.write("<data key=\"");
+		out.write(key);
+		out.write("\">");
+		out.append(escape(value));
+		out.write("</data>");
+	}
+
+	/**
+	 * Escapes the characters which have a meaning in XML text.
+	 * 
+	 * @param text
+	 *            the text to escape
+	 * @return the text itself if nothing needed escaping, otherwise the escaped text
+	 */
+	private CharSequence escape(String text) {
+		int i = 0;
+		while (i < text.length() && text.charAt(i) != '<' && text.charAt(i) != '>' && text.charAt(i) != '&') {
+			i++;
+		}
+		if (i == text.length()) {  //most names need nothing, so they are written as they are
+			return text;
+		}
+		escaped.setLength(0);
+		escaped.append(text, 0, i);
+		for (; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			switch (c) {
+			case '<':
+				escaped.append("&lt;");
+				break;
+			case '>':
+				escaped.append("&gt;");
+				break;
+			case '&':
+				escaped.append("&amp;");
+				break;
+			default:
+				escaped.append(c);
+			}
+		}
+		return escaped;
+	}
+
+}
@@ -0,0 +1,199 @@
+package com.github.astefanich.ringhunter.export;
+
+import java.util.List;
+
+import com.github.astefanich.ringhunter.hunters.AbstractRingHunter;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.trace.TraceEvent;
+import com.github.astefanich.ringhunter.trace.TraceReader;
+
+/**
+ * What a hunt did to a tree, for exporters to write over it: the order in which the hunter first
+ * visited each node, and each node's place on the path it found. Visits come from a hunt trace,
+ * and the path from the hunter. <br>
+ * Both are kept by node id in one open-addressing table of primitive arrays, so an overlay costs
+ * a few words per node the hunt touched, and nothing for the rest of the tree.
+ * 
+ * @author AndrewStefanich
+ * @see TreeExporter#setOverlay(HuntOverlay)
+ */
+public final class HuntOverlay {
+
+	/** node id of each slot */
+	private long[] ids = new long[64];
+
+	/** visit order of each slot, plus one; 0 if the node was not visited */
+	private int[] visits = new int[ids.length];
+
+	/** place on the path of each slot, plus one; 0 if the node is not on the path */
+	private int[] steps = new int[ids.length];
+
+	/** number of slots in use */
+	private int used;
+
+	/** number of distinct nodes visited */
+	private int visitCount;
+
+	/** number of nodes on the path */
+	private int pathLength;
+
+	/**
+	 * Creates an empty overlay.
+	 */
+	private HuntOverlay() {
+	}
+
+	/**
+	 * Creates an overlay from a trace and a path.
+	 * 
+	 * @param trace
+	 *            the hunt's trace, replayed from its first event, or null for no visit order
+	 * @param path
+	 *            the path the hunt found, or null for none
+	 * @return the overlay
+	 */
+	public static HuntOverlay of(TraceReader trace, List<MiddleEarthNode> path) {
+		final HuntOverlay overlay = new HuntOverlay();
+		if (trace != null) {
+			trace.seek(0);
+			while (trace.next()) {
+				if (trace.getType() == TraceEvent.VISIT) {
+					overlay.visit(trace.getNodeId());
+				}
+			}
+		}
+		if (path != null) {
+			for (MiddleEarthNode node : path) {
+				final int slot = overlay.slotOf(node.getId());
+				if (overlay.steps[slot] == 0) {
+					overlay.steps[slot] = ++overlay.pathLength;
+				}
+			}
+		}
+		return overlay;
+	}
+
+	/**
+	 * Creates an overlay from a hunter's last hunt: its path, and the visits in its trace if it
+	 * has a recorder. A recorder holds every hunt since it was last reset, so reset it before the
+	 * hunt for the visits of that hunt alone.
+	 * 
+	 * @param hunter
+	 *            a hunter which has hunted
+	 * @return the overlay
+	 */
+	public static HuntOverlay of(AbstractRingHunter hunter) {
+		return of(hunter.getTraceRecorder() == null ? null : hunter.getTraceRecorder().replay(), hunter.getPath());
+	}
+
+	/**
+	 * Notes a visit, unless the node was visited before.
+	 * 
+	 * @param id
+	 *            the node's id
+	 */
+	private void visit(long id) {
+		final int slot = slotOf(id);
+		if (visits[slot] == 0) {
+			visits[slot] = ++visitCount;
+		}
+	}
+
+	/**
+	 * Finds the slot of a node, taking a free one if it has none.
+	 * 
+	 * @param id
+	 *            the node's id
+	 * @return the slot
+	 */
+	private int slotOf(long id) {
+		if (used * 2 >= ids.length) {
+			grow();
+		}
+		final int slot = find(id);
+		if (visits[slot] == 0 && steps[slot] == 0) {
+			ids[slot] = id;
+			used++;
+		}
+		return slot;
+	}
+
+	/**
+	 * Finds the slot holding a node, or the free slot where it would go.
+	 * 
+	 * @param id
+	 *            the node's id
+	 * @return the slot
+	 */
+	private int find(long id) {
+		final int mask = ids.length - 1;
+		//the top log2(length) bits of the product are the best mixed, and index the whole table
+		int slot = (int) (id * 0x9E3779B97F4A7C15L >>> Long.numberOfLeadingZeros(mask));
+		while ((visits[slot] != 0 || steps[slot] != 0) && ids[slot] != id) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Doubles the table.
+	 */
+	private void grow() {
+		final long[] oldIds = ids;
+		final int[] oldVisits = visits;
+		final int[] oldSteps = steps;
+		ids = new long[oldIds.length * 2];
+		visits = new int[ids.length];
+		steps = new int[ids.length];
+		for (int i = 0; i < oldIds.length; i++) {
+			if (oldVisits[i] != 0 || oldSteps[i] != 0) {
+				final int slot = find(oldIds[i]);
+				ids[slot] = oldIds[i];
+				visits[slot] = oldVisits[i];
+				steps[slot] = oldSteps[i];
+			}
+		}
+	}
+
+	/**
+	 * Gets the order in which the hunt first visited a node.
+	 * 
+	 * @param node
+	 *            a node of the tree
+	 * @return 0 for the first node visited, 1 for the next, and so on; -1 if it was not visited
+	 */
+	public int getVisitOrder(MiddleEarthNode node) {
+		return visits[find(node.getId())] - 1;
+	}
+
+	/**
+	 * Gets the place of a node on the path the hunt found.
+	 * 
+	 * @param node
+	 *            a node of the tree
+	 * @return 0 for the first node of the path, 1 for the next, and so on; -1 if it is not on the
+	 *         path
+	 */
+	public int getPathIndex(MiddleEarthNode node) {
+		return steps[find(node.getId())] - 1;
+	}
+
+	/**
+	 * Gets the number of distinct nodes the hunt visited.
+	 * 
+	 * @return the visit count
+	 */
+	public int getVisitCount() {
+		return visitCount;
+	}
+
+	/**
+	 * Gets the number of nodes on the path the hunt found.
+	 * 
+	 * @return the path length, 0 if there is no path
+	 */
+	public int getPathLength() {
+		return pathLength;
+	}
+
+}
@@ -0,0 +1,33 @@
+package com.github.astefanich.ringhunter.export;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+
+/**
+ * Gives the position of each node of a tree, for exporters to write alongside it. Positions come
+ * from whatever laid the tree out; the exporters only need the numbers, so this module does not
+ * depend on the one which draws.
+ * 
+ * @author AndrewStefanich
+ * @see TreeExporter#setCoordinates(NodeCoordinates)
+ */
+public interface NodeCoordinates {
+
+	/**
+	 * Gets the horizontal position of the center of a node.
+	 * 
+	 * @param node
+	 *            a node of the tree
+	 * @return the position, or {@link Double#NaN} if the node has none
+	 */
+	double getX(MiddleEarthNode node);
+
+	/**
+	 * Gets the vertical position of the center of a node, increasing downwards.
+	 * 
+	 * @param node
+	 *            a node of the tree
+	 * @return the position, or {@link Double#NaN} if the node has none
+	 */
+	double getY(MiddleEarthNode node);
+
+}
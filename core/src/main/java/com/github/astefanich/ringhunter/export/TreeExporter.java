@@ -0,0 +1,222 @@
+package com.github.astefanich.ringhunter.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+
+/**
+ * Writes a tree to a text format in one iterative preorder walk. Each node is written as soon as
+ * it is reached, followed by the edge from its parent, so the exporter holds only the walk's
+ * stack (the unvisited siblings along the current branch) and a fixed-size buffer, however many
+ * nodes the tree has. Output goes through a writer over an NIO channel, which encodes into its own
+ * byte buffer and hands the channel large writes. <br>
+ * Nodes are numbered in preorder, the root being 0; the number names the node in the output, and
+ * its {@link MiddleEarthNode#getId() id} is written as an attribute. Positions from
+ * {@link #setCoordinates(NodeCoordinates)} and a hunt from {@link #setOverlay(HuntOverlay)} are
+ * added to each node when set. Subclasses write the format.
+ * 
+ * @author AndrewStefanich
+ */
+public abstract class TreeExporter {
+
+	/** size of the character and byte buffers */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** positions of the nodes, or null */
+	private NodeCoordinates coordinates;
+
+	/** the hunt to draw over the tree, or null */
+	private HuntOverlay overlay;
+
+	/**
+	 * Gets the positions written for each node.
+	 * 
+	 * @return the positions, or null if none are written
+	 */
+	public NodeCoordinates getCoordinates() {
+		return coordinates;
+	}
+
+	/**
+	 * Sets the positions written for each node.
+	 * 
+	 * @param coordinates
+	 *            the positions, or null to write none
+	 */
+	public void setCoordinates(NodeCoordinates coordinates) {
+		this.coordinates = coordinates;
+	}
+
+	/**
+	 * Gets the hunt written over the tree.
+	 * 
+	 * @return the hunt, or null if none is written
+	 */
+	public HuntOverlay getOverlay() {
+		return overlay;
+	}
+
+	/**
+	 * Sets the hunt written over the tree: the visit order of each node, and its place on the path.
+	 * 
+	 * @param overlay
+	 *            the hunt, or null to write none
+	 */
+	public void setOverlay(HuntOverlay overlay) {
+		this.overlay = overlay;
+	}
+
+	/**
+	 * Exports a tree to a file, replacing it if it exists.
+	 * 
+	 * @param root
+	 *            the root of the tree
+	 * @param file
+	 *            the file
+	 * @return the number of nodes written
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public final long export(MiddleEarthNode root, Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			return export(root, channel);
+		}
+	}
+
+	/**
+	 * Exports a tree to a channel, which is left open.
+	 * 
+	 * @param root
+	 *            the root of the tree
+	 * @param channel
+	 *            the channel
+	 * @return the number of nodes written
+	 * @throws IOException
+	 *             if the channel cannot be written
+	 */
+	public final long export(MiddleEarthNode root, WritableByteChannel channel) throws IOException {
+		if (root == null) {
+			throw new IllegalArgumentException("root must not be null");
+		}
+		final Writer out = new BufferedWriter(
+				Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+		MiddleEarthNode[] stack = new MiddleEarthNode[64];
+		MiddleEarthNode[] parents = new MiddleEarthNode[stack.length];  //parent of each stacked node
+		long[] parentNumbers = new long[stack.length];  //preorder number of that parent
+		int top = 0;
+		long count = 0;
+
+		writeHeader(out);
+		stack[top++] = root;
+		while (top > 0) {
+			final MiddleEarthNode node = stack[--top];
+			final MiddleEarthNode parent = parents[top];
+			final long parentNumber = parentNumbers[top];
+			stack[top] = null;
+			parents[top] = null;
+			final long number = count++;
+			writeNode(out, number, node);
+			if (parent != null) {
+				writeEdge(out, parentNumber, parent, number, node);
+			}
+			final List<MiddleEarthNode> children = node.getChildren();
+			if (top + children.size() > stack.length) {
+				final int length = Math.max(stack.length * 2, top + children.size());
+				stack = Arrays.copyOf(stack, length);
+				parents = Arrays.copyOf(parents, length);
+				parentNumbers = Arrays.copyOf(parentNumbers, length);
+			}
+			for (int i = children.size() - 1; i >= 0; i--) {  //first child on top, so it is written next
+				stack[top] = children.get(i);
+				parents[top] = node;
+				parentNumbers[top++] = number;
+			}
+		}
+		writeFooter(out);
+		out.flush();
+		return count;
+	}
+
+	/**
+	 * Writes whatever comes before the first node.
+	 * 
+	 * @param out
+	 *            the output
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	protected abstract void writeHeader(Writer out) throws IOException;
+
+	/**
+	 * Writes a node and its attributes.
+	 * 
+	 * @param out
+	 *            the output
+	 * @param number
+	 *            the node's preorder number
+	 * @param node
+	 *            the node
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	protected abstract void writeNode(Writer out, long number, MiddleEarthNode node) throws IOException;
+
+	/**
+	 * Writes the edge from a node to one of its children, just after the child.
+	 * 
+	 * @param out
+	 *            the output
+	 * @param parentNumber
+	 *            the parent's preorder number
+	 * @param parent
+	 *            the parent
+	 * @param childNumber
+	 *            the child's preorder number
+	 * @param child
+	 *            the child
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	protected abstract void writeEdge(Writer out, long parentNumber, MiddleEarthNode parent, long childNumber,
+			MiddleEarthNode child) throws IOException;
+
+	/**
+	 * Writes whatever comes after the last node.
+	 * 
+	 * @param out
+	 *            the output
+	 * @throws IOException
+	 *             if the output cannot be written
+	 */
+	protected abstract void writeFooter(Writer out) throws IOException;
+
+	/**
+	 * Determines if an edge is a step of the overlaid path.
+	 * 
+	 * @param parent
+	 *            the parent
+	 * @param child
+	 *            the child
+	 * @return true if a hunt is overlaid and its path goes straight between the two nodes
+	 */
+	protected final boolean isOnPath(MiddleEarthNode parent, MiddleEarthNode child) {
+		if (overlay == null) {
+			return false;
+		}
+		final int from = overlay.getPathIndex(parent);
+		final int to = overlay.getPathIndex(child);
+		return from >= 0 && to >= 0 && Math.abs(from - to) == 1;
+	}
+
+}
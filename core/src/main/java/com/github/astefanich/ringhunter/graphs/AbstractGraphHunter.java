@@ -0,0 +1,160 @@
+package com.github.astefanich.ringhunter.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Abstract hunter for {@link MiddleEarthGraph}s. Unlike trees, maps have cycles, so subclasses
+ * must track where they have been; they share a {@link VisitedSet} and parent array which are
+ * reused from one hunt to the next, so hunting the same graph again allocates nothing but the path.
+ * 
+ * @author AndrewStefanich
+ * @see BreadthFirstGraphHunter
+ * @see DepthFirstGraphHunter
+ */
+public abstract class AbstractGraphHunter {
+
+	/** an empty path, for hunts which did not find the ring */
+	private static final int[] NO_PATH = new int[0];
+
+	/**
+	 * Gets the name of this instance.
+	 * 
+	 * @return the name
+	 */
+	public abstract String getName();
+
+	/**
+	 * Searching algorithm. Subclasses should set {@link #path} and count {@link #nodesVisited}.
+	 * 
+	 * @param graph
+	 *            the map to search
+	 * @param source
+	 *            the node to start from
+	 */
+	public abstract void startAt(MiddleEarthGraph graph, int source);
+
+	/**
+	 * Used by subclasses to count the nodes expanded during a hunt
+	 */
+	protected int nodesVisited;
+
+	/**
+	 * Used by subclasses to record the path from the source to the ring
+	 */
+	protected int[] path = NO_PATH;
+
+	/** reused between hunts over graphs of the same size */
+	private VisitedSet visited;
+
+	/** reused between hunts over graphs of the same size */
+	private int[] parents;
+
+	/** graph the last hunt searched */
+	private MiddleEarthGraph lastGraph;
+
+	/**
+	 * Gets the number of nodes this hunter has expanded.
+	 * 
+	 * @return the visit count
+	 */
+	public int getNodesVisited() {
+		return nodesVisited;
+	}
+
+	/**
+	 * Gets the path found by the last hunt.
+	 * 
+	 * @return node ids from the source to the ring bearer, or an empty array if the ring was
+	 *         not reachable
+	 */
+	public int[] getPath() {
+		return path.clone();
+	}
+
+	/**
+	 * Describes the path found by the last hunt.
+	 * 
+	 * @return the path, one node per line
+	 */
+	public String report() {
+		if (path.length == 0) {
+			return "The Ring could not be reached\n";
+		}
+		final StringBuilder sb = new StringBuilder();
+		sb.append("Start at ").append(lastGraph.getName(path[0]));
+		for (int i = 1; i < path.length; i++) {
+			sb.append("\nand then travel to ").append(lastGraph.getName(path[i]));
+		}
+		return sb.append('\n').toString();
+	}
+
+	/**
+	 * Gets an empty visited set for a graph, reusing the one from the last hunt if it is big enough.
+	 * 
+	 * @param graph
+	 *            the graph about to be searched
+	 * @return the empty set
+	 */
+	protected VisitedSet visitedSet(MiddleEarthGraph graph) {
+		lastGraph = graph;
+		if (visited == null || visited.capacity() < graph.size()) {
+			visited = new VisitedSet(graph.size());
+		} else {
+			visited.clear();
+		}
+		return visited;
+	}
+
+	/**
+	 * Gets an array for recording the node each node was reached from. Only the entries for nodes
+	 * in the visited set are meaningful.
+	 * 
+	 * @param graph
+	 *            the graph about to be searched
+	 * @return the array, at least graph.size() long
+	 */
+	protected int[] parentArray(MiddleEarthGraph graph) {
+		if (parents == null || parents.length < graph.size()) {
+			parents = new int[graph.size()];
+		}
+		return parents;
+	}
+
+	/**
+	 * Follows parent links from the ring bearer back to the source, and stores the path.
+	 * 
+	 * @param parents
+	 *            the node each node was reached from, -1 for the source
+	 * @param target
+	 *            the ring bearer
+	 */
+	protected void tracePath(int[] parents, int target) {
+		int length = 0;
+		for (int node = target; node != -1; node = parents[node]) {
+			length++;
+		}
+		final int[] steps = new int[length];
+		for (int node = target; node != -1; node = parents[node]) {
+			steps[--length] = node;
+		}
+		path = steps;
+	}
+
+	/**
+	 * Records that the last hunt did not find the ring.
+	 */
+	protected void noPath() {
+		path = NO_PATH;
+	}
+
+	/**
+	 * String representation of this hunter
+	 * 
+	 * @return the name and path
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s %s", getName(), Arrays.toString(path));
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.github.astefanich.ringhunter.graphs;
+
+/**
+ * Searches a map in breadth-first order, so the path it finds uses the fewest roads. The queue is
+ * a plain int array: every node enters it at most once, so it never needs to grow or wrap.
+ * 
+ * @author AndrewStefanich
+ */
+public class BreadthFirstGraphHunter extends AbstractGraphHunter {
+
+	/** name of our hunter */
+	private final String name = "Khamul the Easterling";
+
+	/** reused between hunts */
+	private int[] queue = new int[0];
+
+	/**
+	 * Gets the name of our hunter
+	 * 
+	 * @return the name
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Breadth-first search from source to the ring bearer.
+	 * 
+	 * @param graph
+	 *            the map to search
+	 * @param source
+	 *            the node to start from
+	 */
+	@Override
+	public void startAt(MiddleEarthGraph graph, int source) {
+		final VisitedSet visited = visitedSet(graph);
+		final int[] parents = parentArray(graph);
+		if (queue.length < graph.size()) {
+			queue = new int[graph.size()];
+		}
+		int head = 0;
+		int tail = 0;
+		visited.add(source);
+		parents[source] = -1;
+		queue[tail++] = source;
+		while (head < tail) {
+			final int node = queue[head++];
+			nodesVisited++;
+			if (graph.hasRing(node)) {
+				tracePath(parents, node);
+				return;
+			}
+			for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+				final int next = graph.target(e);
+				if (visited.add(next)) {
+					parents[next] = node;
+					queue[tail++] = next;
+				}
+			}
+		}
+		noPath();
+	}
+
+}
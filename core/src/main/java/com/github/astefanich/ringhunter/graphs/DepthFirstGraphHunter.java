@@ -0,0 +1,84 @@
+package com.github.astefanich.ringhunter.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Searches a map in depth-first order, following the first unexplored road out of each node.
+ * The stack holds a (node, next edge) pair per level in two int arrays, so there is no
+ * recursion and nothing is boxed, however deep the search goes. Roads back to visited nodes are
+ * skipped, so cycles are harmless.
+ * 
+ * @author AndrewStefanich
+ */
+public class DepthFirstGraphHunter extends AbstractGraphHunter {
+
+	/** name of our hunter */
+	private final String name = "Witch-king of Angmar";
+
+	/** node at each level of the stack, reused between hunts */
+	private int[] stackNodes = new int[16];
+
+	/** next edge to try at each level of the stack, reused between hunts */
+	private int[] stackEdges = new int[16];
+
+	/**
+	 * Gets the name of our hunter
+	 * 
+	 * @return the name
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Depth-first search from source to the ring bearer.
+	 * 
+	 * @param graph
+	 *            the map to search
+	 * @param source
+	 *            the node to start from
+	 */
+	@Override
+	public void startAt(MiddleEarthGraph graph, int source) {
+		final VisitedSet visited = visitedSet(graph);
+		final int[] parents = parentArray(graph);
+		int top = 0;
+		visited.add(source);
+		parents[source] = -1;
+		stackNodes[0] = source;
+		stackEdges[0] = graph.edgeStart(source);
+		nodesVisited++;
+		if (graph.hasRing(source)) {
+			tracePath(parents, source);
+			return;
+		}
+		while (top >= 0) {
+			final int node = stackNodes[top];
+			final int edge = stackEdges[top];
+			if (edge == graph.edgeEnd(node)) {
+				top--;  //every road out of this node has been explored
+				continue;
+			}
+			stackEdges[top] = edge + 1;
+			final int next = graph.target(edge);
+			if (!visited.add(next)) {
+				continue;
+			}
+			parents[next] = node;
+			nodesVisited++;
+			if (graph.hasRing(next)) {
+				tracePath(parents, next);
+				return;
+			}
+			if (++top == stackNodes.length) {
+				stackNodes = Arrays.copyOf(stackNodes, top * 2);
+				stackEdges = Arrays.copyOf(stackEdges, top * 2);
+			}
+			stackNodes[top] = next;
+			stackEdges[top] = graph.edgeStart(next);
+		}
+		noPath();
+	}
+
+}
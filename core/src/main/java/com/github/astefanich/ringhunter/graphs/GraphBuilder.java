@@ -0,0 +1,226 @@
+package com.github.astefanich.ringhunter.graphs;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.nodes.NodeKind;
+
+/**
+ * Collects nodes and edges, then packs them into an immutable {@link MiddleEarthGraph}. Edges
+ * are kept in primitive arrays until {@link #build()} sorts them into compressed sparse row form
+ * with a counting sort, so building a graph with millions of edges allocates a handful of arrays.
+ * 
+ * @author AndrewStefanich
+ */
+public class GraphBuilder {
+
+	/** node names */
+	private String[] names = new String[16];
+
+	/** node descriptions */
+	private String[] descriptions = new String[16];
+
+	/** node kinds */
+	private NodeKind[] kinds = new NodeKind[16];
+
+	/** number of nodes added */
+	private int nodeCount;
+
+	/** source node of each edge */
+	private int[] sources = new int[16];
+
+	/** target node of each edge */
+	private int[] targets = new int[16];
+
+	/** weight of each edge */
+	private double[] weights = new double[16];
+
+	/** number of edges added */
+	private int edgeCount;
+
+	/** node holding the ring, or -1 */
+	private int ringBearer = -1;
+
+	/**
+	 * Converts a tree into a graph with a road (one edge each way) between every parent and child,
+	 * weighted by {@link MiddleEarthNode#getDistanceFromParent()}. Nodes are numbered in
+	 * depth-first order, with the root at 0.
+	 * 
+	 * @param root
+	 *            the root of the tree
+	 * @return a builder holding the tree, to which more roads can be added
+	 */
+	public static GraphBuilder fromTree(MiddleEarthNode root) {
+		final GraphBuilder builder = new GraphBuilder();
+		final Deque<MiddleEarthNode> stack = new ArrayDeque<>();
+		final Deque<Integer> parents = new ArrayDeque<>();
+		stack.push(root);
+		parents.push(-1);
+		while (!stack.isEmpty()) {
+			final MiddleEarthNode node = stack.pop();
+			final int parent = parents.pop();
+			final int id = builder.addNode(node.getKind(), node.getName(), node.getDescription());
+			if (node.hasRing()) {
+				builder.setRingBearer(id);
+			}
+			if (parent >= 0) {
+				builder.addRoad(parent, id, node.getDistanceFromParent());
+			}
+			for (int i = node.getChildren().size() - 1; i >= 0; i--) {
+				stack.push(node.getChildren().get(i));
+				parents.push(id);
+			}
+		}
+		return builder;
+	}
+
+	/**
+	 * Adds a node.
+	 * 
+	 * @param kind
+	 *            the kind of node
+	 * @param name
+	 *            the name
+	 * @param description
+	 *            the description
+	 * @return the id of the new node
+	 */
+	public int addNode(NodeKind kind, String name, String description) {
+		if (nodeCount == names.length) {
+			names = Arrays.copyOf(names, nodeCount * 2);
+			descriptions = Arrays.copyOf(descriptions, nodeCount * 2);
+			kinds = Arrays.copyOf(kinds, nodeCount * 2);
+		}
+		names[nodeCount] = name;
+		descriptions[nodeCount] = description;
+		kinds[nodeCount] = kind;
+		return nodeCount++;
+	}
+
+	/**
+	 * Adds a one way edge with a weight of 1.
+	 * 
+	 * @param from
+	 *            the source node
+	 * @param to
+	 *            the target node
+	 */
+	public void addEdge(int from, int to) {
+		addEdge(from, to, 1);
+	}
+
+	/**
+	 * Adds a one way edge.
+	 * 
+	 * @param from
+	 *            the source node
+	 * @param to
+	 *            the target node
+	 * @param weight
+	 *            the cost of travelling the edge, which must not be negative
+	 */
+	public void addEdge(int from, int to, double weight) {
+		checkNode(from);
+		checkNode(to);
+		if (!(weight >= 0)) {
+			throw new IllegalArgumentException(String.format("weight must not be negative, was %f", weight));
+		}
+		if (edgeCount == sources.length) {
+			sources = Arrays.copyOf(sources, edgeCount * 2);
+			targets = Arrays.copyOf(targets, edgeCount * 2);
+			weights = Arrays.copyOf(weights, edgeCount * 2);
+		}
+		sources[edgeCount] = from;
+		targets[edgeCount] = to;
+		weights[edgeCount] = weight;
+		edgeCount++;
+	}
+
+	/**
+	 * Adds a road with a weight of 1, which can be travelled both ways.
+	 * 
+	 * @param a
+	 *            one end
+	 * @param b
+	 *            the other end
+	 */
+	public void addRoad(int a, int b) {
+		addRoad(a, b, 1);
+	}
+
+	/**
+	 * Adds a road, which can be travelled both ways.
+	 * 
+	 * @param a
+	 *            one end
+	 * @param b
+	 *            the other end
+	 * @param weight
+	 *            the cost of travelling the road, in either direction
+	 */
+	public void addRoad(int a, int b, double weight) {
+		addEdge(a, b, weight);
+		addEdge(b, a, weight);
+	}
+
+	/**
+	 * Gives the ring to a node.
+	 * 
+	 * @param node
+	 *            the node
+	 */
+	public void setRingBearer(int node) {
+		checkNode(node);
+		ringBearer = node;
+	}
+
+	/**
+	 * Gets the number of nodes added so far.
+	 * 
+	 * @return the node count
+	 */
+	public int size() {
+		return nodeCount;
+	}
+
+	/**
+	 * Ensures a node id has been added.
+	 * 
+	 * @param node
+	 *            the id
+	 */
+	private void checkNode(int node) {
+		if (node < 0 || node >= nodeCount) {
+			throw new IndexOutOfBoundsException(String.format("no node %d, %d nodes added", node, nodeCount));
+		}
+	}
+
+	/**
+	 * Packs the nodes and edges into a graph. Edges leaving a node keep the order they were added
+	 * in. The builder can be used again afterwards.
+	 * 
+	 * @return the graph
+	 */
+	public MiddleEarthGraph build() {
+		final int[] offsets = new int[nodeCount + 1];
+		for (int e = 0; e < edgeCount; e++) {
+			offsets[sources[e] + 1]++;
+		}
+		for (int v = 0; v < nodeCount; v++) {
+			offsets[v + 1] += offsets[v];
+		}
+		final int[] next = Arrays.copyOf(offsets, nodeCount);  //next free slot for each source
+		final int[] packed = new int[edgeCount];
+		final double[] packedWeights = new double[edgeCount];
+		for (int e = 0; e < edgeCount; e++) {
+			final int slot = next[sources[e]]++;
+			packed[slot] = targets[e];
+			packedWeights[slot] = weights[e];
+		}
+		return new MiddleEarthGraph(offsets, packed, packedWeights, Arrays.copyOf(names, nodeCount),
+				Arrays.copyOf(descriptions, nodeCount), Arrays.copyOf(kinds, nodeCount), ringBearer);
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.github.astefanich.ringhunter.graphs;
+
+/**
+ * Estimates the remaining cost from a node to the ring bearer, for an A* search. To find the
+ * cheapest route, the estimate must never exceed the true remaining cost. It need not be
+ * consistent (no larger than the weight of an edge plus the estimate at its far end), but an
+ * inconsistent one can make {@link ShortestPathHunter} expand a node more than once.
+ * 
+ * @author AndrewStefanich
+ * @see ShortestPathHunter
+ */
+@FunctionalInterface
+public interface Heuristic {
+
+	/** estimates 0 everywhere, which turns A* into Dijkstra's algorithm */
+	Heuristic NONE = node -> 0;
+
+	/**
+	 * Estimates the remaining cost.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return a lower bound on the cost from node to the ring bearer
+	 */
+	double estimate(int node);
+
+}
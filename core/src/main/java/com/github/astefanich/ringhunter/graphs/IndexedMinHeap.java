@@ -0,0 +1,187 @@
+package com.github.astefanich.ringhunter.graphs;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap of node ids keyed by {@code double} priorities, which can lower the priority
+ * of a node already in the heap. The heap, the position of every node within it, and the keys
+ * are plain primitive arrays sized once for the graph, so no operation allocates or boxes.
+ * 
+ * @author AndrewStefanich
+ */
+public final class IndexedMinHeap {
+
+	/** node ids, in heap order */
+	private final int[] heap;
+
+	/** index of each node within heap, or -1 if it is not in the heap */
+	private final int[] positions;
+
+	/** priority of each node in the heap */
+	private final double[] keys;
+
+	/** number of nodes in the heap */
+	private int size;
+
+	/**
+	 * Creates an empty heap.
+	 * 
+	 * @param capacity
+	 *            the number of nodes; ids must be below this
+	 */
+	public IndexedMinHeap(int capacity) {
+		heap = new int[capacity];
+		positions = new int[capacity];
+		keys = new double[capacity];
+		Arrays.fill(positions, -1);
+	}
+
+	/**
+	 * Gets the number of nodes this heap can hold.
+	 * 
+	 * @return the capacity
+	 */
+	public int capacity() {
+		return heap.length;
+	}
+
+	/**
+	 * Determines if the heap is empty.
+	 * 
+	 * @return true if empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Determines if a node is in the heap.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return true if present
+	 */
+	public boolean contains(int node) {
+		return positions[node] >= 0;
+	}
+
+	/**
+	 * Adds a node, or lowers its priority if it is already in the heap. A higher priority for a
+	 * node already in the heap is ignored.
+	 * 
+	 * @param node
+	 *            the node
+	 * @param key
+	 *            its priority
+	 * @return true if the node was added or its priority lowered
+	 */
+	public boolean offer(int node, double key) {
+		int index = positions[node];
+		if (index < 0) {
+			index = size++;
+			heap[index] = node;
+			positions[node] = index;
+		} else if (key >= keys[node]) {
+			return false;
+		}
+		keys[node] = key;
+		siftUp(index);
+		return true;
+	}
+
+	/**
+	 * Gets the priority of the node with the smallest priority.
+	 * 
+	 * @return the smallest priority
+	 */
+	public double peekKey() {
+		if (size == 0) {
+			throw new NoSuchElementException("heap is empty");
+		}
+		return keys[heap[0]];
+	}
+
+	/**
+	 * Removes the node with the smallest priority.
+	 * 
+	 * @return the node
+	 */
+	public int poll() {
+		if (size == 0) {
+			throw new NoSuchElementException("heap is empty");
+		}
+		final int top = heap[0];
+		positions[top] = -1;
+		final int last = heap[--size];
+		if (size > 0) {
+			heap[0] = last;
+			positions[last] = 0;
+			siftDown(0);
+		}
+		return top;
+	}
+
+	/**
+	 * Removes every node. Only touches the entries of nodes still in the heap.
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			positions[heap[i]] = -1;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Moves the node at index up until its parent's priority is not larger.
+	 * 
+	 * @param index
+	 *            the heap index
+	 */
+	private void siftUp(int index) {
+		final int node = heap[index];
+		final double key = keys[node];
+		while (index > 0) {
+			final int parentIndex = (index - 1) >>> 1;
+			final int parent = heap[parentIndex];
+			if (keys[parent] <= key) {
+				break;
+			}
+			heap[index] = parent;
+			positions[parent] = index;
+			index = parentIndex;
+		}
+		heap[index] = node;
+		positions[node] = index;
+	}
+
+	/**
+	 * Moves the node at index down until neither child has a smaller priority.
+	 * 
+	 * @param index
+	 *            the heap index
+	 */
+	private void siftDown(int index) {
+		final int node = heap[index];
+		final double key = keys[node];
+		final int half = size >>> 1;
+		while (index < half) {
+			int childIndex = 2 * index + 1;
+			int child = heap[childIndex];
+			final int rightIndex = childIndex + 1;
+			if (rightIndex < size && keys[heap[rightIndex]] < keys[child]) {
+				childIndex = rightIndex;
+				child = heap[childIndex];
+			}
+			if (key <= keys[child]) {
+				break;
+			}
+			heap[index] = child;
+			positions[child] = index;
+			index = childIndex;
+		}
+		heap[index] = node;
+		positions[node] = index;
+	}
+
+}
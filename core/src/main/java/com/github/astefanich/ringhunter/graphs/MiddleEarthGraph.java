@@ -0,0 +1,220 @@
+package com.github.astefanich.ringhunter.graphs;
+
+import com.github.astefanich.ringhunter.nodes.NodeKind;
+
+/**
+ * An immutable map of Middle-earth. Nodes are numbered 0 to size() - 1, and edges are stored in
+ * compressed sparse row form: the edges leaving node v are {@code target(e)} for e from
+ * {@code edgeStart(v)} (inclusive) to {@code edgeEnd(v)} (exclusive). Edges may form cycles, and
+ * an undirected road is stored as one edge each way. Each edge has a non-negative weight, such as
+ * the travel distance along it, stored in a parallel {@code double[]}. <br>
+ * Build one with {@link GraphBuilder}.
+ * 
+ * @author AndrewStefanich
+ * @see GraphBuilder
+ * @see AbstractGraphHunter
+ */
+public final class MiddleEarthGraph {
+
+	/** offsets[v] is the first edge leaving v; offsets[size()] is the edge count */
+	private final int[] offsets;
+
+	/** target node of each edge */
+	private final int[] targets;
+
+	/** weight of each edge */
+	private final double[] weights;
+
+	/** node names */
+	private final String[] names;
+
+	/** node descriptions */
+	private final String[] descriptions;
+
+	/** node kinds */
+	private final NodeKind[] kinds;
+
+	/** node holding the ring, or -1 */
+	private final int ringBearer;
+
+	/** one bit per node, set if the node has an edge to the ring bearer */
+	private final long[] adjacentToRing;
+
+	/**
+	 * Creates a graph from its arrays, which are not copied. Only {@link GraphBuilder} should call
+	 * this.
+	 * 
+	 * @param offsets
+	 *            first edge of each node, plus the edge count
+	 * @param targets
+	 *            target node of each edge
+	 * @param weights
+	 *            weight of each edge
+	 * @param names
+	 *            node names
+	 * @param descriptions
+	 *            node descriptions
+	 * @param kinds
+	 *            node kinds
+	 * @param ringBearer
+	 *            node holding the ring, or -1
+	 */
+	MiddleEarthGraph(int[] offsets, int[] targets, double[] weights, String[] names, String[] descriptions, NodeKind[] kinds,
+			int ringBearer) {
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+		this.names = names;
+		this.descriptions = descriptions;
+		this.kinds = kinds;
+		this.ringBearer = ringBearer;
+		this.adjacentToRing = new long[(names.length + 63) >>> 6];
+		if (ringBearer >= 0) {
+			for (int v = 0; v < names.length; v++) {
+				for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+					if (targets[e] == ringBearer) {
+						adjacentToRing[v >>> 6] |= 1L << v;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of nodes.
+	 * 
+	 * @return the node count
+	 */
+	public int size() {
+		return names.length;
+	}
+
+	/**
+	 * Gets the number of edges (an undirected road counts twice).
+	 * 
+	 * @return the edge count
+	 */
+	public int edgeCount() {
+		return targets.length;
+	}
+
+	/**
+	 * Gets the first edge leaving a node.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return the edge index
+	 */
+	public int edgeStart(int node) {
+		return offsets[node];
+	}
+
+	/**
+	 * Gets the edge after the last edge leaving a node.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return the edge index
+	 */
+	public int edgeEnd(int node) {
+		return offsets[node + 1];
+	}
+
+	/**
+	 * Gets the node an edge leads to.
+	 * 
+	 * @param edge
+	 *            the edge index
+	 * @return the target node
+	 */
+	public int target(int edge) {
+		return targets[edge];
+	}
+
+	/**
+	 * Gets the weight of an edge, such as the travel distance along it.
+	 * 
+	 * @param edge
+	 *            the edge index
+	 * @return the weight
+	 */
+	public double weight(int edge) {
+		return weights[edge];
+	}
+
+	/**
+	 * Gets the number of edges leaving a node.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return the out-degree
+	 */
+	public int degree(int node) {
+		return offsets[node + 1] - offsets[node];
+	}
+
+	/**
+	 * Gets the name of a node.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return the name
+	 */
+	public String getName(int node) {
+		return names[node];
+	}
+
+	/**
+	 * Gets the description of a node.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return the description
+	 */
+	public String getDescription(int node) {
+		return descriptions[node];
+	}
+
+	/**
+	 * Gets the kind of a node.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return the kind
+	 */
+	public NodeKind getKind(int node) {
+		return kinds[node];
+	}
+
+	/**
+	 * Determines if a node holds the ring.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return true if it has the ring
+	 */
+	public boolean hasRing(int node) {
+		return node == ringBearer;
+	}
+
+	/**
+	 * Determines if a node has an edge to the ring bearer.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return true if adjacent to the ring
+	 */
+	public boolean isAdjacentToRing(int node) {
+		return (adjacentToRing[node >>> 6] & (1L << node)) != 0;
+	}
+
+	/**
+	 * Gets the node holding the ring.
+	 * 
+	 * @return the ring bearer, or -1 if no node has it
+	 */
+	public int getRingBearer() {
+		return ringBearer;
+	}
+
+}
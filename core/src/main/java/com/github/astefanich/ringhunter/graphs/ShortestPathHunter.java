@@ -0,0 +1,145 @@
+package com.github.astefanich.ringhunter.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Finds the cheapest route to the ring bearer, using edge weights such as travel distance. Runs
+ * Dijkstra's algorithm, or A* when given a {@link Heuristic}. The frontier is an
+ * {@link IndexedMinHeap} and tentative costs live in a {@code double[]}; all of them are reused
+ * between hunts, so relaxing an edge never allocates. <br>
+ * A node which has already been expanded goes back on the frontier whenever a cheaper route to it
+ * turns up, so the route is the cheapest for any heuristic which never overestimates, even one
+ * which is not consistent. With a consistent heuristic, or none, that never happens and each node
+ * is expanded once.
+ * 
+ * @author AndrewStefanich
+ */
+public class ShortestPathHunter extends AbstractGraphHunter {
+
+	/** name of our hunter */
+	private final String name = "Gothmog";
+
+	/** estimates the remaining cost from each node */
+	private final Heuristic heuristic;
+
+	/** frontier, keyed by cost so far plus estimated remaining cost */
+	private IndexedMinHeap frontier;
+
+	/** cheapest known cost from the source to each reached node */
+	private double[] costs = new double[0];
+
+	/** cost of the path found by the last hunt */
+	private double pathCost = Double.POSITIVE_INFINITY;
+
+	/**
+	 * Creates a hunter which runs Dijkstra's algorithm.
+	 */
+	public ShortestPathHunter() {
+		this(Heuristic.NONE);
+	}
+
+	/**
+	 * Creates a hunter which runs A*.
+	 * 
+	 * @param heuristic
+	 *            estimates the remaining cost, and never overestimates
+	 */
+	public ShortestPathHunter(Heuristic heuristic) {
+		if (heuristic == null) {
+			throw new IllegalArgumentException("heuristic must not be null");
+		}
+		this.heuristic = heuristic;
+	}
+
+	/**
+	 * Gets the name of our hunter
+	 * 
+	 * @return the name
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the total weight of the path found by the last hunt.
+	 * 
+	 * @return the cost, or positive infinity if the ring was not reachable
+	 */
+	public double getPathCost() {
+		return pathCost;
+	}
+
+	/**
+	 * Finds the cheapest route from source to the ring bearer.
+	 * 
+	 * @param graph
+	 *            the map to search
+	 * @param source
+	 *            the node to start from
+	 */
+	@Override
+	public void startAt(MiddleEarthGraph graph, int source) {
+		final VisitedSet reached = visitedSet(graph);
+		final int[] parents = parentArray(graph);
+		prepare(graph);
+		final IndexedMinHeap frontier = this.frontier;
+		final double[] costs = this.costs;
+		final Heuristic heuristic = this.heuristic;
+
+		reached.add(source);
+		parents[source] = -1;
+		costs[source] = 0;
+		frontier.offer(source, heuristic.estimate(source));
+		while (!frontier.isEmpty()) {
+			final int node = frontier.poll();
+			nodesVisited++;
+			if (graph.hasRing(node)) {
+				pathCost = costs[node];
+				frontier.clear();
+				tracePath(parents, node);
+				return;
+			}
+			final double cost = costs[node];
+			for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+				final int next = graph.target(e);
+				final double nextCost = cost + graph.weight(e);
+				if (reached.add(next) || nextCost < costs[next]) {  //reopens next if it was expanded already
+					costs[next] = nextCost;
+					parents[next] = node;
+					frontier.offer(next, nextCost + heuristic.estimate(next));
+				}
+			}
+		}
+		pathCost = Double.POSITIVE_INFINITY;
+		noPath();
+	}
+
+	/**
+	 * Sizes the reusable arrays for a graph, and empties them.
+	 * 
+	 * @param graph
+	 *            the graph about to be searched
+	 */
+	private void prepare(MiddleEarthGraph graph) {
+		if (frontier == null || frontier.capacity() < graph.size()) {
+			frontier = new IndexedMinHeap(graph.size());
+		} else {
+			frontier.clear();
+		}
+		if (costs.length < graph.size()) {
+			costs = new double[graph.size()];
+		}
+	}
+
+	/**
+	 * String representation of this hunter
+	 * 
+	 * @return the name, path and cost
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s %s cost %.1f", getName(), Arrays.toString(getPath()), pathCost);
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.github.astefanich.ringhunter.graphs;
+
+/**
+ * A set of node ids backed by one bit per node. Clearing only touches the words which were
+ * written to, so one set can be reused across many hunts over a large graph.
+ * 
+ * @author AndrewStefanich
+ */
+public final class VisitedSet {
+
+	/** one bit per node */
+	private final long[] bits;
+
+	/** indexes of the words which have bits set */
+	private final int[] dirtyWords;
+
+	/** number of entries in dirtyWords */
+	private int dirtyCount;
+
+	/**
+	 * Creates an empty set.
+	 * 
+	 * @param capacity
+	 *            the number of nodes
+	 */
+	public VisitedSet(int capacity) {
+		bits = new long[(capacity + 63) >>> 6];
+		dirtyWords = new int[bits.length];
+	}
+
+	/**
+	 * Gets the number of nodes this set can hold.
+	 * 
+	 * @return the capacity, rounded up to a multiple of 64
+	 */
+	public int capacity() {
+		return bits.length << 6;
+	}
+
+	/**
+	 * Adds a node.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return true if the node was not in the set already
+	 */
+	public boolean add(int node) {
+		final int word = node >>> 6;
+		final long bit = 1L << node;
+		final long current = bits[word];
+		if ((current & bit) != 0) {
+			return false;
+		}
+		if (current == 0) {
+			dirtyWords[dirtyCount++] = word;
+		}
+		bits[word] = current | bit;
+		return true;
+	}
+
+	/**
+	 * Determines if a node is in the set.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return true if present
+	 */
+	public boolean contains(int node) {
+		return (bits[node >>> 6] & (1L << node)) != 0;
+	}
+
+	/**
+	 * Removes every node.
+	 */
+	public void clear() {
+		for (int i = 0; i < dirtyCount; i++) {
+			bits[dirtyWords[i]] = 0;
+		}
+		dirtyCount = 0;
+	}
+
+}
@@ -0,0 +1,165 @@
+package com.github.astefanich.ringhunter.hunters;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.reports.ReportRenderer;
+import com.github.astefanich.ringhunter.reports.TextReportRenderer;
+import com.github.astefanich.ringhunter.trace.TraceEvent;
+import com.github.astefanich.ringhunter.trace.TraceRecorder;
+
+/**
+ * Abstract hunter class. Subclasses should traverse the tree by definin custom searching
+ * algorithms, by overriding startAt(). Close a hunter when done with it, since some hold threads
+ * between hunts.
+ */
+public abstract class AbstractRingHunter implements Closeable {
+
+	/**
+	 * Gets the name of this instance.
+	 * 
+	 * @return the name
+	 */
+	public abstract String getName();
+
+	/**
+	 * Traversing algorithm.
+	 * 
+	 * @param root
+	 *            the root node
+	 */
+	public abstract void startAt(MiddleEarthNode root);
+
+	/**
+	 * Holds the text report, unless another renderer has been set
+	 */
+	protected final StringBuilder actionLog = new StringBuilder("\n");
+
+	/**
+	 * Used by subclasses to print out where your hunter has been
+	 */
+	private ReportRenderer renderer = new TextReportRenderer(actionLog);
+
+	/**
+	 * Records the hunt's events, if set
+	 */
+	private TraceRecorder traceRecorder;
+
+	/**
+	 * Used by subclasses to count the nodes encountered during a hunt
+	 */
+	protected int nodesVisited;
+
+	/**
+	 * Used by subclasses to record the path from the root to the ring
+	 */
+	protected List<MiddleEarthNode> path = Collections.emptyList();
+
+	/**
+	 * Gets the number of nodes this hunter has encountered, including the root.
+	 * 
+	 * @return the visit count
+	 */
+	public int getNodesVisited() {
+		return nodesVisited;
+	}
+
+	/**
+	 * Gets the path from the root to the ring, found by the last hunt.
+	 * 
+	 * @return the nodes, root first (empty before the first hunt)
+	 */
+	public List<MiddleEarthNode> getPath() {
+		return path;
+	}
+
+	/**
+	 * Gets the number of threads a hunt keeps busy, so callers running many hunts know not to run
+	 * those of a hunter which already searches with several threads side by side.
+	 * 
+	 * @return 1, unless a subclass searches with threads of its own
+	 */
+	public int getThreadCount() {
+		return 1;
+	}
+
+	/**
+	 * Gets the renderer which subclasses report to.
+	 * 
+	 * @return the renderer
+	 */
+	public ReportRenderer getRenderer() {
+		return renderer;
+	}
+
+	/**
+	 * Sets the renderer which subclasses report to. By default, a {@link TextReportRenderer} writes
+	 * to the string returned by {@link #report()}.
+	 * 
+	 * @param renderer
+	 *            the renderer, for example one which streams to a file
+	 */
+	public void setRenderer(ReportRenderer renderer) {
+		if (renderer == null) {
+			throw new IllegalArgumentException("renderer must not be null");
+		}
+		this.renderer = renderer;
+	}
+
+	/**
+	 * Gets the recorder which subclasses trace to.
+	 * 
+	 * @return the recorder, or null if tracing is off
+	 */
+	public TraceRecorder getTraceRecorder() {
+		return traceRecorder;
+	}
+
+	/**
+	 * Sets the recorder which subclasses trace to. Hunts append to the recorder until it is reset.
+	 * Hunters which search with several threads do not trace.
+	 * 
+	 * @param traceRecorder
+	 *            the recorder, or null to turn tracing off
+	 */
+	public void setTraceRecorder(TraceRecorder traceRecorder) {
+		this.traceRecorder = traceRecorder;
+	}
+
+	/**
+	 * Used by subclasses to trace an event, if tracing is on.
+	 * 
+	 * @param type
+	 *            the kind of event
+	 * @param node
+	 *            the node involved
+	 * @param aux
+	 *            a value chosen by the subclass, such as the size of its stack
+	 */
+	protected final void trace(TraceEvent type, MiddleEarthNode node, int aux) {
+		if (traceRecorder != null) {
+			traceRecorder.record(type, node.getId(), aux);
+		}
+	}
+
+	/**
+	 * This is called by the driver at the end to report where your
+	 * hunter has been. Presents this in a JOptionPane
+	 * 
+	 * @return the text report (only a line break, if another renderer has been set)
+	 */
+	public String report() {
+		return actionLog.toString();
+	}
+
+	/**
+	 * Releases what this hunter holds between hunts, such as the threads of its agents. Does
+	 * nothing unless a subclass holds something.
+	 */
+	@Override
+	public void close() {
+	}
+
+}
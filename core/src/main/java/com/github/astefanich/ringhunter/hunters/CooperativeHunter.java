@@ -0,0 +1,586 @@
+package com.github.astefanich.ringhunter.hunters;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.nodes.TreeSnapshot;
+import com.github.astefanich.ringhunter.reports.ReportRenderer;
+
+/**
+ * Sends several Nazgul into Middle-earth at once. Each agent is a worker of a work-stealing
+ * {@link ForkJoinPool}: agents push the children of the nodes they expand onto their own end of
+ * the shared frontier, and idle agents steal from the other end. A node is only expanded by the
+ * agent which first adds it to a concurrent set of claimed nodes, kept by identity, so a node
+ * reached along two ways (a shared subtree) is expanded once; the first agent to find the ring
+ * stops the others. <br>
+ * Agents expand the live nodes, so the hunt stops as soon as the ring is found and a procedural
+ * world is only created as far as it is searched. Nodes are numbered as they are reached: an
+ * agent expanding a node reserves a block of numbers for its children, and the node, the parent
+ * of each node and the visit order are kept by those numbers, in tables which grow in blocks as
+ * the hunt does. The tree must not change during a hunt; hunt a {@link TreeSnapshot}
+ * of a tree which may. The report lists encounters in the order agents expanded them. <br>
+ * The agents are threads of a pool which lives from the first hunt until {@link #close()}. Each
+ * holds an agent number from 0 up, which a replacement thread takes over, so expansions are
+ * counted per agent.
+ * 
+ * @author AndrewStefanich
+ * @see TreeSnapshot
+ */
+public class CooperativeHunter extends AbstractRingHunter {
+
+	/** number of agents searching at once */
+	private final int agents;
+
+	/** the agents, created with the first hunt */
+	private ForkJoinPool pool;
+
+	/** number of nodes each agent expanded during the last hunt */
+	private long[] agentExpansions = new long[0];
+
+	/** number of times a node was reached after another agent had claimed it, last hunt */
+	private long revisits;
+
+	/** number of tasks agents stole from each other during the last hunt */
+	private long steals;
+
+	/**
+	 * Creates a hunter with one agent per available processor.
+	 */
+	public CooperativeHunter() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a hunter with a fixed number of agents.
+	 * 
+	 * @param agents
+	 *            number of agents searching at once
+	 */
+	public CooperativeHunter(int agents) {
+		if (agents < 1) {
+			throw new IllegalArgumentException("agents must be at least 1");
+		}
+		this.agents = agents;
+	}
+
+	/**
+	 * Gets the name of our hunter
+	 * 
+	 * @return the name
+	 */
+	@Override
+	public String getName() {
+		return agents == 1 ? "Nazgul" : String.format("%d Nazgul", agents);
+	}
+
+	/**
+	 * Gets the number of agents searching at once.
+	 * 
+	 * @return the agent count
+	 */
+	public int getAgents() {
+		return agents;
+	}
+
+	/**
+	 * Gets the number of threads a hunt keeps busy, one per agent.
+	 * 
+	 * @return the agent count
+	 */
+	@Override
+	public int getThreadCount() {
+		return agents;
+	}
+
+	/**
+	 * Gets the number of nodes each agent expanded during the last hunt.
+	 * 
+	 * @return expansions per agent
+	 */
+	public long[] getAgentExpansions() {
+		return agentExpansions.clone();
+	}
+
+	/**
+	 * Gets the number of times, during the last hunt, a node was reached after it had already been
+	 * claimed. Only a node with more than one parent can be reached twice.
+	 * 
+	 * @return the revisit count
+	 */
+	public long getRevisits() {
+		return revisits;
+	}
+
+	/**
+	 * Gets the number of tasks agents stole from each other during the last hunt.
+	 * 
+	 * @return the steal count
+	 */
+	public long getSteals() {
+		return steals;
+	}
+
+	/**
+	 * Searches the tree with all agents at once.
+	 * 
+	 * @param root
+	 *            the starting node
+	 */
+	@Override
+	public void startAt(MiddleEarthNode root) {
+		if (root == null) {
+			throw new IllegalStateException("root has not been initialized");
+		}
+		if (pool == null) {
+			pool = new ForkJoinPool(agents, new AgentFactory(), null, false);
+		}
+		final Hunt hunt = new Hunt(root, agents);
+		final long stealsBefore = pool.getStealCount();
+		pool.invoke(new Expand(null, hunt, 0));
+		pool.awaitQuiescence(Long.MAX_VALUE, TimeUnit.NANOSECONDS);  //let stragglers see the ring was found
+
+		agentExpansions = new long[agents];
+		for (int i = 0; i < agents; i++) {
+			agentExpansions[i] = hunt.expansions.get(i * Hunt.STRIDE);
+		}
+		revisits = hunt.revisits.sum();
+		steals = pool.getStealCount() - stealsBefore;
+		nodesVisited += hunt.visitCount.get();
+		report(hunt);
+	}
+
+	/**
+	 * Shuts the agents down. A later hunt starts them again.
+	 */
+	@Override
+	public void close() {
+		if (pool != null) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Reports the encounters in expansion order, followed by the path.
+	 * 
+	 * @param hunt
+	 *            the finished hunt
+	 */
+	private void report(Hunt hunt) {
+		final ReportRenderer report = getRenderer();
+		report.beginHunt();
+		final int visits = hunt.visitCount.get();
+		for (int i = 0; i < visits; i++) {
+			final MiddleEarthNode node = hunt.nodeAt(hunt.visitAt(i));
+			report.encounter(node);
+			if (node.hasRing()) {
+				report.ringFound(node);
+			} else if (node.isAdjacentToRing()) {
+				report.ringNear(node);
+			}
+		}
+		final List<MiddleEarthNode> found = new ArrayList<>();
+		for (int id = hunt.ringId.get(); id >= 0; id = hunt.parentOf(id)) {
+			found.add(hunt.nodeAt(id));
+		}
+		Collections.reverse(found);  //walked up from the ring, so the root came last
+		this.path = found;
+		report.path(found);
+		report.endHunt();
+	}
+
+	/**
+	 * State shared by every agent during one hunt.
+	 */
+	private static final class Hunt {
+
+		/** slots between the counters of two agents */
+		static final int STRIDE = 8;
+
+		/** log2 of the number of entries in the first block of each table, small since most hunts are */
+		static final int FIRST_BLOCK_BITS = 6;
+
+		/** the most blocks a table can grow to, enough for every int number */
+		static final int MAX_BLOCKS = 32 - FIRST_BLOCK_BITS;
+
+		/**
+		 * One block of the tables kept by node number. Block b holds 2^b times as many entries as
+		 * the first, so a hunt needs few blocks however far it goes.
+		 */
+		static final class Block {
+
+			/** the node with each number */
+			final MiddleEarthNode[] nodes;
+
+			/** number of the parent of each node, -1 for the root */
+			final int[] parents;
+
+			/** numbers of claimed nodes, by the position they were claimed in */
+			final int[] order;
+
+			/**
+			 * Creates a block.
+			 * 
+			 * @param size
+			 *            number of entries
+			 */
+			Block(int size) {
+				nodes = new MiddleEarthNode[size];
+				parents = new int[size];
+				order = new int[size];
+			}
+		}
+
+		/** the blocks of the tables, created as numbers reach them */
+		final AtomicReferenceArray<Block> blocks = new AtomicReferenceArray<>(MAX_BLOCKS);
+
+		/** the next number to give a node */
+		final AtomicInteger nextNumber = new AtomicInteger();
+
+		/** number of the node holding the ring once found, otherwise -1 */
+		final AtomicInteger ringId = new AtomicInteger(-1);
+
+		/** the nodes claimed so far */
+		final Set<Identity> claimed = ConcurrentHashMap.newKeySet();
+
+		/** number of nodes claimed so far */
+		final AtomicInteger visitCount = new AtomicInteger();
+
+		/** expansions per agent number, spaced out so agents don't share cache lines */
+		final AtomicLongArray expansions;
+
+		/** nodes reached after they had been claimed */
+		final LongAdder revisits = new LongAdder();
+
+		/**
+		 * Creates the shared state for a hunt, with the root numbered 0.
+		 * 
+		 * @param root
+		 *            the starting node
+		 * @param agents
+		 *            number of agents
+		 */
+		Hunt(MiddleEarthNode root, int agents) {
+			this.expansions = new AtomicLongArray(agents * STRIDE);
+			put(reserve(1), root, -1);
+		}
+
+		/**
+		 * Gets the index of the block holding a number.
+		 * 
+		 * @param number
+		 *            the number
+		 * @return the block index
+		 */
+		static int blockOf(int number) {
+			return 31 - Integer.numberOfLeadingZeros((number >>> FIRST_BLOCK_BITS) + 1);
+		}
+
+		/**
+		 * Gets the block holding a number, creating it if no agent has yet.
+		 * 
+		 * @param number
+		 *            the number
+		 * @return the block
+		 */
+		Block block(int number) {
+			final int b = blockOf(number);
+			Block block = blocks.get(b);
+			if (block == null) {
+				blocks.compareAndSet(b, null, new Block(1 << (b + FIRST_BLOCK_BITS)));
+				block = blocks.get(b);  //another agent's, if it won
+			}
+			return block;
+		}
+
+		/**
+		 * Gets the position of a number within its block.
+		 * 
+		 * @param number
+		 *            the number
+		 * @return the offset
+		 */
+		static int offsetOf(int number) {
+			return number - ((1 << (blockOf(number) + FIRST_BLOCK_BITS)) - (1 << FIRST_BLOCK_BITS));
+		}
+
+		/**
+		 * Reserves consecutive numbers for the children of a node.
+		 * 
+		 * @param count
+		 *            how many numbers
+		 * @return the first of them
+		 */
+		int reserve(int count) {
+			final int first = nextNumber.getAndAdd(count);
+			if (first < 0 || first + count < 0) {
+				throw new IllegalStateException("too many nodes to number");
+			}
+			return first;
+		}
+
+		/**
+		 * Records a node under its number, before its task is forked.
+		 * 
+		 * @param number
+		 *            the node's number
+		 * @param node
+		 *            the node
+		 * @param parent
+		 *            number of its parent, -1 for the root
+		 */
+		void put(int number, MiddleEarthNode node, int parent) {
+			final Block block = block(number);
+			final int offset = offsetOf(number);
+			block.nodes[offset] = node;
+			block.parents[offset] = parent;
+		}
+
+		/**
+		 * Gets the node with a number.
+		 * 
+		 * @param number
+		 *            the number
+		 * @return the node
+		 */
+		MiddleEarthNode nodeAt(int number) {
+			return blocks.get(blockOf(number)).nodes[offsetOf(number)];
+		}
+
+		/**
+		 * Gets the number of a node's parent.
+		 * 
+		 * @param number
+		 *            the node's number
+		 * @return the parent's number, -1 for the root
+		 */
+		int parentOf(int number) {
+			return blocks.get(blockOf(number)).parents[offsetOf(number)];
+		}
+
+		/**
+		 * Gets the number of the node claimed at a position.
+		 * 
+		 * @param position
+		 *            0 for the first node claimed, and so on
+		 * @return the node's number
+		 */
+		int visitAt(int position) {
+			return blocks.get(blockOf(position)).order[offsetOf(position)];
+		}
+
+		/**
+		 * Claims a node for the calling agent.
+		 * 
+		 * @param id
+		 *            the number the node was reached under
+		 * @return true if the node had not been claimed before, under this number or another
+		 */
+		boolean claim(int id) {
+			if (!claimed.add(new Identity(nodeAt(id)))) {
+				revisits.increment();
+				return false;
+			}
+			final int position = visitCount.getAndIncrement();
+			block(position).order[offsetOf(position)] = id;
+			return true;
+		}
+
+		/**
+		 * Counts an expansion for the calling agent. A thread which is not an agent (the hunter's
+		 * caller, were it to help) is counted as agent 0.
+		 */
+		void countExpansion() {
+			final Thread thread = Thread.currentThread();
+			final int agent = thread instanceof Agent ? ((Agent) thread).number : 0;
+			expansions.getAndIncrement((agent * STRIDE) % expansions.length());
+		}
+	}
+
+	/**
+	 * A node as a key which is equal only to itself; nodes compare equal by value.
+	 */
+	private static final class Identity {
+
+		/** the node */
+		private final MiddleEarthNode node;
+
+		/**
+		 * Wraps a node.
+		 * 
+		 * @param node
+		 *            the node
+		 */
+		Identity(MiddleEarthNode node) {
+			this.node = node;
+		}
+
+		/**
+		 * Gets the node's identity hash code.
+		 * 
+		 * @return the hash code
+		 */
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(node);
+		}
+
+		/**
+		 * Determines if another key wraps the same node.
+		 * 
+		 * @param other
+		 *            the other key
+		 * @return true if both wrap the same node
+		 */
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Identity && ((Identity) other).node == node;
+		}
+	}
+
+	/**
+	 * A pool thread with an agent number. The pool's own worker indices are not dense, so they
+	 * cannot index the counters.
+	 */
+	private static final class Agent extends ForkJoinWorkerThread {
+
+		/** the factory which gave out the number */
+		private final AgentFactory factory;
+
+		/** the agent number, below the pool's parallelism */
+		final int number;
+
+		/**
+		 * Creates an agent.
+		 * 
+		 * @param pool
+		 *            the pool it works for
+		 * @param factory
+		 *            the factory which gave out the number
+		 * @param number
+		 *            the agent number
+		 */
+		Agent(ForkJoinPool pool, AgentFactory factory, int number) {
+			super(pool);
+			this.factory = factory;
+			this.number = number;
+		}
+
+		/**
+		 * Hands the agent number back, for the thread which replaces this one.
+		 * 
+		 * @param exception
+		 *            the exception which ended the thread, or null
+		 */
+		@Override
+		protected void onTermination(Throwable exception) {
+			factory.release(number);
+			super.onTermination(exception);
+		}
+	}
+
+	/**
+	 * Creates agents, each with the lowest number no live agent holds.
+	 */
+	private static final class AgentFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+		/** numbers held by live agents */
+		private final BitSet taken = new BitSet();
+
+		/**
+		 * Creates an agent with the lowest free number.
+		 * 
+		 * @param pool
+		 *            the pool it works for
+		 * @return the agent
+		 */
+		@Override
+		public synchronized ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+			final int number = taken.nextClearBit(0);
+			taken.set(number);
+			return new Agent(pool, this, number);
+		}
+
+		/**
+		 * Frees a number.
+		 * 
+		 * @param number
+		 *            the number of an agent which is ending
+		 */
+		synchronized void release(int number) {
+			taken.clear(number);
+		}
+	}
+
+	/**
+	 * Expands one node: claims it, checks it for the ring, and forks its children onto the
+	 * calling agent's end of the frontier.
+	 */
+	@SuppressWarnings("serial")
+	private static final class Expand extends CountedCompleter<Void> {
+
+		/** shared hunt state */
+		private final Hunt hunt;
+
+		/** the node to expand */
+		private final int id;
+
+		/**
+		 * Creates a task.
+		 * 
+		 * @param parent
+		 *            the task which forked this one, or null for the root
+		 * @param hunt
+		 *            shared hunt state
+		 * @param id
+		 *            the node to expand
+		 */
+		Expand(Expand parent, Hunt hunt, int id) {
+			super(parent);
+			this.hunt = hunt;
+			this.id = id;
+		}
+
+		/**
+		 * Expands the node, unless the ring has been found or another agent got here first.
+		 */
+		@Override
+		public void compute() {
+			if (hunt.ringId.get() < 0 && hunt.claim(id)) {
+				hunt.countExpansion();
+				final MiddleEarthNode node = hunt.nodeAt(id);
+				if (node.hasRing()) {
+					if (hunt.ringId.compareAndSet(-1, id)) {
+						getRoot().quietlyComplete();  //wakes the caller; other agents stop at their next node
+					}
+				} else {
+					final List<MiddleEarthNode> children = node.getChildren();
+					final int first = hunt.reserve(children.size());
+					for (int i = 0; i < children.size(); i++) {
+						hunt.put(first + i, children.get(i), id);
+					}
+					//forked in reverse, so this agent pops the first child next (depth first)
+					for (int i = children.size() - 1; i >= 0; i--) {
+						addToPendingCount(1);
+						new Expand(this, hunt, first + i).fork();
+					}
+				}
+			}
+			tryComplete();
+		}
+	}
+
+}
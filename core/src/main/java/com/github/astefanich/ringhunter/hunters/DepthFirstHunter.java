@@ -0,0 +1,149 @@
+package com.github.astefanich.ringhunter.hunters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.reports.ReportRenderer;
+import com.github.astefanich.ringhunter.trace.TraceEvent;
+import com.github.astefanich.ringhunter.trees.RandomTree;
+
+/**
+ * Utilizes a depth-first searching algorithm for finding The One Ring. Implementation class of
+ * {@link AbstractRingHunter}.
+ * 
+ * @author AndrewStefanich
+ * @see RandomTree
+ * @see MiddleEarthNode
+ */
+public class DepthFirstHunter extends AbstractRingHunter {
+
+	/** name of our hunter */
+	private final String name = "Witch-king of Angmar";
+
+	/** stack for tracking hunter movements, reused between hunts */
+	private MiddleEarthNode[] stack = new MiddleEarthNode[16];
+
+	/** number of nodes on the stack */
+	private int size;
+
+	/**
+	 * Gets the name of our hunter
+	 * 
+	 * @return the name
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Depth first tree-traversal algorithm. Determines proper path for finding The One Ring. The
+	 * hunter's movements are tracked on an array-backed stack rather than by recursion, so the
+	 * depth of the tree is only limited by memory. If no node has the ring, the path is empty.
+	 * 
+	 * @param root
+	 *          the starting node
+	 */
+	@Override
+	public void startAt(MiddleEarthNode root) {
+		if (root == null) {
+			throw new IllegalStateException("root has not been initialized");
+		}
+
+		final Set<MiddleEarthNode> visitedNodes = Collections.newSetFromMap(new IdentityHashMap<>()); //visited nodes, constant time lookups
+		final ReportRenderer report = getRenderer();
+
+		size = 0;
+		push(root);
+
+		report.beginHunt();
+		report.encounter(root);
+		trace(TraceEvent.VISIT, root, size);
+		nodesVisited++;
+
+		MiddleEarthNode activeNode = root;
+
+		while (!activeNode.hasRing()) {
+			if (size == 0) {  //every node has been visited, and none has the ring
+				break;
+			}
+			activeNode = pop();
+			List<MiddleEarthNode> children = activeNode.getChildren();
+			for (int i = 0; i < children.size(); i++) {
+				if (!visitedNodes.contains(children.get(i))) {  //don't want to revisit nodes
+					activeNode = children.get(i);
+					report.encounter(activeNode);
+					trace(TraceEvent.VISIT, activeNode, size);
+
+					visitedNodes.add(activeNode);
+					nodesVisited++;
+					if (activeNode.hasRing()) {
+						pushBoth(activeNode);
+						trace(TraceEvent.FOUND, activeNode, size);
+						report.ringFound(activeNode);
+						break;
+					} else if (activeNode.isAdjacentToRing()) {
+						pushBoth(activeNode);
+						report.ringNear(activeNode);
+						break;
+					} else if (activeNode.getChildren().size() > 0) {
+						pushBoth(activeNode);
+						break; //this node has children. we want to break and enter a new for loop with this node as the root
+					} else if (i == children.size()) { //if we visited all child nodes, we want to go back to the parent
+						pop();
+					} //end of if
+				} //end of if (!visited)
+			} //end of for
+		} //end of while
+
+		//the stack holds the path from the bottom up, so it can be reported root first
+		this.path = new ArrayList<>(Arrays.asList(stack).subList(0, size));
+		Arrays.fill(stack, 0, size, null);  //don't keep the tree reachable between hunts
+		report.path(this.path);
+		report.endHunt();
+
+	} //end of startAt()
+
+	/**
+	 * Pushes a node onto the stack, growing it if it is full.
+	 * 
+	 * @param node
+	 *            the node
+	 */
+	private void push(MiddleEarthNode node) {
+		if (size == stack.length) {
+			stack = Arrays.copyOf(stack, size * 2);
+		}
+		stack[size++] = node;
+		trace(TraceEvent.PUSH, node, size);
+	}
+
+	/**
+	 * Takes the top node off the stack.
+	 * 
+	 * @return the node
+	 */
+	private MiddleEarthNode pop() {
+		final MiddleEarthNode node = stack[--size];
+		stack[size] = null;
+		trace(TraceEvent.POP, node, size);
+		return node;
+	}
+
+	/**
+	 * Pushes a node's parent back onto the stack, then the node itself.
+	 * 
+	 * @param node
+	 *            the node to descend to
+	 */
+	private void pushBoth(MiddleEarthNode node) {
+		push(node.getParent()); //re-add this parent node to the stack
+		push(node);
+	}
+
+} //end of class
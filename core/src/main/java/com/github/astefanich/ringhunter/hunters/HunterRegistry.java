@@ -0,0 +1,141 @@
+package com.github.astefanich.ringhunter.hunters;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The hunters available to this program, found with {@link ServiceLoader}. A hunter is
+ * registered by naming its class in
+ * {@code META-INF/services/com.github.astefanich.ringhunter.hunters.AbstractRingHunter}; it needs
+ * a public no-argument constructor. Hunters keep state between hunts, so the registry hands out
+ * a new hunter each time one is asked for. <br>
+ * Hunters are looked up by {@link AbstractRingHunter#getName()}, or by class name. The default
+ * hunter is the one named by the {@value #DEFAULT_PROPERTY} system property, if set, otherwise
+ * the first one registered.
+ * 
+ * @author AndrewStefanich
+ */
+public final class HunterRegistry {
+
+	/** system property which selects the default hunter */
+	public static final String DEFAULT_PROPERTY = "ringhunter.hunter";
+
+	/** creates each hunter, by name, in the order they were registered */
+	private final Map<String, Supplier<AbstractRingHunter>> hunters = new LinkedHashMap<>();
+
+	/** hunter names, by full and simple class name */
+	private final Map<String, String> classNames = new HashMap<>();
+
+	/**
+	 * Finds the registered hunters.
+	 * 
+	 * @param loader
+	 *            the class loader to search
+	 */
+	private HunterRegistry(ClassLoader loader) {
+		ServiceLoader.load(AbstractRingHunter.class, loader).stream().forEach(provider -> {
+			final String name = provider.get().getName();
+			if (hunters.putIfAbsent(name, provider::get) != null) {
+				throw new IllegalStateException(String.format("more than one hunter is named %s", name));
+			}
+			classNames.put(provider.type().getName(), name);
+			classNames.putIfAbsent(provider.type().getSimpleName(), name);
+		});
+	}
+
+	/**
+	 * Finds the hunters registered with the context class loader.
+	 * 
+	 * @return the registry
+	 */
+	public static HunterRegistry load() {
+		return load(Thread.currentThread().getContextClassLoader());
+	}
+
+	/**
+	 * Finds the hunters registered with a class loader.
+	 * 
+	 * @param loader
+	 *            the class loader to search
+	 * @return the registry
+	 */
+	public static HunterRegistry load(ClassLoader loader) {
+		return new HunterRegistry(loader);
+	}
+
+	/**
+	 * Gets the names of the registered hunters.
+	 * 
+	 * @return the names, in the order they were registered
+	 */
+	public Set<String> getNames() {
+		return Collections.unmodifiableSet(hunters.keySet());
+	}
+
+	/**
+	 * Gets something which creates a new hunter each time it is called.
+	 * 
+	 * @param name
+	 *            the hunter's name, or its full or simple class name
+	 * @return the supplier
+	 * @throws IllegalArgumentException
+	 *             if no such hunter is registered
+	 */
+	public Supplier<AbstractRingHunter> supplierOf(String name) {
+		Supplier<AbstractRingHunter> supplier = hunters.get(name);
+		if (supplier == null && classNames.containsKey(name)) {
+			supplier = hunters.get(classNames.get(name));
+		}
+		if (supplier == null) {
+			throw new IllegalArgumentException(String.format("no hunter named %s is registered; choose one of %s",
+					name, hunters.keySet()));
+		}
+		return supplier;
+	}
+
+	/**
+	 * Creates a new hunter.
+	 * 
+	 * @param name
+	 *            the hunter's name, or its full or simple class name
+	 * @return the hunter
+	 * @throws IllegalArgumentException
+	 *             if no such hunter is registered
+	 */
+	public AbstractRingHunter create(String name) {
+		return supplierOf(name).get();
+	}
+
+	/**
+	 * Gets the name of the default hunter.
+	 * 
+	 * @return the name
+	 * @throws IllegalStateException
+	 *             if no hunters are registered
+	 */
+	public String getDefaultName() {
+		final String selected = System.getProperty(DEFAULT_PROPERTY);
+		if (selected != null) {
+			return selected;
+		}
+		if (hunters.isEmpty()) {
+			throw new IllegalStateException("no hunters are registered");
+		}
+		return hunters.keySet().iterator().next();
+	}
+
+	/**
+	 * Creates a new default hunter.
+	 * 
+	 * @return the hunter
+	 */
+	public AbstractRingHunter createDefault() {
+		return create(getDefaultName());
+	}
+
+}
@@ -0,0 +1,208 @@
+package com.github.astefanich.ringhunter.hunters;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.reports.ReportRenderer;
+import com.github.astefanich.ringhunter.trace.TraceEvent;
+import com.github.astefanich.ringhunter.trees.RingListener;
+import com.github.astefanich.ringhunter.trees.RingRelocator;
+
+/**
+ * A depth-first hunter which keeps hunting while the ring moves. Register it with a
+ * {@link RingRelocator}; when the ring moves, the hunter repairs its plan in the spirit of D* Lite
+ * instead of starting over: <br>
+ * - everything already expanded stays expanded, and the frontier is kept as is <br>
+ * - if the ring moved below a node which was already expanded, the bearer is pushed onto the
+ * frontier so it is met next <br>
+ * - otherwise the new parent is on the frontier or below it, and will be reached anyway; the
+ * bearer may still be on the frontier under its old parent, so a popped node whose parent has not
+ * been expanded is skipped, to be met under its new parent <br>
+ * - a ring which had been found is marked lost, and the hunt goes on <br>
+ * Each repair does a constant amount of work. The hunt can be driven one node at a time with
+ * {@link #begin(MiddleEarthNode)}, {@link #step()} and {@link #finish()}, or all at once with
+ * {@link #startAt(MiddleEarthNode)}.
+ * 
+ * @author AndrewStefanich
+ * @see RingRelocator
+ */
+public class ReplanningHunter extends AbstractRingHunter implements RingListener {
+
+	/** name of our hunter */
+	private final String name = "Mouth of Sauron";
+
+	/** discovered nodes which have not been expanded yet, the next one on top */
+	private final Deque<MiddleEarthNode> frontier = new ArrayDeque<>();
+
+	/** the node the hunt started from */
+	private MiddleEarthNode root;
+
+	/** nodes which have been expanded */
+	private final Set<MiddleEarthNode> expanded = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/** the ring bearer, once found; null while the ring is still missing */
+	private MiddleEarthNode found;
+
+	/** number of times the plan was repaired after the ring moved */
+	private int repairs;
+
+	/**
+	 * Gets the name of our hunter
+	 * 
+	 * @return the name
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Hunts from root until the ring is found, or every node has been expanded; in that case the
+	 * path is empty.
+	 * 
+	 * @param root
+	 *            the starting node
+	 */
+	@Override
+	public void startAt(MiddleEarthNode root) {
+		begin(root);
+		boolean done = false;
+		while (!done && !frontier.isEmpty()) {
+			done = step();
+		}
+		finish();
+	}
+
+	/**
+	 * Starts a new hunt from root, forgetting any previous one.
+	 * 
+	 * @param root
+	 *            the starting node
+	 */
+	public void begin(MiddleEarthNode root) {
+		if (root == null) {
+			throw new IllegalStateException("root has not been initialized");
+		}
+		this.root = root;
+		frontier.clear();
+		expanded.clear();
+		found = null;
+		repairs = 0;
+		frontier.push(root);
+		trace(TraceEvent.PUSH, root, frontier.size());
+		getRenderer().beginHunt();
+	}
+
+	/**
+	 * Expands the next node on the frontier.
+	 * 
+	 * @return true once the ring has been found (and not moved since)
+	 */
+	public boolean step() {
+		while (found == null && !frontier.isEmpty()) {
+			final MiddleEarthNode node = frontier.pop();
+			trace(TraceEvent.POP, node, frontier.size());
+			if (node != root && !expanded.contains(node.getParent())) {
+				continue;  //queued under a parent it has since left
+			}
+			if (expanded.add(node)) {  //a repair may have pushed a node which is already queued
+				expand(node);
+				return found != null;
+			}
+		}
+		return found != null;
+	}
+
+	/**
+	 * Reports one node, and pushes its children so the first child is expanded next.
+	 * 
+	 * @param node
+	 *            the node
+	 */
+	private void expand(MiddleEarthNode node) {
+		final ReportRenderer report = getRenderer();
+		report.encounter(node);
+		trace(TraceEvent.VISIT, node, frontier.size());
+		nodesVisited++;
+		if (node.hasRing()) {
+			trace(TraceEvent.FOUND, node, frontier.size());
+			report.ringFound(node);
+			found = node;
+			return;
+		}
+		if (node.isAdjacentToRing()) {
+			report.ringNear(node);
+		}
+		final List<MiddleEarthNode> children = node.getChildren();
+		for (int i = children.size() - 1; i >= 0; i--) {
+			frontier.push(children.get(i));
+			trace(TraceEvent.PUSH, children.get(i), frontier.size());
+		}
+	}
+
+	/**
+	 * Reports the path from the root to the ring once found, or an empty path once every node has
+	 * been expanded without finding it.
+	 */
+	public void finish() {
+		if (found == null && !frontier.isEmpty()) {
+			throw new IllegalStateException("the hunt is not over");
+		}
+		final List<MiddleEarthNode> steps = new ArrayList<>();
+		for (MiddleEarthNode node = found; node != null; node = node.getParent()) {
+			steps.add(node);
+		}
+		Collections.reverse(steps);
+		path = steps;
+		getRenderer().path(path);
+		getRenderer().endHunt();
+	}
+
+	/**
+	 * Determines if the ring has been found, and has not moved since.
+	 * 
+	 * @return true if found
+	 */
+	public boolean hasFound() {
+		return found != null;
+	}
+
+	/**
+	 * Gets the number of times the plan was repaired after the ring moved.
+	 * 
+	 * @return the repair count
+	 */
+	public int getRepairs() {
+		return repairs;
+	}
+
+	/**
+	 * Repairs the plan after the ring moved.
+	 * 
+	 * @param bearer
+	 *            the ring bearer
+	 * @param from
+	 *            the node the bearer was a child of
+	 * @param to
+	 *            the node the bearer is now a child of
+	 */
+	@Override
+	public void ringMoved(MiddleEarthNode bearer, MiddleEarthNode from, MiddleEarthNode to) {
+		repairs++;
+		if (found == bearer) {
+			found = null;  //the ring slipped away; keep hunting from the current frontier
+		}
+		expanded.remove(bearer);  //the bearer must be met again where it is now
+		if (expanded.contains(to)) {
+			frontier.push(bearer);  //its new parent will never be expanded again
+			trace(TraceEvent.PUSH, bearer, frontier.size());
+		}
+	}
+
+}
@@ -0,0 +1,380 @@
+package com.github.astefanich.ringhunter.nodes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers path questions about a tree without searching it. Built once, with a single iterative
+ * walk, the index records each node's parent and depth and an Euler tour of the tree (every node
+ * is listed when the walk enters it and again after each child), with a sparse table over the
+ * tour holding the shallowest node of every power-of-two stretch. The lowest common ancestor of
+ * two nodes is the shallowest node of the tour between their first appearances, which the table
+ * gives from two overlapping lookups in constant time. <br>
+ * A path between two nodes then only follows parents up to their common ancestor, so it costs its
+ * own length, however large the tree. The nodes holding the ring are found while building, so
+ * paths to every ring bearer come from one call. The index is a copy: if the tree changes, build
+ * it again. Building takes O(n log n) time and memory, for the table.
+ * 
+ * @author AndrewStefanich
+ * @see StructuralHash
+ */
+public final class AncestorIndex {
+
+	/** the nodes, in preorder */
+	private final MiddleEarthNode[] nodes;
+
+	/** index of the parent of each node, -1 for the root */
+	private final int[] parents;
+
+	/** number of levels between each node and the root */
+	private final int[] depths;
+
+	/** position of each node's first appearance in the Euler tour */
+	private final int[] firsts;
+
+	/**
+	 * levels[k][i] is the shallowest node among the 2^k tour entries starting at position i; level
+	 * 0 is the tour itself
+	 */
+	private final int[][] levels;
+
+	/** indices of the nodes holding the ring, in preorder */
+	private final int[] ringBearers;
+
+	/** index of each node */
+	private final Map<MiddleEarthNode, Integer> index;
+
+	/**
+	 * Indexes the tree below root.
+	 * 
+	 * @param root
+	 *            the root node
+	 */
+	private AncestorIndex(MiddleEarthNode root) {
+		MiddleEarthNode[] order = new MiddleEarthNode[64];
+		int[] parentOf = new int[64];
+		int[] depthOf = new int[64];
+		int[] tour = new int[128];
+		int[] stack = new int[64];  //the nodes being walked, root first
+		int[] nextChild = new int[64];  //the next child of each of them to enter
+		int[] rings = new int[4];
+		int count = 0;
+		int length = 0;
+		int ringCount = 0;
+		int top = 0;
+
+		order[count] = root;
+		parentOf[count] = -1;
+		stack[top] = count++;
+		nextChild[top++] = 0;
+		tour[length++] = 0;
+		while (top > 0) {
+			final int node = stack[top - 1];
+			final List<MiddleEarthNode> children = order[node].getChildren();
+			if (nextChild[top - 1] == children.size()) {  //done with this node, back up to its parent
+				if (--top > 0) {
+					if (length == tour.length) {
+						tour = Arrays.copyOf(tour, length * 2);
+					}
+					tour[length++] = stack[top - 1];
+				}
+				continue;
+			}
+			final MiddleEarthNode child = children.get(nextChild[top - 1]++);
+			if (count == order.length) {
+				order = Arrays.copyOf(order, count * 2);
+				parentOf = Arrays.copyOf(parentOf, count * 2);
+				depthOf = Arrays.copyOf(depthOf, count * 2);
+			}
+			order[count] = child;
+			parentOf[count] = node;
+			depthOf[count] = depthOf[node] + 1;
+			if (child.hasRing()) {
+				if (ringCount == rings.length) {
+					rings = Arrays.copyOf(rings, ringCount * 2);
+				}
+				rings[ringCount++] = count;
+			}
+			if (top == stack.length) {
+				stack = Arrays.copyOf(stack, top * 2);
+				nextChild = Arrays.copyOf(nextChild, top * 2);
+			}
+			stack[top] = count;
+			nextChild[top++] = 0;
+			if (length == tour.length) {
+				tour = Arrays.copyOf(tour, length * 2);
+			}
+			tour[length++] = count++;
+		}
+		if (root.hasRing()) {
+			rings = Arrays.copyOf(rings, ringCount + 1);
+			System.arraycopy(rings, 0, rings, 1, ringCount++);
+			rings[0] = 0;
+		}
+
+		nodes = Arrays.copyOf(order, count);
+		parents = Arrays.copyOf(parentOf, count);
+		depths = Arrays.copyOf(depthOf, count);
+		ringBearers = Arrays.copyOf(rings, ringCount);
+		firsts = new int[count];
+		Arrays.fill(firsts, -1);
+		for (int i = 0; i < length; i++) {
+			if (firsts[tour[i]] < 0) {
+				firsts[tour[i]] = i;
+			}
+		}
+
+		final int[][] table = new int[32 - Integer.numberOfLeadingZeros(length)][];
+		table[0] = Arrays.copyOf(tour, length);
+		for (int k = 1; k < table.length; k++) {
+			final int[] below = table[k - 1];
+			final int half = 1 << (k - 1);
+			final int[] level = new int[length - (1 << k) + 1];
+			for (int i = 0; i < level.length; i++) {
+				level[i] = shallower(below[i], below[i + half]);
+			}
+			table[k] = level;
+		}
+		levels = table;
+
+		index = new IdentityHashMap<>(count * 2);
+		for (int i = 0; i < count; i++) {
+			index.put(nodes[i], i);
+		}
+	}
+
+	/**
+	 * Indexes the tree below root.
+	 * 
+	 * @param root
+	 *            the root node
+	 * @return the index
+	 */
+	public static AncestorIndex of(MiddleEarthNode root) {
+		if (root == null) {
+			throw new IllegalArgumentException("root must not be null");
+		}
+		return new AncestorIndex(root);
+	}
+
+	/**
+	 * Picks the shallower of two nodes.
+	 * 
+	 * @param a
+	 *            index of a node
+	 * @param b
+	 *            index of another node
+	 * @return the index of the shallower one
+	 */
+	private int shallower(int a, int b) {
+		return depths[a] <= depths[b] ? a : b;
+	}
+
+	/**
+	 * Gets the index of a node.
+	 * 
+	 * @param node
+	 *            a node of this tree
+	 * @return the index, 0 for the root
+	 */
+	private int indexOf(MiddleEarthNode node) {
+		final Integer i = index.get(node);
+		if (i == null) {
+			throw new IllegalArgumentException(String.format("%s is not part of this tree", node));
+		}
+		return i;
+	}
+
+	/**
+	 * Gets the lowest common ancestor of two indexed nodes.
+	 * 
+	 * @param a
+	 *            index of a node
+	 * @param b
+	 *            index of another node
+	 * @return index of their deepest shared ancestor, which may be either of them
+	 */
+	private int lca(int a, int b) {
+		int from = firsts[a];
+		int to = firsts[b];
+		if (from > to) {
+			final int swap = from;
+			from = to;
+			to = swap;
+		}
+		final int k = 31 - Integer.numberOfLeadingZeros(to - from + 1);  //largest power of two which fits
+		return shallower(levels[k][from], levels[k][to - (1 << k) + 1]);
+	}
+
+	/**
+	 * Gets the root of the tree.
+	 * 
+	 * @return the root
+	 */
+	public MiddleEarthNode getRoot() {
+		return nodes[0];
+	}
+
+	/**
+	 * Gets the number of nodes in the tree.
+	 * 
+	 * @return the node count
+	 */
+	public int size() {
+		return nodes.length;
+	}
+
+	/**
+	 * Gets the number of levels between a node and the root.
+	 * 
+	 * @param node
+	 *            a node of this tree
+	 * @return the depth, 0 for the root
+	 */
+	public int depthOf(MiddleEarthNode node) {
+		return depths[indexOf(node)];
+	}
+
+	/**
+	 * Gets the nodes which held the ring when the index was built.
+	 * 
+	 * @return the ring bearers, in preorder
+	 */
+	public List<MiddleEarthNode> getRingBearers() {
+		final List<MiddleEarthNode> bearers = new ArrayList<>(ringBearers.length);
+		for (int i : ringBearers) {
+			bearers.add(nodes[i]);
+		}
+		return Collections.unmodifiableList(bearers);
+	}
+
+	/**
+	 * Gets the lowest common ancestor of two nodes.
+	 * 
+	 * @param a
+	 *            a node of this tree
+	 * @param b
+	 *            another node of this tree
+	 * @return their deepest shared ancestor, which may be either of them
+	 */
+	public MiddleEarthNode lowestCommonAncestor(MiddleEarthNode a, MiddleEarthNode b) {
+		return nodes[lca(indexOf(a), indexOf(b))];
+	}
+
+	/**
+	 * Determines if one node is an ancestor of another.
+	 * 
+	 * @param ancestor
+	 *            a node of this tree
+	 * @param node
+	 *            another node of this tree
+	 * @return true if ancestor is on the path from the root to node, including node itself
+	 */
+	public boolean isAncestor(MiddleEarthNode ancestor, MiddleEarthNode node) {
+		final int a = indexOf(ancestor);
+		return lca(a, indexOf(node)) == a;
+	}
+
+	/**
+	 * Gets the number of edges on the path between two nodes.
+	 * 
+	 * @param a
+	 *            a node of this tree
+	 * @param b
+	 *            another node of this tree
+	 * @return the edge count
+	 */
+	public int distance(MiddleEarthNode a, MiddleEarthNode b) {
+		final int i = indexOf(a);
+		final int j = indexOf(b);
+		return depths[i] + depths[j] - 2 * depths[lca(i, j)];
+	}
+
+	/**
+	 * Gets the path between two nodes: up from the first to their lowest common ancestor, then
+	 * down to the second.
+	 * 
+	 * @param from
+	 *            the first node
+	 * @param to
+	 *            the last node
+	 * @return the nodes of the path, from first to last
+	 */
+	public List<MiddleEarthNode> path(MiddleEarthNode from, MiddleEarthNode to) {
+		return path(indexOf(from), indexOf(to));
+	}
+
+	/**
+	 * Gets the path between two indexed nodes.
+	 * 
+	 * @param from
+	 *            index of the first node
+	 * @param to
+	 *            index of the last node
+	 * @return the nodes of the path, from first to last
+	 */
+	private List<MiddleEarthNode> path(int from, int to) {
+		final int top = lca(from, to);
+		final int up = depths[from] - depths[top];
+		final MiddleEarthNode[] steps = new MiddleEarthNode[up + depths[to] - depths[top] + 1];
+		int i = 0;
+		for (int node = from; node != top; node = parents[node]) {
+			steps[i++] = nodes[node];
+		}
+		int j = steps.length;
+		for (int node = to; node != top; node = parents[node]) {  //filled from the end, so it reads downwards
+			steps[--j] = nodes[node];
+		}
+		steps[i] = nodes[top];
+		return Collections.unmodifiableList(Arrays.asList(steps));
+	}
+
+	/**
+	 * Gets the path from one node to each of many others.
+	 * 
+	 * @param from
+	 *            the first node of every path
+	 * @param targets
+	 *            the last node of each path
+	 * @return one path per target, in the same order
+	 */
+	public List<List<MiddleEarthNode>> paths(MiddleEarthNode from, Collection<MiddleEarthNode> targets) {
+		final int start = indexOf(from);
+		final List<List<MiddleEarthNode>> paths = new ArrayList<>(targets.size());
+		for (MiddleEarthNode target : targets) {
+			paths.add(path(start, indexOf(target)));
+		}
+		return paths;
+	}
+
+	/**
+	 * Gets the path from the root to each node which held the ring when the index was built.
+	 * 
+	 * @return one path per ring bearer, in preorder of the bearers
+	 */
+	public List<List<MiddleEarthNode>> pathsToRings() {
+		return pathsToRings(nodes[0]);
+	}
+
+	/**
+	 * Gets the path from a node to each node which held the ring when the index was built.
+	 * 
+	 * @param from
+	 *            the first node of every path
+	 * @return one path per ring bearer, in preorder of the bearers
+	 */
+	public List<List<MiddleEarthNode>> pathsToRings(MiddleEarthNode from) {
+		final int start = indexOf(from);
+		final List<List<MiddleEarthNode>> paths = new ArrayList<>(ringBearers.length);
+		for (int bearer : ringBearers) {
+			paths.add(path(start, bearer));
+		}
+		return paths;
+	}
+
+}
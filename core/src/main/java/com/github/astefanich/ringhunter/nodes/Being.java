@@ -33,4 +33,14 @@ public class Being extends MiddleEarthNode {
 		}
 	}
 
+	/**
+	 * Gets the kind of this node.
+	 * 
+	 * @return {@link NodeKind#BEING}
+	 */
+	@Override
+	public NodeKind getKind() {
+		return NodeKind.BEING;
+	}
+
 } //end of Being class
\ No newline at end of file
@@ -0,0 +1,237 @@
+package com.github.astefanich.ringhunter.nodes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable copy of a node, created by {@link TreeSnapshot}. Every mutator throws
+ * {@link UnsupportedOperationException}, so a frozen tree can be shared between threads.
+ * 
+ * @author AndrewStefanich
+ */
+final class FrozenNode extends MiddleEarthNode {
+
+	/** the snapshot this node belongs to */
+	private final TreeSnapshot snapshot;
+
+	/** kind of the node this was copied from */
+	private final NodeKind kind;
+
+	/** index of this node within its snapshot */
+	private final int id;
+
+	/** the parent node, null for the root */
+	private final FrozenNode parent;
+
+	/** true if this node has the ring */
+	private final boolean hasRing;
+
+	/** true if this node is adjacent to the ring */
+	private final boolean isAdjacentToRing;
+
+	/** travel distance from the parent node */
+	private final double distanceFromParent;
+
+	/** child nodes, only added to while the snapshot is being built */
+	private final List<MiddleEarthNode> children;
+
+	/** read-only view of the child nodes */
+	private final List<MiddleEarthNode> childrenView;
+
+	/**
+	 * Copies a node, and attaches the copy to its frozen parent.
+	 * 
+	 * @param snapshot
+	 *            the snapshot being built
+	 * @param source
+	 *            the node to copy
+	 * @param id
+	 *            index of the copy within its snapshot
+	 * @param parent
+	 *            the frozen parent, or null for the root
+	 */
+	FrozenNode(TreeSnapshot snapshot, MiddleEarthNode source, int id, FrozenNode parent) {
+		super(null);
+		this.snapshot = snapshot;
+		setName(source.getName());
+		setDescription(source.getDescription());
+		this.kind = source.getKind();
+		this.id = id;
+		this.parent = parent;
+		this.hasRing = source.hasRing();
+		this.isAdjacentToRing = source.isAdjacentToRing();
+		this.distanceFromParent = source.getDistanceFromParent();
+		this.children = new ArrayList<>(source.getChildren().size());
+		this.childrenView = Collections.unmodifiableList(children);
+		if (parent != null) {
+			parent.children.add(this);
+		}
+	}
+
+	/**
+	 * Gets the snapshot this node belongs to.
+	 * 
+	 * @return the snapshot
+	 */
+	TreeSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Gets the index of this node within its snapshot.
+	 * 
+	 * @return the id
+	 */
+	int getSnapshotId() {
+		return id;
+	}
+
+	/**
+	 * Gets the index of this node within its snapshot, so traces of frozen trees use dense ids.
+	 * 
+	 * @return the id
+	 */
+	@Override
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * Gets the kind of the node this was copied from.
+	 * 
+	 * @return the kind
+	 */
+	@Override
+	public NodeKind getKind() {
+		return kind;
+	}
+
+	/**
+	 * Determines if this node has The One Ring.
+	 * 
+	 * @return true if it has the ring, otherwise false
+	 */
+	@Override
+	public boolean hasRing() {
+		return hasRing;
+	}
+
+	/**
+	 * Frozen nodes cannot be changed.
+	 * 
+	 * @param hasRing
+	 *            ignored
+	 */
+	@Override
+	public void setHasRing(boolean hasRing) {
+		throw new UnsupportedOperationException("frozen nodes cannot be changed");
+	}
+
+	/**
+	 * Determines if this nodes is adjacent to the node which holds the ring.
+	 * 
+	 * @return true if adjacent, otherwise false
+	 */
+	@Override
+	public boolean isAdjacentToRing() {
+		return isAdjacentToRing;
+	}
+
+	/**
+	 * Frozen nodes cannot be changed.
+	 * 
+	 * @param adjacentToRing
+	 *            ignored
+	 */
+	@Override
+	public void setAdjacentToRing(boolean adjacentToRing) {
+		throw new UnsupportedOperationException("frozen nodes cannot be changed");
+	}
+
+	/**
+	 * Gets the travel distance from the parent node.
+	 * 
+	 * @return the distance
+	 */
+	@Override
+	public double getDistanceFromParent() {
+		return distanceFromParent;
+	}
+
+	/**
+	 * Frozen nodes cannot be changed.
+	 * 
+	 * @param distance
+	 *            ignored
+	 */
+	@Override
+	public void setDistanceFromParent(double distance) {
+		throw new UnsupportedOperationException("frozen nodes cannot be changed");
+	}
+
+	/**
+	 * Gets a read-only view of the child nodes.
+	 * 
+	 * @return the list
+	 */
+	@Override
+	public List<MiddleEarthNode> getChildren() {
+		return childrenView;
+	}
+
+	/**
+	 * Frozen nodes cannot be changed.
+	 * 
+	 * @param theParent
+	 *            ignored
+	 */
+	@Override
+	public void setParent(MiddleEarthNode theParent) {
+		throw new UnsupportedOperationException("frozen nodes cannot be changed");
+	}
+
+	/**
+	 * Gets the parent of this node.
+	 * 
+	 * @return the parent node
+	 */
+	@Override
+	public MiddleEarthNode getParent() {
+		return parent;
+	}
+
+	/**
+	 * Frozen nodes cannot be changed.
+	 * 
+	 * @param node
+	 *            ignored
+	 */
+	@Override
+	public void addChild(MiddleEarthNode node) {
+		throw new UnsupportedOperationException("frozen nodes cannot be changed");
+	}
+
+	/**
+	 * Frozen nodes cannot be changed.
+	 * 
+	 * @param node
+	 *            ignored
+	 * @return never
+	 */
+	@Override
+	public boolean removeChild(MiddleEarthNode node) {
+		throw new UnsupportedOperationException("frozen nodes cannot be changed");
+	}
+
+	/**
+	 * Determines if this node has a parent.
+	 * 
+	 * @return true if it has a parent, otherwise false
+	 */
+	@Override
+	public boolean hasParent() {
+		return parent != null;
+	}
+
+}
@@ -2,6 +2,7 @@ package com.github.astefanich.ringhunter.nodes;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This abstract class represents people and places you may encounter as you search for The
@@ -15,6 +16,12 @@ import java.util.List;
  */
 public abstract class MiddleEarthNode {
 
+	/** source of ids for new nodes */
+	private static final AtomicLong NEXT_ID = new AtomicLong();
+
+	/** identifies this node in traces */
+	private final long id = NEXT_ID.getAndIncrement();
+
 	/** the name of our node */
 	private String name;
 
@@ -30,8 +37,28 @@ public abstract class MiddleEarthNode {
 	/** holds true if this node is connected to the node which has the ring */
 	private boolean isAdjacentToRing;
 
-	/** each node contains a collection of its child nodes */
-	private List<MiddleEarthNode> children = new ArrayList<MiddleEarthNode>();
+	/** travel distance from the parent node to this one */
+	private double distanceFromParent = 1;
+
+	/** each node contains a collection of its child nodes, unless a subclass keeps its own */
+	private final List<MiddleEarthNode> children;
+
+	/**
+	 * Creates a node with no children.
+	 */
+	public MiddleEarthNode() {
+		this(new ArrayList<MiddleEarthNode>());
+	}
+
+	/**
+	 * Creates a node which keeps its children in the given list.
+	 * 
+	 * @param children
+	 *            the list, or null for a subclass which overrides every method using it
+	 */
+	MiddleEarthNode(List<MiddleEarthNode> children) {
+		this.children = children;
+	}
 
 	/**
 	 * Sets the name of this node
@@ -52,6 +79,23 @@ public abstract class MiddleEarthNode {
 		return name;
 	}
 
+	/**
+	 * Gets a number which identifies this node, for example in a hunt trace. Nodes are numbered in
+	 * the order they were created, unless a subclass has a better scheme.
+	 * 
+	 * @return the id
+	 */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * Gets the kind of this node.
+	 * 
+	 * @return the kind
+	 */
+	public abstract NodeKind getKind();
+
 	/**
 	 * Gets the description of this node.
 	 * 
@@ -109,6 +153,29 @@ public abstract class MiddleEarthNode {
 		this.isAdjacentToRing = adjacentToRing;
 	}
 
+	/**
+	 * Gets the travel distance from the parent node to this node (the cost of the edge between
+	 * them). Defaults to 1.
+	 * 
+	 * @return the distance
+	 */
+	public double getDistanceFromParent() {
+		return distanceFromParent;
+	}
+
+	/**
+	 * Sets the travel distance from the parent node to this node.
+	 * 
+	 * @param distance
+	 *            the distance, which must not be negative
+	 */
+	public void setDistanceFromParent(double distance) {
+		if (!(distance >= 0)) {
+			throw new IllegalArgumentException(String.format("distance must not be negative, was %f", distance));
+		}
+		this.distanceFromParent = distance;
+	}
+
 	/**
 	 * Gets the collection of child nodes.
 	 * 
@@ -150,6 +217,24 @@ public abstract class MiddleEarthNode {
 		}
 	}
 
+	/**
+	 * Removes a node from this object's collection of child nodes. The child keeps its reference
+	 * to this node until it is given a new parent.
+	 * 
+	 * @param node
+	 *            the child to remove
+	 * @return true if the node was a child of this node
+	 */
+	public boolean removeChild(MiddleEarthNode node) {
+		for (int i = 0; i < children.size(); i++) {
+			if (children.get(i) == node) {  //by identity, since equal nodes may appear in different places
+				children.remove(i);
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Determines if this node has a parent.
 	 * 
@@ -171,6 +256,8 @@ public abstract class MiddleEarthNode {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
+		final String description = getDescription();
+		final String name = getName();
 		result = prime * result + ((description == null) ? 0 : description.hashCode());
 		result = prime * result + ((name == null) ? 0 : name.hashCode());
 		return result;
@@ -192,15 +279,17 @@ public abstract class MiddleEarthNode {
 		if (getClass() != node.getClass())
 			return false;
 		MiddleEarthNode other = (MiddleEarthNode) node;
+		final String description = getDescription();
+		final String name = getName();
 		if (description == null) {
-			if (other.description != null)
+			if (other.getDescription() != null)
 				return false;
-		} else if (!description.equals(other.description))
+		} else if (!description.equals(other.getDescription()))
 			return false;
 		if (name == null) {
-			if (other.name != null)
+			if (other.getName() != null)
 				return false;
-		} else if (!name.equals(other.name))
+		} else if (!name.equals(other.getName()))
 			return false;
 		return true;
 	}
@@ -210,7 +299,7 @@ public abstract class MiddleEarthNode {
 	 */
 	@Override
 	public String toString(){
-		return name;
+		return getName();
 	}
 
 } //end of MiddleEarthNode class
@@ -0,0 +1,20 @@
+package com.github.astefanich.ringhunter.nodes;
+
+/**
+ * Type tag for each kind of {@link MiddleEarthNode}, so callers can dispatch on the kind of a
+ * node without inspecting its class.
+ * 
+ * @author AndrewStefanich
+ */
+public enum NodeKind {
+
+	/** the root of a tree, see {@link Root} */
+	ROOT,
+
+	/** a locale of Middle-earth, see {@link Place} */
+	PLACE,
+
+	/** a living being of Middle-earth, see {@link Being} */
+	BEING;
+
+}
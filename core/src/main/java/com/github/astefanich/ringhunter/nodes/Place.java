@@ -33,4 +33,14 @@ public class Place extends MiddleEarthNode {
 		}
 	}
 
+	/**
+	 * Gets the kind of this node.
+	 * 
+	 * @return {@link NodeKind#PLACE}
+	 */
+	@Override
+	public NodeKind getKind() {
+		return NodeKind.PLACE;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,408 @@
+package com.github.astefanich.ringhunter.nodes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A node of a procedurally generated tree. Everything about a node (its kind, name, children and
+ * whether it is on the way to the ring) is derived from a hash of the world's seed and the node's
+ * id, so the same seed always produces the same world. Children are only created the first time
+ * {@link #getChildren()} is called, and names only when asked for, which keeps memory
+ * proportional to the part of the world that has been explored. <br>
+ * Ids are 64-bit hashes, so two nodes of a world share an id only by chance: about once in
+ * 3.7e7 worlds of a million nodes (n<sup>2</sup>/2<sup>65</sup>). Traces and hunt overlays
+ * identify nodes by id, and would merge two such nodes. <br>
+ * The world is defined by its seed, so every mutator throws {@link UnsupportedOperationException}.
+ * Create worlds with {@code ProceduralTree} rather than directly.
+ * 
+ * @author AndrewStefanich
+ */
+public final class ProceduralNode extends MiddleEarthNode {
+
+	/** golden ratio increment, used to spread consecutive inputs across the hash space */
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	/** salt for the hash which picks the number of children */
+	private static final long FAN_OUT_SALT = 0x1L;
+
+	/** salt for the hash which picks the child on the way to the ring */
+	private static final long RING_SALT = 0x2L;
+
+	/** salt for the hash which picks the kind and distance of a node */
+	private static final long SHAPE_SALT = 0x3L;
+
+	/** description shared by generated places */
+	private static final String PLACE_DESCRIPTION = "an uncharted place";
+
+	/** description shared by generated beings */
+	private static final String BEING_DESCRIPTION = "a wandering soul";
+
+	/**
+	 * The parameters shared by every node of one world.
+	 */
+	public static final class World {
+
+		/** seed of the world */
+		private final long seed;
+
+		/** the most children any node can have */
+		private final int maxFanOut;
+
+		/** levels below the root; nodes on the last level have no children */
+		private final int maxDepth;
+
+		/** level of the ring bearer */
+		private final int ringDepth;
+
+		/** number of nodes created so far */
+		private final AtomicLong materialized = new AtomicLong();
+
+		/**
+		 * Creates the parameters of a world.
+		 * 
+		 * @param seed
+		 *            seed of the world
+		 * @param maxFanOut
+		 *            the most children any node can have
+		 * @param maxDepth
+		 *            levels below the root
+		 */
+		public World(long seed, int maxFanOut, int maxDepth) {
+			if (maxFanOut < 1 || maxDepth < 1) {
+				throw new IllegalArgumentException("maxFanOut and maxDepth must be at least 1");
+			}
+			this.seed = seed;
+			this.maxFanOut = maxFanOut;
+			this.maxDepth = maxDepth;
+			this.ringDepth = 1 + (int) Long.remainderUnsigned(mix(seed ^ RING_SALT), maxDepth);
+		}
+
+		/**
+		 * Creates the root of this world.
+		 * 
+		 * @return the root
+		 */
+		public ProceduralNode createRoot() {
+			return new ProceduralNode(this, null, mix(seed), 0, true);
+		}
+
+		/**
+		 * Gets the level of the ring bearer.
+		 * 
+		 * @return levels below the root
+		 */
+		public int getRingDepth() {
+			return ringDepth;
+		}
+
+		/**
+		 * Gets the number of nodes created so far, including the root.
+		 * 
+		 * @return the node count
+		 */
+		public long getMaterializedCount() {
+			return materialized.get();
+		}
+
+		/**
+		 * Hashes a node id with a salt and this world's seed.
+		 * 
+		 * @param id
+		 *            the node id
+		 * @param salt
+		 *            distinguishes the different uses of the hash
+		 * @return the hash
+		 */
+		long hash(long id, long salt) {
+			return mix(id ^ mix(seed + salt * GOLDEN_GAMMA));
+		}
+	}
+
+	/** parameters of the world this node belongs to */
+	private final World world;
+
+	/** the parent node, null for the root */
+	private final ProceduralNode parent;
+
+	/** id of this node, unique within its world unless two hashes collide */
+	private final long id;
+
+	/** levels below the root */
+	private final int depth;
+
+	/** true if the ring bearer is this node or below it */
+	private final boolean onRingPath;
+
+	/** kind of this node */
+	private final NodeKind kind;
+
+	/** the child nodes, created on first access */
+	private volatile List<MiddleEarthNode> children;
+
+	/**
+	 * Creates a node, deriving everything else from its id.
+	 * 
+	 * @param world
+	 *            parameters of the world
+	 * @param parent
+	 *            the parent node, null for the root
+	 * @param id
+	 *            id of the node
+	 * @param depth
+	 *            levels below the root
+	 * @param onRingPath
+	 *            true if the ring bearer is this node or below it
+	 */
+	private ProceduralNode(World world, ProceduralNode parent, long id, int depth, boolean onRingPath) {
+		super(null);
+		this.world = world;
+		this.parent = parent;
+		this.id = id;
+		this.depth = depth;
+		this.onRingPath = onRingPath;
+		world.materialized.incrementAndGet();
+		final long shape = world.hash(id, SHAPE_SALT);
+		if (parent == null) {
+			kind = NodeKind.ROOT;
+		} else if (hasRing() || (shape & 1) == 1) {
+			kind = NodeKind.BEING;
+		} else {
+			kind = NodeKind.PLACE;
+		}
+	}
+
+	/**
+	 * Finalizer of the SplitMix64 generator; spreads the bits of x evenly.
+	 * 
+	 * @param x
+	 *            the input
+	 * @return the mixed bits
+	 */
+	static long mix(long x) {
+		x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+		x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+		return x ^ (x >>> 31);
+	}
+
+	/**
+	 * Gets the id of this node, which is the same each time the world is created. It is a hash, so
+	 * it is unique within the world only with high probability.
+	 * 
+	 * @return the id
+	 */
+	@Override
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * Gets the name of this node, derived from its id each time it is asked for.
+	 * 
+	 * @return the name
+	 */
+	@Override
+	public String getName() {
+		if (parent == null) {
+			return "Angmar";
+		} else if (hasRing()) {
+			return "Frodo";
+		}
+		return (kind == NodeKind.PLACE ? "Place " : "Being ") + Long.toHexString(id);
+	}
+
+	/**
+	 * Gets the description of this node.
+	 * 
+	 * @return the description
+	 */
+	@Override
+	public String getDescription() {
+		if (parent == null) {
+			return "realm of the Ringwraiths";
+		} else if (hasRing()) {
+			return "bearer of The One Ring";
+		}
+		return kind == NodeKind.PLACE ? PLACE_DESCRIPTION : BEING_DESCRIPTION;
+	}
+
+	/**
+	 * Gets the number of levels below the root.
+	 * 
+	 * @return the depth
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Gets the kind of this node.
+	 * 
+	 * @return the kind
+	 */
+	@Override
+	public NodeKind getKind() {
+		return kind;
+	}
+
+	/**
+	 * Determines if this node has The One Ring.
+	 * 
+	 * @return true if it has the ring, otherwise false
+	 */
+	@Override
+	public boolean hasRing() {
+		return onRingPath && depth == world.ringDepth;
+	}
+
+	/**
+	 * Determines if this nodes is adjacent to the node which holds the ring.
+	 * 
+	 * @return true if adjacent, otherwise false
+	 */
+	@Override
+	public boolean isAdjacentToRing() {
+		return onRingPath && depth == world.ringDepth - 1;
+	}
+
+	/**
+	 * Gets the travel distance from the parent node, between 1 and 100.
+	 * 
+	 * @return the distance
+	 */
+	@Override
+	public double getDistanceFromParent() {
+		return 1 + Long.remainderUnsigned(world.hash(id, SHAPE_SALT) >>> 1, 100);
+	}
+
+	/**
+	 * Gets the child nodes, creating them on first access.
+	 * 
+	 * @return a read-only list
+	 */
+	@Override
+	public List<MiddleEarthNode> getChildren() {
+		List<MiddleEarthNode> result = children;
+		if (result == null) {
+			synchronized (this) {
+				result = children;
+				if (result == null) {
+					children = result = createChildren();
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates the children of this node from the hash of its id.
+	 * 
+	 * @return a read-only list
+	 */
+	private List<MiddleEarthNode> createChildren() {
+		if (depth >= world.maxDepth || hasRing()) {
+			return Collections.emptyList();
+		}
+		int fanOut = (int) Long.remainderUnsigned(world.hash(id, FAN_OUT_SALT), world.maxFanOut + 1);
+		int ringChild = -1;
+		if (onRingPath) {
+			fanOut = Math.max(1, fanOut);  //the way to the ring never dead-ends
+			ringChild = (int) Long.remainderUnsigned(world.hash(id, RING_SALT), fanOut);
+		}
+		final List<MiddleEarthNode> created = new ArrayList<>(fanOut);
+		for (int i = 0; i < fanOut; i++) {
+			final long childId = mix(id + (i + 1) * GOLDEN_GAMMA);
+			created.add(new ProceduralNode(world, this, childId, depth + 1, i == ringChild));
+		}
+		return Collections.unmodifiableList(created);
+	}
+
+	/**
+	 * Gets the parent of this node.
+	 * 
+	 * @return the parent node
+	 */
+	@Override
+	public MiddleEarthNode getParent() {
+		return parent;
+	}
+
+	/**
+	 * Determines if this node has a parent.
+	 * 
+	 * @return true if it has a parent, otherwise false
+	 */
+	@Override
+	public boolean hasParent() {
+		return parent != null;
+	}
+
+	/**
+	 * Procedural worlds cannot be changed.
+	 * 
+	 * @param hasRing
+	 *            ignored
+	 */
+	@Override
+	public void setHasRing(boolean hasRing) {
+		throw new UnsupportedOperationException("procedural worlds are defined by their seed");
+	}
+
+	/**
+	 * Procedural worlds cannot be changed.
+	 * 
+	 * @param adjacentToRing
+	 *            ignored
+	 */
+	@Override
+	public void setAdjacentToRing(boolean adjacentToRing) {
+		throw new UnsupportedOperationException("procedural worlds are defined by their seed");
+	}
+
+	/**
+	 * Procedural worlds cannot be changed.
+	 * 
+	 * @param distance
+	 *            ignored
+	 */
+	@Override
+	public void setDistanceFromParent(double distance) {
+		throw new UnsupportedOperationException("procedural worlds are defined by their seed");
+	}
+
+	/**
+	 * Procedural worlds cannot be changed.
+	 * 
+	 * @param theParent
+	 *            ignored
+	 */
+	@Override
+	public void setParent(MiddleEarthNode theParent) {
+		throw new UnsupportedOperationException("procedural worlds are defined by their seed");
+	}
+
+	/**
+	 * Procedural worlds cannot be changed.
+	 * 
+	 * @param node
+	 *            ignored
+	 */
+	@Override
+	public void addChild(MiddleEarthNode node) {
+		throw new UnsupportedOperationException("procedural worlds are defined by their seed");
+	}
+
+	/**
+	 * Procedural worlds cannot be changed.
+	 * 
+	 * @param node
+	 *            ignored
+	 * @return never returns
+	 */
+	@Override
+	public boolean removeChild(MiddleEarthNode node) {
+		throw new UnsupportedOperationException("procedural worlds are defined by their seed");
+	}
+
+}
@@ -22,4 +22,14 @@ public class Root extends MiddleEarthNode {
 		setDescription(description);
 	}
 
+	/**
+	 * Gets the kind of this node.
+	 * 
+	 * @return {@link NodeKind#ROOT}
+	 */
+	@Override
+	public NodeKind getKind() {
+		return NodeKind.ROOT;
+	}
+
 }
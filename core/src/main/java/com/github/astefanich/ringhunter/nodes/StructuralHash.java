@@ -0,0 +1,289 @@
+package com.github.astefanich.ringhunter.nodes;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Merkle hash of every subtree of a tree. The hash of a node combines what can be seen of the
+ * node itself (kind, name, description, ring flags and distance from its parent) with the hashes
+ * of its children, in order, so two subtrees have the same hash exactly when they look the same,
+ * whichever objects they are made of (up to the odds of a 64-bit collision). <br>
+ * The tree is walked once, iteratively, recording nodes in preorder; hashes are then combined
+ * from the last node back to the first, so every child is hashed before its parent. The hashes
+ * are a copy: if the tree changes, hash it again.
+ * 
+ * @author AndrewStefanich
+ * @see TreeDiff
+ */
+public final class StructuralHash {
+
+	/** the nodes, in preorder */
+	private final MiddleEarthNode[] nodes;
+
+	/** hash of the subtree of each node */
+	private final long[] hashes;
+
+	/** hash of each node on its own, without its children */
+	private final long[] localHashes;
+
+	/** number of nodes in the subtree of each node, including the node */
+	private final int[] sizes;
+
+	/** number of children of each node */
+	private final int[] fanOuts;
+
+	/** index of the parent of each node, -1 for the root */
+	private final int[] parents;
+
+	/** number of levels below the root */
+	private final int depth;
+
+	/** index of each node, built the first time a node is looked up */
+	private Map<MiddleEarthNode, Integer> index;
+
+	/**
+	 * Hashes the tree below root.
+	 * 
+	 * @param root
+	 *            the root node
+	 */
+	private StructuralHash(MiddleEarthNode root) {
+		MiddleEarthNode[] order = new MiddleEarthNode[64];
+		int[] parentOf = new int[64];
+		int[] childCounts = new int[64];
+		int[] levels = new int[64];
+		MiddleEarthNode[] stack = new MiddleEarthNode[64];
+		int[] stackParents = new int[64];
+		int count = 0;
+		int top = 0;
+		int deepest = 0;
+		stack[top] = root;
+		stackParents[top++] = -1;
+		while (top > 0) {
+			final MiddleEarthNode node = stack[--top];
+			final int parent = stackParents[top];
+			if (count == order.length) {
+				order = Arrays.copyOf(order, count * 2);
+				parentOf = Arrays.copyOf(parentOf, count * 2);
+				childCounts = Arrays.copyOf(childCounts, count * 2);
+				levels = Arrays.copyOf(levels, count * 2);
+			}
+			order[count] = node;
+			parentOf[count] = parent;
+			levels[count] = parent < 0 ? 0 : levels[parent] + 1;
+			deepest = Math.max(deepest, levels[count]);
+			final List<MiddleEarthNode> children = node.getChildren();
+			childCounts[count] = children.size();
+			if (top + children.size() > stack.length) {
+				stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + children.size()));
+				stackParents = Arrays.copyOf(stackParents, stack.length);
+			}
+			for (int i = children.size() - 1; i >= 0; i--) {  //first child on top, so it comes next
+				stack[top] = children.get(i);
+				stackParents[top++] = count;
+			}
+			count++;
+		}
+
+		nodes = Arrays.copyOf(order, count);
+		parents = Arrays.copyOf(parentOf, count);
+		fanOuts = Arrays.copyOf(childCounts, count);
+		hashes = new long[count];
+		localHashes = new long[count];
+		sizes = new int[count];
+		depth = deepest;
+		for (int i = count - 1; i >= 0; i--) {
+			final MiddleEarthNode node = nodes[i];
+			final int fanOut = fanOuts[i];
+			long hash = localHashes[i] = hashNode(node);
+			int size = 1;
+			int child = i + 1;  //in preorder, the first child follows its parent, and each sibling follows the last one's subtree
+			for (int k = 0; k < fanOut; k++) {
+				hash = mix(hash * 31 + hashes[child]);
+				size += sizes[child];
+				child += sizes[child];
+			}
+			hashes[i] = mix(hash ^ fanOut);
+			sizes[i] = size;
+		}
+	}
+
+	/**
+	 * Hashes the tree below root.
+	 * 
+	 * @param root
+	 *            the root node
+	 * @return the hashes
+	 */
+	public static StructuralHash of(MiddleEarthNode root) {
+		if (root == null) {
+			throw new IllegalArgumentException("root must not be null");
+		}
+		return new StructuralHash(root);
+	}
+
+	/**
+	 * Hashes what can be seen of a node on its own.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return the hash
+	 */
+	private static long hashNode(MiddleEarthNode node) {
+		long hash = node.getKind().ordinal();
+		hash = mix(hash * 31 + (node.getName() == null ? 0 : node.getName().hashCode()));
+		hash = mix(hash * 31 + (node.getDescription() == null ? 0 : node.getDescription().hashCode()));
+		hash = mix(hash * 31 + (node.hasRing() ? 2 : 0) + (node.isAdjacentToRing() ? 1 : 0));
+		return mix(hash * 31 + Double.doubleToLongBits(node.getDistanceFromParent()));
+	}
+
+	/**
+	 * Scrambles the bits of a value (the SplitMix64 finalizer).
+	 * 
+	 * @param x
+	 *            the input
+	 * @return the mixed bits
+	 */
+	private static long mix(long x) {
+		x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+		x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+		return x ^ (x >>> 31);
+	}
+
+	/**
+	 * Gets the root node.
+	 * 
+	 * @return the root
+	 */
+	public MiddleEarthNode getRoot() {
+		return nodes[0];
+	}
+
+	/**
+	 * Gets the hash of the whole tree.
+	 * 
+	 * @return the hash
+	 */
+	public long getRootHash() {
+		return hashes[0];
+	}
+
+	/**
+	 * Gets the number of nodes in the tree.
+	 * 
+	 * @return the node count
+	 */
+	public int size() {
+		return nodes.length;
+	}
+
+	/**
+	 * Gets the number of levels below the root.
+	 * 
+	 * @return the depth
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Gets the hash of the subtree below a node.
+	 * 
+	 * @param node
+	 *            a node of this tree
+	 * @return the hash
+	 */
+	public long hashOf(MiddleEarthNode node) {
+		return hashes[indexOf(node)];
+	}
+
+	/**
+	 * Gets the preorder index of a node.
+	 * 
+	 * @param node
+	 *            a node of this tree
+	 * @return the index, 0 for the root
+	 */
+	synchronized int indexOf(MiddleEarthNode node) {
+		if (index == null) {
+			index = new IdentityHashMap<>(nodes.length * 2);
+			for (int i = 0; i < nodes.length; i++) {
+				index.put(nodes[i], i);
+			}
+		}
+		final Integer i = index.get(node);
+		if (i == null) {
+			throw new IllegalArgumentException(String.format("%s is not part of this tree", node));
+		}
+		return i;
+	}
+
+	/**
+	 * Gets the node at a preorder index.
+	 * 
+	 * @param i
+	 *            the index
+	 * @return the node
+	 */
+	MiddleEarthNode nodeAt(int i) {
+		return nodes[i];
+	}
+
+	/**
+	 * Gets the hash of the subtree at a preorder index.
+	 * 
+	 * @param i
+	 *            the index
+	 * @return the hash
+	 */
+	long hashAt(int i) {
+		return hashes[i];
+	}
+
+	/**
+	 * Gets the hash of the node at a preorder index, without its children.
+	 * 
+	 * @param i
+	 *            the index
+	 * @return the hash
+	 */
+	long localHashAt(int i) {
+		return localHashes[i];
+	}
+
+	/**
+	 * Gets the size of the subtree at a preorder index.
+	 * 
+	 * @param i
+	 *            the index
+	 * @return the node count
+	 */
+	int sizeAt(int i) {
+		return sizes[i];
+	}
+
+	/**
+	 * Gets the number of children the node at a preorder index had when the tree was hashed.
+	 * 
+	 * @param i
+	 *            the index
+	 * @return the child count
+	 */
+	int fanOutAt(int i) {
+		return fanOuts[i];
+	}
+
+	/**
+	 * Gets the index of the parent of the node at a preorder index.
+	 * 
+	 * @param i
+	 *            the index
+	 * @return the parent's index, -1 for the root
+	 */
+	int parentAt(int i) {
+		return parents[i];
+	}
+
+}
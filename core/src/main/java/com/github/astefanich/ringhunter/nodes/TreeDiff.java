@@ -0,0 +1,171 @@
+package com.github.astefanich.ringhunter.nodes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The subtrees which differ between two versions of a tree. Both trees are walked together from
+ * their roots, skipping any pair of subtrees with equal {@link StructuralHash}es. Where two nodes
+ * look the same and have the same number of children, their children are compared in order;
+ * otherwise the whole subtree is counted as replaced. Only the parts of the trees which differ
+ * are visited, and only through the hashes: the trees are compared as they were when hashed,
+ * even if they have changed since.
+ * 
+ * @author AndrewStefanich
+ * @see StructuralHash
+ */
+public final class TreeDiff {
+
+	/** roots of the subtrees of the first tree which were replaced */
+	private final List<MiddleEarthNode> removed = new ArrayList<>();
+
+	/** roots of the subtrees of the second tree which replaced them, in the same order */
+	private final List<MiddleEarthNode> added = new ArrayList<>();
+
+	/** nodes of the first tree which were replaced, with the parents of replaced subtrees */
+	private final List<MiddleEarthNode> changedBefore = new ArrayList<>();
+
+	/** nodes of the second tree which are new, with the parents of new subtrees */
+	private final List<MiddleEarthNode> changedAfter = new ArrayList<>();
+
+	/** number of nodes of the second tree in subtrees which did not change */
+	private int unchanged;
+
+	/**
+	 * Compares two trees.
+	 * 
+	 * @param before
+	 *            hashes of the first tree
+	 * @param after
+	 *            hashes of the second tree
+	 */
+	private TreeDiff(StructuralHash before, StructuralHash after) {
+		int[] pairs = new int[64];  //index in before, then index in after
+		int top = 0;
+		pairs[top++] = 0;
+		pairs[top++] = 0;
+		while (top > 0) {
+			final int j = pairs[--top];
+			final int i = pairs[--top];
+			if (before.hashAt(i) == after.hashAt(j)) {
+				unchanged += after.sizeAt(j);
+				continue;
+			}
+			final int fanOut = before.fanOutAt(i);
+			if (before.localHashAt(i) == after.localHashAt(j) && fanOut == after.fanOutAt(j)) {
+				unchanged++;  //the node itself is the same, but something below it is not
+				if (top + 2 * fanOut > pairs.length) {
+					pairs = Arrays.copyOf(pairs, Math.max(pairs.length * 2, top + 2 * fanOut));
+				}
+				int childBefore = i + 1;
+				int childAfter = j + 1;
+				for (int k = 0; k < fanOut; k++) {
+					pairs[top++] = childBefore;
+					pairs[top++] = childAfter;
+					childBefore += before.sizeAt(childBefore);
+					childAfter += after.sizeAt(childAfter);
+				}
+			} else {
+				removed.add(before.nodeAt(i));
+				added.add(after.nodeAt(j));
+				addSubtree(before, i, changedBefore);
+				addSubtree(after, j, changedAfter);
+			}
+		}
+	}
+
+	/**
+	 * Compares two trees.
+	 * 
+	 * @param before
+	 *            hashes of the first tree
+	 * @param after
+	 *            hashes of the second tree
+	 * @return the differences
+	 */
+	public static TreeDiff between(StructuralHash before, StructuralHash after) {
+		if (before == null || after == null) {
+			throw new IllegalArgumentException("both trees must be hashed");
+		}
+		return new TreeDiff(before, after);
+	}
+
+	/**
+	 * Adds every node of a subtree, and its parent, to a list.
+	 * 
+	 * @param tree
+	 *            hashes of the tree
+	 * @param root
+	 *            preorder index of the subtree's root
+	 * @param changed
+	 *            the list to add to
+	 */
+	private static void addSubtree(StructuralHash tree, int root, List<MiddleEarthNode> changed) {
+		if (tree.parentAt(root) >= 0) {
+			changed.add(tree.nodeAt(tree.parentAt(root)));
+		}
+		final int end = root + tree.sizeAt(root);
+		for (int i = root; i < end; i++) {  //a subtree is a contiguous run in preorder
+			changed.add(tree.nodeAt(i));
+		}
+	}
+
+	/**
+	 * Determines if the trees look the same.
+	 * 
+	 * @return true if nothing changed
+	 */
+	public boolean isEmpty() {
+		return removed.isEmpty();
+	}
+
+	/**
+	 * Gets the roots of the subtrees of the first tree which were replaced.
+	 * 
+	 * @return the roots
+	 */
+	public List<MiddleEarthNode> getRemoved() {
+		return Collections.unmodifiableList(removed);
+	}
+
+	/**
+	 * Gets the roots of the subtrees of the second tree which replaced them, in the same order as
+	 * {@link #getRemoved()}.
+	 * 
+	 * @return the roots
+	 */
+	public List<MiddleEarthNode> getAdded() {
+		return Collections.unmodifiableList(added);
+	}
+
+	/**
+	 * Gets every node of the first tree in a replaced subtree, and the parent of each replaced
+	 * subtree (whose edges changed).
+	 * 
+	 * @return the nodes
+	 */
+	public List<MiddleEarthNode> getChangedBefore() {
+		return Collections.unmodifiableList(changedBefore);
+	}
+
+	/**
+	 * Gets every node of the second tree in a new subtree, and the parent of each new subtree.
+	 * 
+	 * @return the nodes
+	 */
+	public List<MiddleEarthNode> getChangedAfter() {
+		return Collections.unmodifiableList(changedAfter);
+	}
+
+	/**
+	 * Gets the number of nodes of the second tree which did not change.
+	 * 
+	 * @return the node count
+	 */
+	public int getUnchanged() {
+		return unchanged;
+	}
+
+}
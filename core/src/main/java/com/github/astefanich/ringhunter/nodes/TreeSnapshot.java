@@ -0,0 +1,243 @@
+package com.github.astefanich.ringhunter.nodes;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * An immutable copy of a tree of {@link MiddleEarthNode}s. Once {@link #of(MiddleEarthNode)}
+ * returns, no node in the snapshot can change, so one snapshot can be hunted by any number of
+ * threads at the same time (each with its own hunter). Nodes are numbered 0 to size() - 1 in
+ * depth-first order, with the root at 0.
+ * 
+ * @author AndrewStefanich
+ */
+public final class TreeSnapshot {
+
+	/** the frozen nodes, indexed by id */
+	private final FrozenNode[] nodes;
+
+	/** id of the node holding the ring, or -1 */
+	private final int ringId;
+
+	/** number of levels below the root */
+	private final int depth;
+
+	/** hashes of every subtree, computed the first time they are needed */
+	private volatile StructuralHash structuralHash;
+
+	/**
+	 * Copies the tree below root into this snapshot.
+	 * 
+	 * @param root
+	 *            the root node
+	 */
+	private TreeSnapshot(MiddleEarthNode root) {
+		final Deque<MiddleEarthNode> sources = new ArrayDeque<>();
+		final Deque<FrozenNode> parents = new ArrayDeque<>();  //frozen parent of each source, same order
+		final Deque<Integer> levels = new ArrayDeque<>();
+		nodes = new FrozenNode[count(root)];
+		int size = 0;
+		int ring = -1;
+		int deepest = 0;
+
+		final FrozenNode frozenRoot = new FrozenNode(this, root, size, null);
+		nodes[size++] = frozenRoot;
+		if (frozenRoot.hasRing()) {
+			ring = 0;
+		}
+		pushChildren(root, frozenRoot, 1, sources, parents, levels);
+		while (!sources.isEmpty()) {
+			final MiddleEarthNode source = sources.pop();
+			final int level = levels.pop();
+			final FrozenNode node = new FrozenNode(this, source, size, parents.pop());
+			nodes[size++] = node;
+			deepest = Math.max(deepest, level);
+			if (node.hasRing()) {
+				ring = node.getSnapshotId();
+			}
+			pushChildren(source, node, level + 1, sources, parents, levels);
+		}
+		ringId = ring;
+		depth = deepest;
+	}
+
+	/**
+	 * Copies the tree below root into a new snapshot. The original tree is left untouched. If root
+	 * already is the root of a snapshot, that snapshot is returned.
+	 * 
+	 * @param root
+	 *            the root node
+	 * @return the snapshot
+	 */
+	public static TreeSnapshot of(MiddleEarthNode root) {
+		if (root == null) {
+			throw new IllegalArgumentException("root must not be null");
+		}
+		if (root instanceof FrozenNode && !root.hasParent()) {
+			return ((FrozenNode) root).getSnapshot();
+		}
+		return new TreeSnapshot(root);
+	}
+
+	/**
+	 * Gets the snapshot a frozen node belongs to.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return the snapshot, or null if the node is not frozen
+	 */
+	public static TreeSnapshot ownerOf(MiddleEarthNode node) {
+		return node instanceof FrozenNode ? ((FrozenNode) node).getSnapshot() : null;
+	}
+
+	/**
+	 * Counts the nodes below root, including root.
+	 * 
+	 * @param root
+	 *            the root node
+	 * @return the node count
+	 */
+	private static int count(MiddleEarthNode root) {
+		final Deque<MiddleEarthNode> stack = new ArrayDeque<>();
+		stack.push(root);
+		int count = 0;
+		while (!stack.isEmpty()) {
+			final MiddleEarthNode node = stack.pop();
+			count++;
+			for (MiddleEarthNode child : node.getChildren()) {
+				stack.push(child);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Pushes the children of a node in reverse, so they are popped (and numbered) in order.
+	 * 
+	 * @param source
+	 *            the original node
+	 * @param copy
+	 *            its frozen copy
+	 * @param level
+	 *            level of the children
+	 * @param sources
+	 *            stack of nodes to copy
+	 * @param parents
+	 *            stack of frozen parents
+	 * @param levels
+	 *            stack of levels
+	 */
+	private static void pushChildren(MiddleEarthNode source, FrozenNode copy, int level,
+			Deque<MiddleEarthNode> sources, Deque<FrozenNode> parents, Deque<Integer> levels) {
+		final List<MiddleEarthNode> children = source.getChildren();
+		for (int i = children.size() - 1; i >= 0; i--) {
+			sources.push(children.get(i));
+			parents.push(copy);
+			levels.push(level);
+		}
+	}
+
+	/**
+	 * Gets the frozen root node.
+	 * 
+	 * @return the root
+	 */
+	public MiddleEarthNode getRoot() {
+		return nodes[0];
+	}
+
+	/**
+	 * Gets the number of nodes in this snapshot.
+	 * 
+	 * @return the node count
+	 */
+	public int size() {
+		return nodes.length;
+	}
+
+	/**
+	 * Gets the number of levels below the root.
+	 * 
+	 * @return the depth
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Gets the hashes of every subtree. A snapshot cannot change, so they are only computed once.
+	 * 
+	 * @return the hashes
+	 */
+	public StructuralHash getStructuralHash() {
+		StructuralHash hash = structuralHash;
+		if (hash == null) {
+			structuralHash = hash = StructuralHash.of(getRoot());  //racing threads compute equal hashes
+		}
+		return hash;
+	}
+
+	/**
+	 * Gets a node by id.
+	 * 
+	 * @param id
+	 *            between 0 and size() - 1
+	 * @return the node
+	 */
+	public MiddleEarthNode get(int id) {
+		return nodes[id];
+	}
+
+	/**
+	 * Gets the id of a node from this snapshot.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return the id
+	 * @throws IllegalArgumentException
+	 *             if the node does not belong to this snapshot
+	 */
+	public int idOf(MiddleEarthNode node) {
+		if (node instanceof FrozenNode) {
+			final int id = ((FrozenNode) node).getSnapshotId();
+			if (id < nodes.length && nodes[id] == node) {
+				return id;
+			}
+		}
+		throw new IllegalArgumentException(String.format("%s does not belong to this snapshot", node));
+	}
+
+	/**
+	 * Gets the id of a node's parent.
+	 * 
+	 * @param id
+	 *            the node's id
+	 * @return the parent's id, or -1 for the root
+	 */
+	public int parentOf(int id) {
+		final FrozenNode parent = (FrozenNode) nodes[id].getParent();
+		return parent == null ? -1 : parent.getSnapshotId();
+	}
+
+	/**
+	 * Gets the node holding the ring.
+	 * 
+	 * @return the ring bearer, or null if the tree has none
+	 */
+	public MiddleEarthNode getRingBearer() {
+		return ringId < 0 ? null : nodes[ringId];
+	}
+
+	/**
+	 * Determines if a node is part of a frozen snapshot.
+	 * 
+	 * @param node
+	 *            the node
+	 * @return true if the node cannot be changed
+	 */
+	public static boolean isFrozen(MiddleEarthNode node) {
+		return node instanceof FrozenNode;
+	}
+
+}
@@ -0,0 +1,149 @@
+package com.github.astefanich.ringhunter.reports;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+
+/**
+ * Base class for renderers which stream a report to an {@link Appendable}. Write failures are
+ * rethrown as {@link UncheckedIOException}, so hunters don't need to handle them. A null text or
+ * argument is written as "null", as {@link Appendable#append(CharSequence)} writes it.
+ * 
+ * @author AndrewStefanich
+ */
+public abstract class AbstractReportRenderer implements ReportRenderer {
+
+	/** where the report is written */
+	private final Appendable out;
+
+	/** number of characters written so far */
+	private long length;
+
+	/**
+	 * Creates a renderer which writes to out.
+	 * 
+	 * @param out
+	 *            where to write, for example a {@link StringBuilder} or {@link java.io.Writer}
+	 */
+	protected AbstractReportRenderer(Appendable out) {
+		if (out == null) {
+			throw new IllegalArgumentException("out must not be null");
+		}
+		this.out = out;
+	}
+
+	/**
+	 * Gets the number of characters written so far.
+	 * 
+	 * @return the length of the report
+	 */
+	@Override
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * Writes literal text.
+	 * 
+	 * @param text
+	 *            the text, or null
+	 */
+	protected void write(CharSequence text) {
+		try {
+			out.append(text);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		length += lengthOf(text);
+	}
+
+	/**
+	 * Writes a single character.
+	 * 
+	 * @param c
+	 *            the character
+	 */
+	protected void write(char c) {
+		try {
+			out.append(c);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		length++;
+	}
+
+	/**
+	 * Writes a template with the name and description of a node.
+	 * 
+	 * @param template
+	 *            a template with two placeholders
+	 * @param node
+	 *            supplies the name and description
+	 */
+	protected void write(ReportTemplate template, MiddleEarthNode node) {
+		write(template, node.getName(), node.getDescription());
+	}
+
+	/**
+	 * Writes a template with one argument.
+	 * 
+	 * @param template
+	 *            a template with one placeholder
+	 * @param argument
+	 *            the argument, or null
+	 */
+	protected void write(ReportTemplate template, CharSequence argument) {
+		try {
+			template.render(out, argument);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		length += template.getLiteralLength() + lengthOf(argument);
+	}
+
+	/**
+	 * Writes a template with two arguments.
+	 * 
+	 * @param template
+	 *            a template with two placeholders
+	 * @param first
+	 *            the first argument, or null
+	 * @param second
+	 *            the second argument, or null
+	 */
+	protected void write(ReportTemplate template, CharSequence first, CharSequence second) {
+		try {
+			template.render(out, first, second);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		length += template.getLiteralLength() + lengthOf(first) + lengthOf(second);
+	}
+
+	/**
+	 * Gets the number of characters a text is written as.
+	 * 
+	 * @param text
+	 *            the text, or null
+	 * @return its length, or 4 for the "null" written in its place
+	 */
+	private static int lengthOf(CharSequence text) {
+		return text == null ? 4 : text.length();
+	}
+
+	/**
+	 * Called once before anything else is reported for a hunt. Does nothing by default.
+	 */
+	@Override
+	public void beginHunt() {
+	}
+
+	/**
+	 * Called once after everything else is reported for a hunt. Does nothing by default.
+	 */
+	@Override
+	public void endHunt() {
+	}
+
+}
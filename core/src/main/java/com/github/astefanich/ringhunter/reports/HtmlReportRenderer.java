@@ -0,0 +1,154 @@
+package com.github.astefanich.ringhunter.reports;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.nodes.NodeKind;
+
+/**
+ * Renders a report as an HTML fragment: an ordered list of encounters followed by an ordered list
+ * for the path. Every element carries the node's kind as its class, so the report can be styled.
+ * Names and descriptions are escaped.
+ * 
+ * @author AndrewStefanich
+ */
+public class HtmlReportRenderer extends AbstractReportRenderer {
+
+	/** encounter item for each kind of node, with the name and description as arguments */
+	private static final Map<NodeKind, ReportTemplate> ENCOUNTERS = new EnumMap<>(NodeKind.class);
+
+	/** path item for each kind of node, with the name as the argument */
+	private static final Map<NodeKind, ReportTemplate> PATH_STEPS = new EnumMap<>(NodeKind.class);
+
+	static {
+		ENCOUNTERS.put(NodeKind.BEING, new ReportTemplate("<li class=\"being\">Meeting <b>%s</b> (%s)</li>\n"));
+		ENCOUNTERS.put(NodeKind.PLACE, new ReportTemplate("<li class=\"place\">Entering (the) <b>%s</b> (%s)</li>\n"));
+		ENCOUNTERS.put(NodeKind.ROOT, new ReportTemplate("<li class=\"root\">Leaving <b>%s</b> (%s)</li>\n"));
+		PATH_STEPS.put(NodeKind.BEING, new ReportTemplate("<li class=\"being\">and then go see %s</li>\n"));
+		PATH_STEPS.put(NodeKind.PLACE, new ReportTemplate("<li class=\"place\">and then visit (the) %s</li>\n"));
+		PATH_STEPS.put(NodeKind.ROOT, new ReportTemplate("<li class=\"root\">Start at %s</li>\n"));
+	}
+
+	/** reused for escaping names and descriptions */
+	private final StringBuilder escaped = new StringBuilder();
+
+	/** reused for escaping descriptions */
+	private final StringBuilder escapedDescription = new StringBuilder();
+
+	/**
+	 * Creates a renderer which writes HTML to out.
+	 * 
+	 * @param out
+	 *            where to write
+	 */
+	public HtmlReportRenderer(Appendable out) {
+		super(out);
+	}
+
+	/**
+	 * Opens the list of encounters.
+	 */
+	@Override
+	public void beginHunt() {
+		write("<ol class=\"encounters\">\n");
+	}
+
+	/**
+	 * Writes an item for the node, based on its kind.
+	 * 
+	 * @param node
+	 *            the node
+	 */
+	@Override
+	public void encounter(MiddleEarthNode node) {
+		write(ENCOUNTERS.get(node.getKind()), escape(node.getName(), escaped),
+				escape(node.getDescription(), escapedDescription));
+	}
+
+	/**
+	 * Writes that the ring is near.
+	 * 
+	 * @param node
+	 *            the node adjacent to the ring
+	 */
+	@Override
+	public void ringNear(MiddleEarthNode node) {
+		write("<li class=\"near\">The Ring is near; I can feel it</li>\n");
+	}
+
+	/**
+	 * Writes that the ring was found.
+	 * 
+	 * @param node
+	 *            the node holding the ring
+	 */
+	@Override
+	public void ringFound(MiddleEarthNode node) {
+		write("<li class=\"found\">WE FOUND THE ONE RING. MUHAHA!</li>\n");
+	}
+
+	/**
+	 * Closes the list of encounters, and writes the path as a second list.
+	 * 
+	 * @param path
+	 *            the nodes, root first
+	 */
+	@Override
+	public void path(List<MiddleEarthNode> path) {
+		write("</ol>\n<ol class=\"path\">\n");
+		for (int i = 0; i < path.size(); i++) {
+			final MiddleEarthNode step = path.get(i);
+			write(PATH_STEPS.get(step.getKind()), escape(step.getName(), escaped));
+		}
+	}
+
+	/**
+	 * Closes the last open list.
+	 */
+	@Override
+	public void endHunt() {
+		write("</ol>\n");
+	}
+
+	/**
+	 * Escapes the characters which have a meaning in HTML.
+	 * 
+	 * @param text
+	 *            the text to escape, or null, which is written as "null" as the templates print it
+	 * @param buffer
+	 *            reused to hold the result
+	 * @return the escaped text
+	 */
+	static CharSequence escape(String text, StringBuilder buffer) {
+		buffer.setLength(0);
+		if (text == null) {
+			return buffer.append("null");
+		}
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			switch (c) {
+			case '<':
+				buffer.append("&lt;");
+				break;
+			case '>':
+				buffer.append("&gt;");
+				break;
+			case '&':
+				buffer.append("&amp;");
+				break;
+			case '"':
+				buffer.append("&quot;");
+				break;
+			case '\'':
+				buffer.append("&#39;");
+				break;
+			default:
+				buffer.append(c);
+			}
+		}
+		return buffer;
+	}
+
+}
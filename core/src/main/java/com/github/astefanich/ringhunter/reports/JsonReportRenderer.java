@@ -0,0 +1,181 @@
+package com.github.astefanich.ringhunter.reports;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.nodes.NodeKind;
+
+/**
+ * Renders a report as one JSON object per hunt:
+ * 
+ * <pre>
+ * {"events":[{"event":"encounter","kind":"ROOT","name":"Angmar","description":"..."},
+ *            {"event":"ringNear","name":"Shire"}, ...],
+ *  "path":[{"kind":"ROOT","name":"Angmar"}, ...]}
+ * </pre>
+ * 
+ * A missing name or description is written as null.
+ * 
+ * @author AndrewStefanich
+ */
+public class JsonReportRenderer extends AbstractReportRenderer {
+
+	/** encounter object for each kind of node, with the name and description as JSON values */
+	private static final Map<NodeKind, ReportTemplate> ENCOUNTERS = new EnumMap<>(NodeKind.class);
+
+	/** path object for each kind of node, with the name as a JSON value */
+	private static final Map<NodeKind, ReportTemplate> PATH_STEPS = new EnumMap<>(NodeKind.class);
+
+	/** event object for a node adjacent to the ring, with the name as a JSON value */
+	private static final ReportTemplate RING_NEAR = new ReportTemplate("{\"event\":\"ringNear\",\"name\":%s}");
+
+	/** event object for the node holding the ring, with the name as a JSON value */
+	private static final ReportTemplate RING_FOUND = new ReportTemplate("{\"event\":\"ringFound\",\"name\":%s}");
+
+	/** hexadecimal digits, for escaping control characters */
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	static {
+		for (NodeKind kind : NodeKind.values()) {
+			ENCOUNTERS.put(kind, new ReportTemplate(
+					"{\"event\":\"encounter\",\"kind\":\"" + kind + "\",\"name\":%s,\"description\":%s}"));
+			PATH_STEPS.put(kind, new ReportTemplate("{\"kind\":\"" + kind + "\",\"name\":%s}"));
+		}
+	}
+
+	/** true until the first element of the current array is written */
+	private boolean firstElement;
+
+	/** reused for escaping names */
+	private final StringBuilder escaped = new StringBuilder();
+
+	/** reused for escaping descriptions */
+	private final StringBuilder escapedDescription = new StringBuilder();
+
+	/**
+	 * Creates a renderer which writes JSON to out.
+	 * 
+	 * @param out
+	 *            where to write
+	 */
+	public JsonReportRenderer(Appendable out) {
+		super(out);
+	}
+
+	/**
+	 * Opens the report object and its array of events.
+	 */
+	@Override
+	public void beginHunt() {
+		write("{\"events\":[");
+		firstElement = true;
+	}
+
+	/**
+	 * Writes an encounter event.
+	 * 
+	 * @param node
+	 *            the node
+	 */
+	@Override
+	public void encounter(MiddleEarthNode node) {
+		separate();
+		write(ENCOUNTERS.get(node.getKind()), escape(node.getName(), escaped),
+				escape(node.getDescription(), escapedDescription));
+	}
+
+	/**
+	 * Writes a ringNear event.
+	 * 
+	 * @param node
+	 *            the node adjacent to the ring
+	 */
+	@Override
+	public void ringNear(MiddleEarthNode node) {
+		separate();
+		write(RING_NEAR, escape(node.getName(), escaped));
+	}
+
+	/**
+	 * Writes a ringFound event.
+	 * 
+	 * @param node
+	 *            the node holding the ring
+	 */
+	@Override
+	public void ringFound(MiddleEarthNode node) {
+		separate();
+		write(RING_FOUND, escape(node.getName(), escaped));
+	}
+
+	/**
+	 * Closes the array of events, and writes the path array.
+	 * 
+	 * @param path
+	 *            the nodes, root first
+	 */
+	@Override
+	public void path(List<MiddleEarthNode> path) {
+		write("],\"path\":[");
+		firstElement = true;
+		for (int i = 0; i < path.size(); i++) {
+			final MiddleEarthNode step = path.get(i);
+			separate();
+			write(PATH_STEPS.get(step.getKind()), escape(step.getName(), escaped));
+		}
+	}
+
+	/**
+	 * Closes the last open array and the report object.
+	 */
+	@Override
+	public void endHunt() {
+		write("]}\n");
+	}
+
+	/**
+	 * Writes a comma before every array element except the first.
+	 */
+	private void separate() {
+		if (firstElement) {
+			firstElement = false;
+		} else {
+			write(',');
+		}
+	}
+
+	/**
+	 * Turns text into a JSON value: a string, quoted, with quotes, backslashes and every control
+	 * character escaped. A null text becomes the literal null, so it cannot be mistaken for a
+	 * name which is "null".
+	 * 
+	 * @param text
+	 *            the text to escape, or null
+	 * @param buffer
+	 *            reused to hold the result
+	 * @return the JSON value
+	 */
+	static CharSequence escape(String text, StringBuilder buffer) {
+		buffer.setLength(0);
+		if (text == null) {
+			return buffer.append("null");
+		}
+		buffer.append('"');
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			if (c == '"' || c == '\\') {
+				buffer.append('\\').append(c);
+			} else if (c == '\n') {
+				buffer.append("\\n");
+			} else if (c < 0x20 || c == 0x7f) {
+				buffer.append("\\u00").append(HEX[c >> 4 & 0xf]).append(HEX[c & 0xf]);
+			} else {
+				buffer.append(c);
+			}
+		}
+		return buffer.append('"');
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.github.astefanich.ringhunter.reports;
+
+import java.util.List;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+
+/**
+ * Receives the steps of a hunt, in order, and writes them out as a report. Hunters call
+ * {@link #beginHunt()}, then one {@link #encounter(MiddleEarthNode)} per node they meet (possibly
+ * followed by {@link #ringNear(MiddleEarthNode)} or {@link #ringFound(MiddleEarthNode)}), then
+ * {@link #path(List)} and {@link #endHunt()}.
+ * 
+ * @author AndrewStefanich
+ * @see TextReportRenderer
+ * @see HtmlReportRenderer
+ * @see JsonReportRenderer
+ */
+public interface ReportRenderer {
+
+	/**
+	 * Called once before anything else is reported for a hunt.
+	 */
+	void beginHunt();
+
+	/**
+	 * Reports that the hunter entered a node.
+	 * 
+	 * @param node
+	 *            the node
+	 */
+	void encounter(MiddleEarthNode node);
+
+	/**
+	 * Reports that the node just encountered is adjacent to the ring.
+	 * 
+	 * @param node
+	 *            the node
+	 */
+	void ringNear(MiddleEarthNode node);
+
+	/**
+	 * Reports that the node just encountered holds the ring.
+	 * 
+	 * @param node
+	 *            the node
+	 */
+	void ringFound(MiddleEarthNode node);
+
+	/**
+	 * Reports the path from the root to the ring.
+	 * 
+	 * @param path
+	 *            the nodes, root first
+	 */
+	void path(List<MiddleEarthNode> path);
+
+	/**
+	 * Called once after everything else is reported for a hunt.
+	 */
+	void endHunt();
+
+	/**
+	 * Gets the number of characters written so far.
+	 * 
+	 * @return the length of the report
+	 */
+	long getLength();
+
+}
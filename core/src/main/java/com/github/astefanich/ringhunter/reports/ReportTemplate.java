@@ -0,0 +1,131 @@
+package com.github.astefanich.ringhunter.reports;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A report line with {@code %s} placeholders, split into its literal parts once when it is
+ * created. Rendering appends the parts and the arguments directly, so unlike
+ * {@link String#format(String, Object...)} the pattern is never re-parsed and no intermediate
+ * String is built.
+ * 
+ * @author AndrewStefanich
+ */
+public final class ReportTemplate {
+
+	/** the placeholder for an argument */
+	private static final String PLACEHOLDER = "%s";
+
+	/** literal text around the placeholders; there is always one more part than placeholders */
+	private final String[] parts;
+
+	/** combined length of the literal parts */
+	private final int literalLength;
+
+	/**
+	 * Compiles a pattern.
+	 * 
+	 * @param pattern
+	 *            text with zero or more {@code %s} placeholders
+	 */
+	public ReportTemplate(String pattern) {
+		final List<String> split = new ArrayList<>();
+		int start = 0;
+		int index;
+		while ((index = pattern.indexOf(PLACEHOLDER, start)) != -1) {
+			split.add(pattern.substring(start, index));
+			start = index + PLACEHOLDER.length();
+		}
+		split.add(pattern.substring(start));
+		parts = split.toArray(new String[split.size()]);
+		literalLength = pattern.length() - (parts.length - 1) * PLACEHOLDER.length();
+	}
+
+	/**
+	 * Gets the number of characters this template writes, not counting its arguments.
+	 * 
+	 * @return the combined length of the literal parts
+	 */
+	public int getLiteralLength() {
+		return literalLength;
+	}
+
+	/**
+	 * Gets the number of placeholders in this template.
+	 * 
+	 * @return the argument count
+	 */
+	public int getArgumentCount() {
+		return parts.length - 1;
+	}
+
+	/**
+	 * Renders a template without placeholders.
+	 * 
+	 * @param out
+	 *            where to write
+	 * @throws IOException
+	 *             if out cannot be written to
+	 */
+	public void render(Appendable out) throws IOException {
+		checkArguments(0);
+		out.append(parts[0]);
+	}
+
+	/**
+	 * Renders a template with one placeholder.
+	 * 
+	 * @param out
+	 *            where to write
+	 * @param first
+	 *            the argument
+	 * @throws IOException
+	 *             if out cannot be written to
+	 */
+	public void render(Appendable out, CharSequence first) throws IOException {
+		checkArguments(1);
+		out.append(parts[0]).append(first).append(parts[1]);
+	}
+
+	/**
+	 * Renders a template with two placeholders.
+	 * 
+	 * @param out
+	 *            where to write
+	 * @param first
+	 *            the first argument
+	 * @param second
+	 *            the second argument
+	 * @throws IOException
+	 *             if out cannot be written to
+	 */
+	public void render(Appendable out, CharSequence first, CharSequence second) throws IOException {
+		checkArguments(2);
+		out.append(parts[0]).append(first).append(parts[1]).append(second).append(parts[2]);
+	}
+
+	/**
+	 * Ensures the caller passes one argument per placeholder.
+	 * 
+	 * @param count
+	 *            number of arguments passed
+	 */
+	private void checkArguments(int count) {
+		if (count != getArgumentCount()) {
+			throw new IllegalArgumentException(String.format("Template expects %d arguments, got %d",
+					getArgumentCount(), count));
+		}
+	}
+
+	/**
+	 * String representation of this template
+	 * 
+	 * @return the original pattern
+	 */
+	@Override
+	public String toString() {
+		return String.join(PLACEHOLDER, parts);
+	}
+
+}
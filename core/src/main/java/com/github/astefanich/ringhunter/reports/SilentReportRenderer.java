@@ -0,0 +1,48 @@
+package com.github.astefanich.ringhunter.reports;
+
+import java.util.List;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+
+/**
+ * Discards the report. Useful for benchmarks, where only the search should be timed.
+ * 
+ * @author AndrewStefanich
+ */
+public class SilentReportRenderer implements ReportRenderer {
+
+	@Override
+	public void beginHunt() {
+	}
+
+	@Override
+	public void encounter(MiddleEarthNode node) {
+	}
+
+	@Override
+	public void ringNear(MiddleEarthNode node) {
+	}
+
+	@Override
+	public void ringFound(MiddleEarthNode node) {
+	}
+
+	@Override
+	public void path(List<MiddleEarthNode> path) {
+	}
+
+	@Override
+	public void endHunt() {
+	}
+
+	/**
+	 * Nothing is ever written.
+	 * 
+	 * @return 0
+	 */
+	@Override
+	public long getLength() {
+		return 0;
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.github.astefanich.ringhunter.reports;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.nodes.NodeKind;
+
+/**
+ * Renders the plain text report shown by the driver. <br>
+ * Beings are "Met", Places are "Entered", and the Root is "Left". <br>
+ * On the path, Beings are prepended with "go see", Places with "visit the", and the Root with
+ * "Start at".
+ * 
+ * @author AndrewStefanich
+ */
+public class TextReportRenderer extends AbstractReportRenderer {
+
+	/** encounter line for each kind of node, with the name and description as arguments */
+	private static final Map<NodeKind, ReportTemplate> ENCOUNTERS = new EnumMap<>(NodeKind.class);
+
+	/** path prefix for each kind of node */
+	private static final Map<NodeKind, String> PATH_STEPS = new EnumMap<>(NodeKind.class);
+
+	static {
+		ENCOUNTERS.put(NodeKind.BEING, new ReportTemplate("Meeting %s (%s)\n"));
+		ENCOUNTERS.put(NodeKind.PLACE, new ReportTemplate("Entering (the) %s (%s)\n"));
+		ENCOUNTERS.put(NodeKind.ROOT, new ReportTemplate("Leaving %s (%s)\n"));
+		PATH_STEPS.put(NodeKind.BEING, "\nand then go see ");
+		PATH_STEPS.put(NodeKind.PLACE, "\nand then visit (the) ");
+		PATH_STEPS.put(NodeKind.ROOT, "\nStart at ");
+	}
+
+	/**
+	 * Creates a renderer which writes plain text to out.
+	 * 
+	 * @param out
+	 *            where to write
+	 */
+	public TextReportRenderer(Appendable out) {
+		super(out);
+	}
+
+	/**
+	 * Writes "Meeting", "Entering" or "Leaving" the node, based on its kind.
+	 * 
+	 * @param node
+	 *            the node
+	 */
+	@Override
+	public void encounter(MiddleEarthNode node) {
+		write(ENCOUNTERS.get(node.getKind()), node);
+	}
+
+	/**
+	 * Writes that the ring is near.
+	 * 
+	 * @param node
+	 *            the node adjacent to the ring
+	 */
+	@Override
+	public void ringNear(MiddleEarthNode node) {
+		write("The Ring is near; I can feel it\n");
+	}
+
+	/**
+	 * Writes that the ring was found.
+	 * 
+	 * @param node
+	 *            the node holding the ring
+	 */
+	@Override
+	public void ringFound(MiddleEarthNode node) {
+		write("WE FOUND THE ONE RING. MUHAHA!\n");
+	}
+
+	/**
+	 * Writes the path, one node per line.
+	 * 
+	 * @param path
+	 *            the nodes, root first
+	 */
+	@Override
+	public void path(List<MiddleEarthNode> path) {
+		write("...the path is...");
+		for (int i = 0; i < path.size(); i++) {
+			final MiddleEarthNode step = path.get(i);
+			write(PATH_STEPS.get(step.getKind()));
+			write(step.getName());
+		}
+	}
+
+}
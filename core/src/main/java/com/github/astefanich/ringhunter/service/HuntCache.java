@@ -0,0 +1,197 @@
+package com.github.astefanich.ringhunter.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.astefanich.ringhunter.cache.LruCache;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.nodes.StructuralHash;
+
+/**
+ * Remembers the results of recent hunts, keyed by a hunter name the caller supplies and the
+ * {@link StructuralHash} of the tree. A tree which looks the same as one hunted before (for
+ * example one generated again from the same seed) gets the earlier result back without a new
+ * hunt, or even a new hunter. The path is kept as the index of each step among its parent's children, and followed
+ * again through the tree being asked about, so the result refers to that tree's own nodes. <br>
+ * Only cache hunters which always search a given tree the same way; a result served from the
+ * cache keeps the elapsed time of the original hunt.
+ * 
+ * @author AndrewStefanich
+ * @see HuntService
+ */
+public class HuntCache {
+
+	/** a hunter's name and the hash of a tree */
+	private static final class Key {
+
+		/** name of the hunter */
+		private final String hunterName;
+
+		/** hash of the whole tree */
+		private final long treeHash;
+
+		/** number of nodes in the tree, which makes a colliding hash even less likely to match */
+		private final int treeSize;
+
+		/**
+		 * Creates a key.
+		 * 
+		 * @param hunterName
+		 *            name of the hunter
+		 * @param tree
+		 *            hashes of the tree
+		 */
+		Key(String hunterName, StructuralHash tree) {
+			this.hunterName = hunterName;
+			this.treeHash = tree.getRootHash();
+			this.treeSize = tree.size();
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(treeHash) * 31 + hunterName.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return treeHash == other.treeHash && treeSize == other.treeSize && hunterName.equals(other.hunterName);
+		}
+	}
+
+	/** a result, with its path stored as child indices */
+	private static final class Entry {
+
+		/** the original result */
+		private final HuntResult result;
+
+		/** index of each step of the path below the root, among its parent's children */
+		private final int[] steps;
+
+		/**
+		 * Creates an entry.
+		 * 
+		 * @param result
+		 *            the result
+		 * @param steps
+		 *            the path, as child indices
+		 */
+		Entry(HuntResult result, int[] steps) {
+			this.result = result;
+			this.steps = steps;
+		}
+	}
+
+	/** the results */
+	private final LruCache<Key, Entry> results;
+
+	/**
+	 * Creates an empty cache.
+	 * 
+	 * @param capacity
+	 *            the most results to keep
+	 */
+	public HuntCache(int capacity) {
+		results = new LruCache<>(capacity);
+	}
+
+	/**
+	 * Gets the result of an earlier hunt of a tree which looks the same, by the named hunter.
+	 * 
+	 * @param tree
+	 *            hashes of the tree to hunt
+	 * @param hunterName
+	 *            names the hunter, as it was named when the result was cached
+	 * @return the result, with its path through tree, or null if none is cached
+	 */
+	public HuntResult get(StructuralHash tree, String hunterName) {
+		final Entry cached = results.get(new Key(hunterName, tree));
+		if (cached == null) {
+			return null;
+		}
+		final HuntResult original = cached.result;
+		return new HuntResult(original.getHunterName(), original.getReport(), follow(tree.getRoot(), cached.steps),
+				original.getNodesVisited(), original.getElapsedNanos());
+	}
+
+	/**
+	 * Caches the result of a hunt.
+	 * 
+	 * @param tree
+	 *            hashes of the tree which was hunted
+	 * @param hunterName
+	 *            names the hunter, for later calls to {@link #get(StructuralHash, String)}
+	 * @param result
+	 *            the result, whose path runs through tree
+	 */
+	public void put(StructuralHash tree, String hunterName, HuntResult result) {
+		if (hunterName == null || result == null) {
+			throw new IllegalArgumentException("hunterName and result must not be null");
+		}
+		results.put(new Key(hunterName, tree), new Entry(result, stepsOf(result.getPath())));
+	}
+
+	/**
+	 * Converts a path into the index of each step among its parent's children.
+	 * 
+	 * @param path
+	 *            the path, root first
+	 * @return the indices, one fewer than the steps of the path
+	 */
+	private static int[] stepsOf(List<MiddleEarthNode> path) {
+		final int[] steps = new int[Math.max(0, path.size() - 1)];
+		for (int s = 0; s < steps.length; s++) {
+			final List<MiddleEarthNode> children = path.get(s).getChildren();
+			final MiddleEarthNode next = path.get(s + 1);
+			int i = 0;
+			while (children.get(i) != next) {  //by identity, since equal nodes may appear in different places
+				i++;
+			}
+			steps[s] = i;
+		}
+		return steps;
+	}
+
+	/**
+	 * Follows child indices down from a root.
+	 * 
+	 * @param root
+	 *            the root
+	 * @param steps
+	 *            the indices
+	 * @return the path, root first
+	 */
+	private static List<MiddleEarthNode> follow(MiddleEarthNode root, int[] steps) {
+		final List<MiddleEarthNode> path = new ArrayList<>(steps.length + 1);
+		MiddleEarthNode node = root;
+		path.add(node);
+		for (int step : steps) {
+			node = node.getChildren().get(step);
+			path.add(node);
+		}
+		return Collections.unmodifiableList(path);
+	}
+
+	/**
+	 * Gets the number of hunts answered from the cache.
+	 * 
+	 * @return the hit count
+	 */
+	public long getHits() {
+		return results.getHits();
+	}
+
+	/**
+	 * Gets the number of hunts which had to be run.
+	 * 
+	 * @return the miss count
+	 */
+	public long getMisses() {
+		return results.getMisses();
+	}
+
+}
@@ -0,0 +1,107 @@
+package com.github.astefanich.ringhunter.service;
+
+import java.util.List;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+
+/**
+ * The outcome of one hunt run by a {@link HuntService}.
+ * 
+ * @author AndrewStefanich
+ */
+public final class HuntResult {
+
+	/** name of the hunter */
+	private final String hunterName;
+
+	/** the hunter's report */
+	private final String report;
+
+	/** path from the root to the ring, root first */
+	private final List<MiddleEarthNode> path;
+
+	/** number of nodes the hunter encountered */
+	private final int nodesVisited;
+
+	/** how long the hunt took, in nanoseconds */
+	private final long elapsedNanos;
+
+	/**
+	 * Creates a result.
+	 * 
+	 * @param hunterName
+	 *            name of the hunter
+	 * @param report
+	 *            the hunter's report
+	 * @param path
+	 *            path from the root to the ring, root first
+	 * @param nodesVisited
+	 *            number of nodes the hunter encountered
+	 * @param elapsedNanos
+	 *            how long the hunt took
+	 */
+	HuntResult(String hunterName, String report, List<MiddleEarthNode> path, int nodesVisited,
+			long elapsedNanos) {
+		this.hunterName = hunterName;
+		this.report = report;
+		this.path = path;
+		this.nodesVisited = nodesVisited;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Gets the name of the hunter.
+	 * 
+	 * @return the name
+	 */
+	public String getHunterName() {
+		return hunterName;
+	}
+
+	/**
+	 * Gets the hunter's report.
+	 * 
+	 * @return the report
+	 */
+	public String getReport() {
+		return report;
+	}
+
+	/**
+	 * Gets the path from the root to the ring.
+	 * 
+	 * @return the frozen nodes, root first
+	 */
+	public List<MiddleEarthNode> getPath() {
+		return path;
+	}
+
+	/**
+	 * Gets the number of nodes the hunter encountered.
+	 * 
+	 * @return the visit count
+	 */
+	public int getNodesVisited() {
+		return nodesVisited;
+	}
+
+	/**
+	 * Gets how long the hunt took.
+	 * 
+	 * @return elapsed time in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * String representation of this result
+	 * 
+	 * @return hunter name, visits and time
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s visited %d nodes in %d us", hunterName, nodesVisited, elapsedNanos / 1000);
+	}
+
+}
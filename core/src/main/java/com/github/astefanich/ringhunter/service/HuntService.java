@@ -0,0 +1,224 @@
+package com.github.astefanich.ringhunter.service;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.github.astefanich.ringhunter.events.HuntEvent;
+import com.github.astefanich.ringhunter.hunters.AbstractRingHunter;
+import com.github.astefanich.ringhunter.nodes.TreeSnapshot;
+
+/**
+ * Runs independent hunts concurrently over shared {@link TreeSnapshot}s. Every hunt gets a fresh
+ * hunter from the supplier, so hunters never share state, and snapshots can't change, so any
+ * number of hunts can search the same tree at once. <br>
+ * Each hunt runs on its own virtual thread when the JVM supports them (JDK 21 and later), or on a
+ * pool with one thread per processor otherwise. At most maxInFlight hunts are queued or running;
+ * further submissions wait for a slot, which pushes back on callers instead of letting the queue
+ * grow without bound.
+ * 
+ * @author AndrewStefanich
+ * @see HuntResult
+ */
+public class HuntService implements AutoCloseable {
+
+	/** creates a hunter for each hunt */
+	private final Supplier<? extends AbstractRingHunter> hunters;
+
+	/** one permit per hunt which may be queued or running */
+	private final Semaphore slots;
+
+	/** runs the hunts */
+	private final ExecutorService executor;
+
+	/** results of earlier hunts, or null */
+	private final HuntCache cache;
+
+	/** names the hunters in the cache, or null */
+	private final String hunterName;
+
+	/**
+	 * Creates a service.
+	 * 
+	 * @param hunters
+	 *            creates a new hunter for each hunt, for example {@code DepthFirstHunter::new}
+	 * @param maxInFlight
+	 *            the most hunts which may be queued or running at once
+	 */
+	public HuntService(Supplier<? extends AbstractRingHunter> hunters, int maxInFlight) {
+		this(hunters, null, maxInFlight, null);
+	}
+
+	/**
+	 * Creates a service which answers hunts of trees it has seen before from a cache.
+	 * 
+	 * @param hunters
+	 *            creates a new hunter for each hunt, which must always search a given tree the
+	 *            same way
+	 * @param hunterName
+	 *            names the hunters in the cache, so a result can be found without creating one;
+	 *            services sharing a cache must only share a name if their hunters search alike
+	 * @param maxInFlight
+	 *            the most hunts which may be queued or running at once
+	 * @param cache
+	 *            results of earlier hunts, which may be shared with other services, or null
+	 */
+	public HuntService(Supplier<? extends AbstractRingHunter> hunters, String hunterName, int maxInFlight,
+			HuntCache cache) {
+		if (hunters == null) {
+			throw new IllegalArgumentException("hunters must not be null");
+		}
+		if (cache != null && hunterName == null) {
+			throw new IllegalArgumentException("hunterName must not be null with a cache");
+		}
+		if (maxInFlight < 1) {
+			throw new IllegalArgumentException("maxInFlight must be at least 1");
+		}
+		this.hunters = hunters;
+		this.slots = new Semaphore(maxInFlight);
+		this.executor = newExecutor();
+		this.cache = cache;
+		this.hunterName = hunterName;
+	}
+
+	/**
+	 * Creates a virtual thread per task executor if this JVM has one, otherwise a pool with one
+	 * thread per processor (hunts are CPU bound, so more platform threads would not help).
+	 * 
+	 * @return the executor
+	 */
+	private static ExecutorService newExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		}
+	}
+
+	/**
+	 * Submits a hunt, waiting for a free slot if maxInFlight hunts are already queued or running.
+	 * 
+	 * @param tree
+	 *            the tree to search
+	 * @return completes with the result of the hunt
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for a slot
+	 */
+	public CompletableFuture<HuntResult> submit(TreeSnapshot tree) throws InterruptedException {
+		slots.acquire();
+		return start(tree);
+	}
+
+	/**
+	 * Submits a hunt, waiting at most the given time for a free slot.
+	 * 
+	 * @param tree
+	 *            the tree to search
+	 * @param timeout
+	 *            the longest time to wait
+	 * @param unit
+	 *            unit of the timeout
+	 * @return completes with the result of the hunt, or fails with
+	 *         {@link RejectedExecutionException} if no slot came free in time
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for a slot
+	 */
+	public CompletableFuture<HuntResult> trySubmit(TreeSnapshot tree, long timeout, TimeUnit unit)
+			throws InterruptedException {
+		if (!slots.tryAcquire(timeout, unit)) {
+			final CompletableFuture<HuntResult> rejected = new CompletableFuture<>();
+			rejected.completeExceptionally(new RejectedExecutionException("too many hunts in flight"));
+			return rejected;
+		}
+		return start(tree);
+	}
+
+	/**
+	 * Gets the number of hunts which may still be submitted without waiting.
+	 * 
+	 * @return the free slots
+	 */
+	public int getAvailableSlots() {
+		return slots.availablePermits();
+	}
+
+	/**
+	 * Starts a hunt in a slot which has already been acquired. The slot is released when the hunt
+	 * completes, whether or not it succeeds.
+	 * 
+	 * @param tree
+	 *            the tree to search
+	 * @return completes with the result of the hunt
+	 */
+	private CompletableFuture<HuntResult> start(TreeSnapshot tree) {
+		final CompletableFuture<HuntResult> result;
+		try {
+			result = CompletableFuture.supplyAsync(() -> hunt(tree), executor);
+		} catch (RejectedExecutionException e) {
+			slots.release();
+			throw e;
+		}
+		result.whenComplete((r, e) -> slots.release());
+		return result;
+	}
+
+	/**
+	 * Runs one hunt with a fresh hunter, unless the cache already has its result. Emits a
+	 * {@link HuntEvent} either way, flagged if the result came from the cache.
+	 * 
+	 * @param tree
+	 *            the tree to search
+	 * @return the result
+	 */
+	private HuntResult hunt(TreeSnapshot tree) {
+		final HuntEvent event = new HuntEvent();
+		event.begin();
+		HuntResult result = cache == null ? null : cache.get(tree.getStructuralHash(), hunterName);
+		final boolean hit = result != null;
+		if (!hit) {
+			try (AbstractRingHunter hunter = hunters.get()) {
+				final long start = System.nanoTime();
+				hunter.startAt(tree.getRoot());
+				final long elapsed = System.nanoTime() - start;
+				result = new HuntResult(hunter.getName(), hunter.report(),
+						Collections.unmodifiableList(hunter.getPath()), hunter.getNodesVisited(), elapsed);
+			}
+			if (cache != null) {
+				cache.put(tree.getStructuralHash(), hunterName, result);
+			}
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.setTreeSize(tree.size());
+			event.setTreeDepth(tree.getDepth());
+			event.setHunter(result.getHunterName());
+			event.setNodesVisited(result.getNodesVisited());
+			event.setReportLength(result.getReport().length());
+			event.setCacheHit(hit);
+			event.commit();
+		}
+		return result;
+	}
+
+	/**
+	 * Stops accepting hunts, and waits for the ones in flight to finish.
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+		try {
+			while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+				//keep waiting; hunts always finish
+			}
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
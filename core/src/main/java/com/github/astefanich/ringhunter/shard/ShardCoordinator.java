@@ -0,0 +1,335 @@
+package com.github.astefanich.ringhunter.shard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.github.astefanich.ringhunter.hunters.HunterRegistry;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+
+/**
+ * Splits a tree by subtree across worker JVMs on this host, and hunts it there. Starting a
+ * coordinator plans the split with {@link ShardPlan}, starts one {@link ShardWorker} process per
+ * shard with this JVM's class path, and streams each shard its pieces over a loopback socket;
+ * after that the coordinator only keeps the path to each piece, not the pieces. <br>
+ * A hunt is either {@link Mode#DIRECTED}, sent only to the shard holding the piece in which the
+ * coordinator saw the ring while splitting, or {@link Mode#PARALLEL}, sent to every shard at once
+ * with no hint, so each hunts every piece it holds and reports not found for pieces without the
+ * ring. Either way, the path the shard finds inside its piece is joined onto the path from the
+ * root to that piece. A ring on the trunk, which no shard holds, is answered by the coordinator
+ * from the path it kept. Hunter names are checked against this JVM's {@link HunterRegistry}
+ * before a hunt is sent, since the workers run the same class path. <br>
+ * The tree is copied when the coordinator starts: moving the ring afterwards is not seen by the
+ * shards.
+ * 
+ * @author AndrewStefanich
+ * @see ShardWorker
+ */
+public final class ShardCoordinator implements Closeable {
+
+	/**
+	 * Where a hunt is sent.
+	 */
+	public enum Mode {
+
+		/** only to the shard whose pieces hold the ring */
+		DIRECTED,
+
+		/** to every shard at once */
+		PARALLEL
+	}
+
+	/** how long to wait for the workers to start and connect back */
+	private static final int CONNECT_TIMEOUT_MILLIS = 60_000;
+
+	/** how long to wait for a worker to exit when closing */
+	private static final long EXIT_TIMEOUT_SECONDS = 10;
+
+	/** the split, with the pieces themselves released once sent */
+	private final ShardPlan plan;
+
+	/** the worker processes, by shard */
+	private final Process[] workers;
+
+	/** the connection to each worker */
+	private final Socket[] sockets;
+
+	/** commands to each worker */
+	private final DataOutputStream[] outs;
+
+	/** replies from each worker */
+	private final DataInputStream[] ins;
+
+	/** number of nodes each worker loaded */
+	private final int[] shardSizes;
+
+	/** the hunters the workers can run */
+	private final HunterRegistry registry = HunterRegistry.load();
+
+	/**
+	 * Creates a coordinator with no workers yet.
+	 * 
+	 * @param plan
+	 *            the split
+	 */
+	private ShardCoordinator(ShardPlan plan) {
+		this.plan = plan;
+		final int shards = plan.getShards();
+		workers = new Process[shards];
+		sockets = new Socket[shards];
+		outs = new DataOutputStream[shards];
+		ins = new DataInputStream[shards];
+		shardSizes = new int[shards];
+	}
+
+	/**
+	 * Splits a tree across new worker JVMs.
+	 * 
+	 * @param root
+	 *            the root of the tree
+	 * @param shards
+	 *            number of workers
+	 * @return the coordinator, which should be closed to stop the workers
+	 * @throws IOException
+	 *             if the workers cannot be started or reached
+	 */
+	public static ShardCoordinator start(MiddleEarthNode root, int shards) throws IOException {
+		return start(root, shards, Collections.emptyList());
+	}
+
+	/**
+	 * Splits a tree across new worker JVMs.
+	 * 
+	 * @param root
+	 *            the root of the tree
+	 * @param shards
+	 *            number of workers
+	 * @param jvmOptions
+	 *            options for each worker JVM, such as its heap size
+	 * @return the coordinator, which should be closed to stop the workers
+	 * @throws IOException
+	 *             if the workers cannot be started or reached
+	 */
+	public static ShardCoordinator start(MiddleEarthNode root, int shards, List<String> jvmOptions)
+			throws IOException {
+		final ShardCoordinator coordinator = new ShardCoordinator(ShardPlan.of(root, shards));
+		try {
+			coordinator.connect(jvmOptions);
+			coordinator.load();
+		} catch (IOException | RuntimeException e) {
+			coordinator.close();
+			throw e;
+		}
+		return coordinator;
+	}
+
+	/**
+	 * Starts the workers, and waits for each to connect back.
+	 * 
+	 * @param jvmOptions
+	 *            options for each worker JVM
+	 * @throws IOException
+	 *             if a worker cannot be started, or does not connect in time
+	 */
+	private void connect(List<String> jvmOptions) throws IOException {
+		final int shards = plan.getShards();
+		try (ServerSocket server = new ServerSocket(0, shards, InetAddress.getLoopbackAddress())) {
+			server.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+			final String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+			for (int s = 0; s < shards; s++) {
+				final List<String> command = new ArrayList<>();
+				command.add(java);
+				command.addAll(jvmOptions);
+				command.add("-cp");
+				command.add(System.getProperty("java.class.path"));
+				command.add(ShardWorker.class.getName());
+				command.add(Integer.toString(server.getLocalPort()));
+				command.add(Integer.toString(s));
+				workers[s] = new ProcessBuilder(command).inheritIO().start();
+			}
+			for (int connected = 0; connected < shards; connected++) {
+				final Socket socket = server.accept();
+				socket.setTcpNoDelay(true);
+				final DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+				final int shard = in.readInt();
+				if (shard < 0 || shard >= shards || sockets[shard] != null) {
+					socket.close();
+					throw new IOException(String.format("unexpected worker for shard %d", shard));
+				}
+				sockets[shard] = socket;
+				ins[shard] = in;
+				outs[shard] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			}
+		}
+	}
+
+	/**
+	 * Streams every shard its pieces, then forgets them.
+	 * 
+	 * @throws IOException
+	 *             if a worker cannot be reached
+	 */
+	private void load() throws IOException {
+		final int shards = plan.getShards();
+		final int[] counts = new int[shards];
+		for (int p = 0; p < plan.getPieceCount(); p++) {
+			counts[plan.getShard(p)]++;
+		}
+		for (int s = 0; s < shards; s++) {
+			outs[s].writeByte(ShardWorker.LOAD);
+			outs[s].writeInt(counts[s]);
+			for (int p = 0; p < plan.getPieceCount(); p++) {
+				if (plan.getShard(p) == s) {
+					outs[s].writeInt(p);
+					SubtreeCodec.write(outs[s], plan.getPiece(p));
+				}
+			}
+			outs[s].flush();  //the worker reads this shard while the next one is written
+		}
+		for (int s = 0; s < shards; s++) {
+			shardSizes[s] = ins[s].readInt();
+		}
+		plan.release();
+	}
+
+	/**
+	 * Hunts the tree.
+	 * 
+	 * @param hunterName
+	 *            name of a hunter registered with {@link com.github.astefanich.ringhunter.hunters.HunterRegistry}
+	 * @param mode
+	 *            where to send the hunt
+	 * @return the result
+	 * @throws IOException
+	 *             if a worker cannot be reached
+	 * @throws IllegalArgumentException
+	 *             if no such hunter is registered
+	 */
+	public synchronized ShardResult hunt(String hunterName, Mode mode) throws IOException {
+		registry.supplierOf(hunterName);  //throws here rather than in every worker
+		final long start = System.nanoTime();
+		final int ringPiece = plan.getRingPiece();
+		final int[] trunkRing = plan.getTrunkRingSteps();
+		final int shards = plan.getShards();
+		final boolean[] asked = new boolean[shards];
+		if (mode == Mode.DIRECTED) {
+			if (trunkRing != null) {
+				return new ShardResult(true, -1, trunkRing, 0, Collections.emptyList(), System.nanoTime() - start);
+			}
+			if (ringPiece < 0) {
+				return new ShardResult(false, -1, new int[0], 0, Collections.emptyList(), System.nanoTime() - start);
+			}
+			asked[plan.getShard(ringPiece)] = true;
+		} else {
+			Arrays.fill(asked, true);
+		}
+		for (int s = 0; s < shards; s++) {
+			if (asked[s]) {
+				outs[s].writeByte(ShardWorker.HUNT);
+				outs[s].writeUTF(hunterName);
+				outs[s].writeInt(mode == Mode.DIRECTED ? ringPiece : -1);
+				outs[s].flush();
+			}
+		}
+		long visited = 0;
+		int foundShard = -1;
+		int[] steps = new int[0];
+		final List<String> failures = new ArrayList<>();
+		for (int s = 0; s < shards; s++) {
+			if (!asked[s]) {
+				continue;
+			}
+			final boolean found = ins[s].readBoolean();
+			final int piece = ins[s].readInt();
+			visited += ins[s].readLong();
+			final int[] inner = new int[ins[s].readInt()];
+			for (int i = 0; i < inner.length; i++) {
+				inner[i] = ins[s].readInt();
+			}
+			final String error = ins[s].readUTF();
+			if (!error.isEmpty()) {
+				failures.add(String.format("shard %d: %s", s, error));
+			}
+			if (found && foundShard < 0) {
+				foundShard = s;
+				final int[] outer = plan.getSteps(piece);
+				steps = Arrays.copyOf(outer, outer.length + inner.length);
+				System.arraycopy(inner, 0, steps, outer.length, inner.length);
+			}
+		}
+		if (foundShard < 0 && trunkRing != null) {
+			return new ShardResult(true, -1, trunkRing, visited, failures, System.nanoTime() - start);
+		}
+		return new ShardResult(foundShard >= 0, foundShard, steps, visited, failures, System.nanoTime() - start);
+	}
+
+	/**
+	 * Gets the number of shards.
+	 * 
+	 * @return the shard count
+	 */
+	public int getShards() {
+		return plan.getShards();
+	}
+
+	/**
+	 * Gets the number of pieces the tree was cut into.
+	 * 
+	 * @return the piece count
+	 */
+	public int getPieceCount() {
+		return plan.getPieceCount();
+	}
+
+	/**
+	 * Gets the number of nodes each shard holds.
+	 * 
+	 * @return node count per shard
+	 */
+	public int[] getShardSizes() {
+		return shardSizes.clone();
+	}
+
+	/**
+	 * Tells every worker to quit, and waits for them to exit.
+	 */
+	@Override
+	public synchronized void close() {
+		for (int s = 0; s < workers.length; s++) {
+			if (outs[s] != null) {
+				try {
+					outs[s].writeByte(ShardWorker.QUIT);
+					outs[s].flush();
+					sockets[s].close();
+				} catch (IOException e) {
+					//the worker is already gone
+				}
+				outs[s] = null;
+			}
+			if (workers[s] != null) {
+				try {
+					if (!workers[s].waitFor(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+						workers[s].destroyForcibly();
+					}
+				} catch (InterruptedException e) {
+					workers[s].destroyForcibly();
+					Thread.currentThread().interrupt();
+				}
+				workers[s] = null;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,266 @@
+package com.github.astefanich.ringhunter.shard;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+
+/**
+ * Decides which subtrees of a tree go to which shard. The tree is cut into pieces by repeatedly
+ * replacing the largest piece with its children, starting from the whole tree, until there are
+ * {@value #PIECES_PER_SHARD} pieces per shard or the largest piece is small enough; the nodes
+ * that were split off stay with the coordinator as the trunk. Pieces are then dealt out largest
+ * first, each to the shard holding the fewest nodes so far. <br>
+ * Each piece is identified by its path from the root, as child indices, so the coordinator can
+ * join a path found inside a piece onto the trunk without keeping the piece itself. A ring on the
+ * trunk is in no piece; the plan keeps its path instead.
+ * 
+ * @author AndrewStefanich
+ */
+final class ShardPlan {
+
+	/** pieces to aim for per shard, so the largest-first deal can even out the shards */
+	static final int PIECES_PER_SHARD = 4;
+
+	/** the root of each piece */
+	private final MiddleEarthNode[] pieces;
+
+	/** path from the root of the tree to the root of each piece, as child indices */
+	private final int[][] pieceSteps;
+
+	/** shard of each piece */
+	private final int[] pieceShards;
+
+	/** number of shards */
+	private final int shards;
+
+	/** the piece holding the ring, or -1 if no piece holds it */
+	private final int ringPiece;
+
+	/** path from the root to the ring if it is on the trunk, as child indices, otherwise null */
+	private final int[] trunkRingSteps;
+
+	/**
+	 * Plans the split of a tree.
+	 * 
+	 * @param root
+	 *            the root of the tree
+	 * @param shards
+	 *            number of shards
+	 */
+	private ShardPlan(MiddleEarthNode root, int shards) {
+		this.shards = shards;
+
+		//preorder, with parents, child positions and subtree sizes
+		MiddleEarthNode[] order = new MiddleEarthNode[64];
+		int[] parents = new int[64];
+		int[] positions = new int[64];
+		MiddleEarthNode[] stack = new MiddleEarthNode[64];
+		int[] stackParents = new int[64];
+		int[] stackPositions = new int[64];
+		int count = 0;
+		int top = 0;
+		int ring = -1;
+		stack[top] = root;
+		stackParents[top++] = -1;
+		while (top > 0) {
+			final MiddleEarthNode node = stack[--top];
+			stack[top] = null;
+			if (count == order.length) {
+				order = Arrays.copyOf(order, count * 2);
+				parents = Arrays.copyOf(parents, count * 2);
+				positions = Arrays.copyOf(positions, count * 2);
+			}
+			order[count] = node;
+			parents[count] = stackParents[top];
+			positions[count] = stackPositions[top];
+			if (node.hasRing()) {
+				ring = count;
+			}
+			final List<MiddleEarthNode> children = node.getChildren();
+			if (top + children.size() > stack.length) {
+				stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + children.size()));
+				stackParents = Arrays.copyOf(stackParents, stack.length);
+				stackPositions = Arrays.copyOf(stackPositions, stack.length);
+			}
+			for (int i = children.size() - 1; i >= 0; i--) {  //first child on top, so it comes next
+				stack[top] = children.get(i);
+				stackParents[top] = count;
+				stackPositions[top++] = i;
+			}
+			count++;
+		}
+		final int[] sizes = new int[count];
+		for (int i = count - 1; i >= 0; i--) {
+			sizes[i]++;
+			if (parents[i] >= 0) {
+				sizes[parents[i]] += sizes[i];
+			}
+		}
+
+		//split the largest piece until there are enough, or they are all small
+		final int wanted = shards * PIECES_PER_SHARD;
+		final int smallEnough = Math.max(1, count / wanted);
+		final PriorityQueue<Integer> queue = new PriorityQueue<>(wanted, (a, b) -> Integer.compare(sizes[b], sizes[a]));
+		queue.add(0);
+		while (queue.size() < wanted && sizes[queue.peek()] > smallEnough) {
+			final int split = queue.poll();
+			final int fanOut = order[split].getChildren().size();
+			int child = split + 1;  //in preorder, each sibling follows the last one's subtree
+			for (int k = 0; k < fanOut; k++) {
+				queue.add(child);
+				child += sizes[child];
+			}
+		}
+
+		//deal the pieces out, largest first, to the emptiest shard
+		final Integer[] roots = queue.toArray(new Integer[0]);
+		Arrays.sort(roots, (a, b) -> Integer.compare(sizes[b], sizes[a]));
+		pieces = new MiddleEarthNode[roots.length];
+		pieceSteps = new int[roots.length][];
+		pieceShards = new int[roots.length];
+		final long[] loads = new long[shards];
+		final int[] pieceOf = new int[count];
+		Arrays.fill(pieceOf, -1);
+		for (int p = 0; p < roots.length; p++) {
+			final int node = roots[p];
+			pieces[p] = order[node];
+			pieceOf[node] = p;
+			int emptiest = 0;
+			for (int s = 1; s < shards; s++) {
+				if (loads[s] < loads[emptiest]) {
+					emptiest = s;
+				}
+			}
+			pieceShards[p] = emptiest;
+			loads[emptiest] += sizes[node];
+			pieceSteps[p] = stepsTo(node, parents, positions);
+		}
+		int piece = -1;
+		for (int i = ring; i >= 0 && piece < 0; i = parents[i]) {
+			piece = pieceOf[i];
+		}
+		ringPiece = piece;
+		trunkRingSteps = ring >= 0 && piece < 0 ? stepsTo(ring, parents, positions) : null;
+	}
+
+	/**
+	 * Gets the path from the root to a node.
+	 * 
+	 * @param node
+	 *            preorder index of the node
+	 * @param parents
+	 *            preorder index of each node's parent, -1 for the root
+	 * @param positions
+	 *            index of each node among its parent's children
+	 * @return child indices, empty for the root
+	 */
+	private static int[] stepsTo(int node, int[] parents, int[] positions) {
+		int depth = 0;
+		for (int i = node; parents[i] >= 0; i = parents[i]) {
+			depth++;
+		}
+		final int[] steps = new int[depth];
+		for (int i = node; parents[i] >= 0; i = parents[i]) {
+			steps[--depth] = positions[i];
+		}
+		return steps;
+	}
+
+	/**
+	 * Plans the split of a tree.
+	 * 
+	 * @param root
+	 *            the root of the tree
+	 * @param shards
+	 *            number of shards
+	 * @return the plan
+	 */
+	static ShardPlan of(MiddleEarthNode root, int shards) {
+		if (root == null) {
+			throw new IllegalArgumentException("root must not be null");
+		}
+		if (shards < 1) {
+			throw new IllegalArgumentException("shards must be at least 1");
+		}
+		return new ShardPlan(root, shards);
+	}
+
+	/**
+	 * Gets the number of pieces.
+	 * 
+	 * @return the piece count
+	 */
+	int getPieceCount() {
+		return pieces.length;
+	}
+
+	/**
+	 * Gets the root of a piece.
+	 * 
+	 * @param piece
+	 *            the piece
+	 * @return the root
+	 */
+	MiddleEarthNode getPiece(int piece) {
+		return pieces[piece];
+	}
+
+	/**
+	 * Gets the path from the root of the tree to the root of a piece.
+	 * 
+	 * @param piece
+	 *            the piece
+	 * @return child indices, empty if the piece is the whole tree
+	 */
+	int[] getSteps(int piece) {
+		return pieceSteps[piece];
+	}
+
+	/**
+	 * Gets the shard a piece belongs to.
+	 * 
+	 * @param piece
+	 *            the piece
+	 * @return the shard
+	 */
+	int getShard(int piece) {
+		return pieceShards[piece];
+	}
+
+	/**
+	 * Gets the number of shards.
+	 * 
+	 * @return the shard count
+	 */
+	int getShards() {
+		return shards;
+	}
+
+	/**
+	 * Gets the piece holding the ring.
+	 * 
+	 * @return the piece, or -1 if the tree has no ring or it is on the trunk
+	 */
+	int getRingPiece() {
+		return ringPiece;
+	}
+
+	/**
+	 * Gets the path to the ring, if it is on the trunk rather than in a piece.
+	 * 
+	 * @return child indices from the root, or null if the ring is in a piece or the tree has none
+	 */
+	int[] getTrunkRingSteps() {
+		return trunkRingSteps == null ? null : trunkRingSteps.clone();
+	}
+
+	/**
+	 * Forgets the pieces' nodes, once they have been sent to their shards.
+	 */
+	void release() {
+		Arrays.fill(pieces, null);
+	}
+
+}
@@ -0,0 +1,139 @@
+package com.github.astefanich.ringhunter.shard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+
+/**
+ * The outcome of a sharded hunt. The path is kept as the index of each step among its parent's
+ * children, from the root of the whole tree, since its nodes live in other JVMs; follow it
+ * through a copy of the tree with {@link #getPath(MiddleEarthNode)}.
+ * 
+ * @author AndrewStefanich
+ * @see ShardCoordinator
+ */
+public final class ShardResult {
+
+	/** true if the ring was found */
+	private final boolean found;
+
+	/** shard which found the ring, or -1 if none did */
+	private final int shard;
+
+	/** path from the root to the ring, as child indices */
+	private final int[] steps;
+
+	/** nodes visited by every shard which hunted */
+	private final long nodesVisited;
+
+	/** why the hunt failed on each shard where it did */
+	private final List<String> failures;
+
+	/** wall-clock time of the hunt, including the round trips */
+	private final long elapsedNanos;
+
+	/**
+	 * Creates a result.
+	 * 
+	 * @param found
+	 *            true if the ring was found
+	 * @param shard
+	 *            shard which found the ring, or -1 if none did
+	 * @param steps
+	 *            path from the root to the ring, as child indices
+	 * @param nodesVisited
+	 *            nodes visited by every shard which hunted
+	 * @param failures
+	 *            why the hunt failed on each shard where it did
+	 * @param elapsedNanos
+	 *            wall-clock time of the hunt
+	 */
+	ShardResult(boolean found, int shard, int[] steps, long nodesVisited, List<String> failures, long elapsedNanos) {
+		this.found = found;
+		this.shard = shard;
+		this.steps = steps;
+		this.nodesVisited = nodesVisited;
+		this.failures = Collections.unmodifiableList(new ArrayList<>(failures));
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Determines if the ring was found.
+	 * 
+	 * @return true if it was
+	 */
+	public boolean isFound() {
+		return found;
+	}
+
+	/**
+	 * Gets the shard which found the ring.
+	 * 
+	 * @return the shard, or -1 if the ring was not found or was on the coordinator's trunk
+	 */
+	public int getShard() {
+		return shard;
+	}
+
+	/**
+	 * Gets the path from the root to the ring.
+	 * 
+	 * @return the index of each step among its parent's children, empty if the ring was not found
+	 */
+	public int[] getSteps() {
+		return steps.clone();
+	}
+
+	/**
+	 * Follows the path through a tree, which should look the same as the one that was sharded.
+	 * 
+	 * @param root
+	 *            the root of the tree
+	 * @return the nodes of the path, root first, or an empty list if the ring was not found
+	 */
+	public List<MiddleEarthNode> getPath(MiddleEarthNode root) {
+		if (!found) {
+			return Collections.emptyList();
+		}
+		final List<MiddleEarthNode> path = new ArrayList<>(steps.length + 1);
+		MiddleEarthNode node = root;
+		path.add(node);
+		for (int step : steps) {
+			node = node.getChildren().get(step);
+			path.add(node);
+		}
+		return Collections.unmodifiableList(path);
+	}
+
+	/**
+	 * Gets the number of nodes visited by every shard which hunted.
+	 * 
+	 * @return the visit count
+	 */
+	public long getNodesVisited() {
+		return nodesVisited;
+	}
+
+	/**
+	 * Gets why the hunt failed on the shards where it did. A shard whose hunter failed counts as
+	 * not having found the ring, so a result can be found with failures, or not found because of
+	 * them.
+	 * 
+	 * @return one message per failed shard, naming it; empty if every shard hunted
+	 */
+	public List<String> getFailures() {
+		return failures;
+	}
+
+	/**
+	 * Gets the wall-clock time of the hunt, including the round trips to the shards.
+	 * 
+	 * @return the time, in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+}
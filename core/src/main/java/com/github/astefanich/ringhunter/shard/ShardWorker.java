@@ -0,0 +1,221 @@
+package com.github.astefanich.ringhunter.shard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.astefanich.ringhunter.hunters.AbstractRingHunter;
+import com.github.astefanich.ringhunter.hunters.HunterRegistry;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.reports.SilentReportRenderer;
+
+/**
+ * One shard: a JVM started by {@link ShardCoordinator}, which holds some pieces of a tree and
+ * hunts them when asked. The worker connects back to the coordinator over the loopback
+ * interface, says which shard it is, and then answers commands until told to quit or the
+ * connection closes. <br>
+ * Commands and replies ({@link java.io.DataOutput} encoding):
+ * <ul>
+ * <li>{@code LOAD}: piece count, then for each piece its id and a {@link SubtreeCodec} subtree.
+ * Reply: number of nodes loaded.</li>
+ * <li>{@code HUNT}: hunter name, then a piece id, or -1 for every piece this shard holds. The
+ * pieces are hunted in the order they were loaded, until one of them yields the ring. Reply:
+ * found flag, piece id (-1 if not found), nodes visited, the path from the piece's root to the
+ * ring as a count and child indices, then an error message, empty unless the hunter failed. A
+ * failed hunt is replied to as not found, and the worker goes on serving.</li>
+ * <li>{@code QUIT}: no reply.</li>
+ * </ul>
+ * Usage: {@code ShardWorker <coordinator port> <shard>}
+ * 
+ * @author AndrewStefanich
+ */
+public final class ShardWorker {
+
+	/** command which sends pieces to a worker */
+	static final int LOAD = 1;
+
+	/** command which hunts a worker's pieces */
+	static final int HUNT = 2;
+
+	/** command which ends a worker */
+	static final int QUIT = 3;
+
+	/** the pieces this shard holds, by id */
+	private final Map<Integer, MiddleEarthNode> pieces = new LinkedHashMap<>();
+
+	/** the hunters this JVM can run */
+	private final HunterRegistry registry = HunterRegistry.load();
+
+	/**
+	 * Not instantiable outside this class.
+	 */
+	private ShardWorker() {
+	}
+
+	/**
+	 * Connects to the coordinator and serves it.
+	 * 
+	 * @param args
+	 *            the coordinator's port, and this worker's shard number
+	 * @throws IOException
+	 *             if the connection fails
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			throw new IllegalArgumentException("usage: ShardWorker <coordinator port> <shard>");
+		}
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0]))) {
+			socket.setTcpNoDelay(true);
+			final DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			out.writeInt(Integer.parseInt(args[1]));
+			out.flush();
+			new ShardWorker().serve(in, out);
+		}
+	}
+
+	/**
+	 * Answers commands until told to quit.
+	 * 
+	 * @param in
+	 *            commands from the coordinator
+	 * @param out
+	 *            replies to the coordinator
+	 * @throws IOException
+	 *             if the connection fails
+	 */
+	private void serve(DataInputStream in, DataOutputStream out) throws IOException {
+		while (true) {
+			final int command;
+			try {
+				command = in.readByte();
+			} catch (EOFException e) {
+				return;  //the coordinator went away
+			}
+			switch (command) {
+			case LOAD:
+				out.writeInt(load(in));
+				break;
+			case HUNT:
+				hunt(in.readUTF(), in.readInt(), out);
+				break;
+			case QUIT:
+				return;
+			default:
+				throw new IllegalStateException(String.format("unknown command %d", command));
+			}
+			out.flush();
+		}
+	}
+
+	/**
+	 * Reads pieces.
+	 * 
+	 * @param in
+	 *            the stream
+	 * @return the number of nodes read
+	 * @throws IOException
+	 *             if the stream cannot be read
+	 */
+	private int load(DataInputStream in) throws IOException {
+		int nodes = 0;
+		final int count = in.readInt();
+		for (int p = 0; p < count; p++) {
+			final int id = in.readInt();
+			final MiddleEarthNode piece = SubtreeCodec.read(in);
+			pieces.put(id, piece);
+			final List<MiddleEarthNode> stack = new ArrayList<>();  //count the new piece's nodes
+			stack.add(piece);
+			while (!stack.isEmpty()) {
+				final MiddleEarthNode node = stack.remove(stack.size() - 1);
+				stack.addAll(node.getChildren());
+				nodes++;
+			}
+		}
+		return nodes;
+	}
+
+	/**
+	 * Hunts the asked-for pieces, and replies with the first path found, or with the error which
+	 * ended the hunt.
+	 * 
+	 * @param hunterName
+	 *            the hunter to use
+	 * @param piece
+	 *            the piece to hunt, or -1 for every piece
+	 * @param out
+	 *            the reply stream
+	 * @throws IOException
+	 *             if the reply cannot be written
+	 */
+	private void hunt(String hunterName, int piece, DataOutputStream out) throws IOException {
+		int foundPiece = -1;
+		int[] steps = new int[0];
+		long visited = 0;
+		String error = "";
+		try (AbstractRingHunter hunter = registry.create(hunterName)) {
+			hunter.setRenderer(new SilentReportRenderer());
+			try {
+				for (Map.Entry<Integer, MiddleEarthNode> entry : pieces.entrySet()) {
+					final int id = entry.getKey();
+					if (piece >= 0 && id != piece) {
+						continue;
+					}
+					hunter.startAt(entry.getValue());
+					final List<MiddleEarthNode> path = hunter.getPath();
+					if (!path.isEmpty() && path.get(path.size() - 1).hasRing()) {
+						steps = new int[path.size() - 1];
+						for (int s = 0; s < steps.length; s++) {
+							steps[s] = indexOf(path.get(s).getChildren(), path.get(s + 1));
+						}
+						foundPiece = id;
+						break;
+					}
+				}
+			} catch (RuntimeException e) {  //reply as not found, so the coordinator and the other shards carry on
+				foundPiece = -1;
+				steps = new int[0];
+				error = String.valueOf(e);
+			}
+			visited = hunter.getNodesVisited();
+		} catch (RuntimeException e) {  //the hunter could not be created or closed
+			error = String.valueOf(e);
+		}
+		out.writeBoolean(foundPiece >= 0);
+		out.writeInt(foundPiece);
+		out.writeLong(visited);
+		out.writeInt(steps.length);
+		for (int step : steps) {
+			out.writeInt(step);
+		}
+		out.writeUTF(error);
+	}
+
+	/**
+	 * Finds a child among its siblings.
+	 * 
+	 * @param children
+	 *            the siblings
+	 * @param child
+	 *            the child
+	 * @return its index
+	 */
+	private static int indexOf(List<MiddleEarthNode> children, MiddleEarthNode child) {
+		for (int i = 0; i < children.size(); i++) {
+			if (children.get(i) == child) {  //by identity, since equal nodes may appear in different places
+				return i;
+			}
+		}
+		throw new IllegalStateException(String.format("%s is not a child of its parent", child));
+	}
+
+}
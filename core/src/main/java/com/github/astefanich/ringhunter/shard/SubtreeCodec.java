@@ -0,0 +1,178 @@
+package com.github.astefanich.ringhunter.shard;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.astefanich.ringhunter.nodes.Being;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.nodes.NodeKind;
+import com.github.astefanich.ringhunter.nodes.Place;
+import com.github.astefanich.ringhunter.nodes.Root;
+
+/**
+ * Writes a subtree to a stream and reads it back. Nodes are written in preorder, one record each:
+ * kind (byte), name and description (a presence byte, then UTF), distance from parent (double),
+ * ring flags (byte: 2 if it holds the ring, 1 if it is adjacent) and number of children (int).
+ * The child counts are enough to rebuild the shape, so nothing marks the end of a subtree. <br>
+ * Both directions use array-backed stacks rather than recursion, so subtrees of any depth can be
+ * sent.
+ * 
+ * @author AndrewStefanich
+ */
+public final class SubtreeCodec {
+
+	/** ring flag of a node which holds the ring */
+	private static final int HAS_RING = 2;
+
+	/** ring flag of a node adjacent to the ring */
+	private static final int ADJACENT = 1;
+
+	/**
+	 * Not instantiable.
+	 */
+	private SubtreeCodec() {
+	}
+
+	/**
+	 * Writes the subtree below a node.
+	 * 
+	 * @param out
+	 *            the stream
+	 * @param root
+	 *            the root of the subtree
+	 * @return the number of nodes written
+	 * @throws IOException
+	 *             if the stream cannot be written
+	 */
+	public static int write(DataOutput out, MiddleEarthNode root) throws IOException {
+		MiddleEarthNode[] stack = new MiddleEarthNode[64];
+		int top = 0;
+		int count = 0;
+		stack[top++] = root;
+		while (top > 0) {
+			final MiddleEarthNode node = stack[--top];
+			stack[top] = null;
+			final List<MiddleEarthNode> children = node.getChildren();
+			out.writeByte(node.getKind().ordinal());
+			writeString(out, node.getName());
+			writeString(out, node.getDescription());
+			out.writeDouble(node.getDistanceFromParent());
+			out.writeByte((node.hasRing() ? HAS_RING : 0) | (node.isAdjacentToRing() ? ADJACENT : 0));
+			out.writeInt(children.size());
+			count++;
+			if (top + children.size() > stack.length) {
+				stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + children.size()));
+			}
+			for (int i = children.size() - 1; i >= 0; i--) {  //first child on top, so it is written next
+				stack[top++] = children.get(i);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Reads a subtree written by {@link #write(DataOutput, MiddleEarthNode)}. The root of the copy
+	 * has no parent.
+	 * 
+	 * @param in
+	 *            the stream
+	 * @return the root of the copy
+	 * @throws IOException
+	 *             if the stream cannot be read, or does not hold a subtree
+	 */
+	public static MiddleEarthNode read(DataInput in) throws IOException {
+		MiddleEarthNode[] parents = new MiddleEarthNode[64];  //nodes still waiting for children
+		int[] pending = new int[parents.length];  //how many children each one is still waiting for
+		int top = 0;
+		MiddleEarthNode root = null;
+		do {
+			final MiddleEarthNode parent = top == 0 ? null : parents[top - 1];
+			final MiddleEarthNode node = readNode(in, parent);
+			if (root == null) {
+				root = node;
+			}
+			if (top > 0 && --pending[top - 1] == 0) {
+				parents[--top] = null;
+			}
+			final int children = in.readInt();
+			if (children < 0) {
+				throw new IOException(String.format("%s has %d children", node, children));
+			}
+			if (children > 0) {
+				if (top == parents.length) {
+					parents = Arrays.copyOf(parents, top * 2);
+					pending = Arrays.copyOf(pending, top * 2);
+				}
+				parents[top] = node;
+				pending[top++] = children;
+			}
+		} while (top > 0);
+		return root;
+	}
+
+	/**
+	 * Reads one node record, up to its child count.
+	 * 
+	 * @param in
+	 *            the stream
+	 * @param parent
+	 *            the node's parent, or null for the root of the subtree
+	 * @return the node, attached to its parent
+	 * @throws IOException
+	 *             if the stream cannot be read, or the kind is unknown
+	 */
+	private static MiddleEarthNode readNode(DataInput in, MiddleEarthNode parent) throws IOException {
+		final int kind = in.readByte();
+		final String name = readString(in);
+		final String description = readString(in);
+		final MiddleEarthNode node;
+		if (kind == NodeKind.ROOT.ordinal() && parent == null) {
+			node = new Root(name, description);
+		} else if (kind == NodeKind.BEING.ordinal()) {
+			node = new Being(parent, name, description);
+		} else if (kind == NodeKind.PLACE.ordinal()) {
+			node = new Place(parent, name, description);
+		} else {
+			throw new IOException(String.format("unexpected node kind %d", kind));
+		}
+		node.setDistanceFromParent(in.readDouble());
+		final int flags = in.readByte();
+		node.setHasRing((flags & HAS_RING) != 0);
+		node.setAdjacentToRing((flags & ADJACENT) != 0);
+		return node;
+	}
+
+	/**
+	 * Writes a string which may be null.
+	 * 
+	 * @param out
+	 *            the stream
+	 * @param s
+	 *            the string
+	 * @throws IOException
+	 *             if the stream cannot be written
+	 */
+	private static void writeString(DataOutput out, String s) throws IOException {
+		out.writeBoolean(s != null);
+		if (s != null) {
+			out.writeUTF(s);
+		}
+	}
+
+	/**
+	 * Reads a string written by {@link #writeString(DataOutput, String)}.
+	 * 
+	 * @param in
+	 *            the stream
+	 * @return the string, or null
+	 * @throws IOException
+	 *             if the stream cannot be read
+	 */
+	private static String readString(DataInput in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.github.astefanich.ringhunter.trace;
+
+/**
+ * The kinds of event a hunter records in a trace. The ordinal of each constant is written to the
+ * trace, so new kinds must only be added at the end.
+ * 
+ * @author AndrewStefanich
+ * @see TraceRecorder
+ */
+public enum TraceEvent {
+
+	/** the hunter encountered a node */
+	VISIT,
+
+	/** the hunter put a node on its stack or frontier */
+	PUSH,
+
+	/** the hunter took a node off its stack or frontier */
+	POP,
+
+	/** the hunter found the ring */
+	FOUND;
+
+	/** the constants, indexed by ordinal, so decoding does not copy {@link #values()} */
+	private static final TraceEvent[] BY_CODE = values();
+
+	/**
+	 * Gets the kind of event written to a trace as the given code.
+	 * 
+	 * @param code
+	 *            the ordinal read from the trace
+	 * @return the kind of event
+	 */
+	static TraceEvent ofCode(int code) {
+		if (code < 0 || code >= BY_CODE.length) {
+			throw new IllegalArgumentException(String.format("unknown trace event %d", code));
+		}
+		return BY_CODE[code];
+	}
+
+}
@@ -0,0 +1,201 @@
+package com.github.astefanich.ringhunter.trace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a trace written by a {@link TraceRecorder}. The reader is a cursor over the records:
+ * {@link #seek(int)} moves to any step in constant time, {@link #next()} advances to the
+ * following event, and the getters read the fields of the current event straight from the
+ * buffer, so replaying a trace allocates nothing. Trace files are memory-mapped, so only the
+ * pages which are read are loaded.
+ * 
+ * @author AndrewStefanich
+ */
+public final class TraceReader {
+
+	/** holds the header and the records */
+	private final ByteBuffer buffer;
+
+	/** number of records */
+	private final int count;
+
+	/** number of events which did not fit when recording */
+	private final long dropped;
+
+	/** wall-clock time recording started */
+	private final long startMillis;
+
+	/** index of the next event */
+	private int position;
+
+	/** byte offset of the current event, or -1 if there is none */
+	private int current = -1;
+
+	/**
+	 * Creates a reader over a trace.
+	 * 
+	 * @param buffer
+	 *            the trace, starting with its header
+	 */
+	TraceReader(ByteBuffer buffer) {
+		this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+		if (buffer.capacity() < TraceRecorder.HEADER_BYTES || buffer.getInt(0) != TraceRecorder.MAGIC) {
+			throw new IllegalArgumentException("not a hunt trace");
+		}
+		if (buffer.getInt(4) != TraceRecorder.VERSION) {
+			throw new IllegalArgumentException(String.format("unsupported trace version %d", buffer.getInt(4)));
+		}
+		final long records = buffer.getLong(TraceRecorder.COUNT_OFFSET);
+		if (records < 0 || TraceRecorder.HEADER_BYTES + records * TraceRecorder.RECORD_BYTES > buffer.capacity()) {
+			throw new IllegalArgumentException("trace is truncated");
+		}
+		this.count = (int) records;
+		this.dropped = buffer.getLong(TraceRecorder.DROPPED_OFFSET);
+		this.startMillis = buffer.getLong(TraceRecorder.START_OFFSET);
+	}
+
+	/**
+	 * Opens a trace file, which must have been flushed or closed by its recorder.
+	 * 
+	 * @param file
+	 *            the file
+	 * @return the reader
+	 * @throws IOException
+	 *             if the file cannot be mapped
+	 */
+	public static TraceReader open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return new TraceReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Gets the number of events in the trace.
+	 * 
+	 * @return the event count
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Gets the number of events which did not fit in the trace when it was recorded.
+	 * 
+	 * @return the dropped count
+	 */
+	public long getDropped() {
+		return dropped;
+	}
+
+	/**
+	 * Gets the wall-clock time recording started.
+	 * 
+	 * @return milliseconds since the epoch
+	 */
+	public long getStartMillis() {
+		return startMillis;
+	}
+
+	/**
+	 * Moves the cursor, so the next call to {@link #next()} reads the given step.
+	 * 
+	 * @param step
+	 *            index of the event, from 0 to {@link #size()}
+	 */
+	public void seek(int step) {
+		if (step < 0 || step > count) {
+			throw new IllegalArgumentException(String.format("step must be between 0 and %d, was %d", count, step));
+		}
+		position = step;
+		current = -1;
+	}
+
+	/**
+	 * Gets the index of the event the next call to {@link #next()} reads.
+	 * 
+	 * @return the position
+	 */
+	public int getPosition() {
+		return position;
+	}
+
+	/**
+	 * Advances to the next event.
+	 * 
+	 * @return false if there are no more events
+	 */
+	public boolean next() {
+		if (position == count) {
+			current = -1;
+			return false;
+		}
+		current = TraceRecorder.HEADER_BYTES + position++ * TraceRecorder.RECORD_BYTES;
+		return true;
+	}
+
+	/**
+	 * Gets the byte offset of the current event.
+	 * 
+	 * @return the offset
+	 */
+	private int current() {
+		if (current < 0) {
+			throw new IllegalStateException("no current event; call next() first");
+		}
+		return current;
+	}
+
+	/**
+	 * Gets the nanoseconds between the start of recording and the current event.
+	 * 
+	 * @return the timestamp
+	 */
+	public long getNanos() {
+		return buffer.getLong(current());
+	}
+
+	/**
+	 * Gets the id of the node involved in the current event.
+	 * 
+	 * @return the node id
+	 */
+	public long getNodeId() {
+		return buffer.getLong(current() + 8);
+	}
+
+	/**
+	 * Gets the kind of the current event.
+	 * 
+	 * @return the kind
+	 */
+	public TraceEvent getType() {
+		return TraceEvent.ofCode(buffer.getInt(current() + 16));
+	}
+
+	/**
+	 * Gets the auxiliary value of the current event.
+	 * 
+	 * @return the value chosen by the hunter
+	 */
+	public int getAux() {
+		return buffer.getInt(current() + 20);
+	}
+
+	/**
+	 * Replays every event from the cursor to the end of the trace.
+	 * 
+	 * @param visitor
+	 *            receives the events
+	 */
+	public void replay(TraceVisitor visitor) {
+		while (next()) {
+			visitor.event(position - 1, getType(), getNodeId(), getNanos(), getAux());
+		}
+	}
+
+}
@@ -0,0 +1,242 @@
+package com.github.astefanich.ringhunter.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records hunt events into a fixed-width binary log. Space for every record is allocated up
+ * front, either off the heap or in a memory-mapped file, so recording an event is a handful of
+ * absolute writes with no allocation or locking. Once the log is full, further events are only
+ * counted as dropped. <br>
+ * The log starts with a header (magic number, format version, record count, dropped count and
+ * the wall-clock time recording started), followed by one record per event: the nanoseconds
+ * since recording started, the node id, the {@link TraceEvent} ordinal and an auxiliary value,
+ * all little-endian. <br>
+ * A recorder has a single writer; hunters which search with several threads do not record.
+ * 
+ * @author AndrewStefanich
+ * @see TraceReader
+ */
+public final class TraceRecorder implements Closeable {
+
+	/** identifies a trace ("RHTR") */
+	static final int MAGIC = 0x52485452;
+
+	/** version of the format */
+	static final int VERSION = 1;
+
+	/** byte offset of the record count within the header */
+	static final int COUNT_OFFSET = 8;
+
+	/** byte offset of the dropped count within the header */
+	static final int DROPPED_OFFSET = 16;
+
+	/** byte offset of the start time within the header */
+	static final int START_OFFSET = 24;
+
+	/** size of the header, in bytes */
+	static final int HEADER_BYTES = 32;
+
+	/** size of one record, in bytes */
+	static final int RECORD_BYTES = 24;
+
+	/** the most records a single buffer can hold */
+	public static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES;
+
+	/** holds the header and the records */
+	private final ByteBuffer buffer;
+
+	/** the file the buffer is mapped from, or null */
+	private final FileChannel channel;
+
+	/** number of records the buffer can hold */
+	private final int capacity;
+
+	/** number of records written */
+	private int count;
+
+	/** number of events which did not fit */
+	private long dropped;
+
+	/** value of {@link System#nanoTime()} when recording started */
+	private long startNanos;
+
+	/**
+	 * Creates a recorder which keeps its log in memory, off the heap.
+	 * 
+	 * @param capacity
+	 *            number of events to make room for
+	 */
+	public TraceRecorder(int capacity) {
+		this(ByteBuffer.allocateDirect(sizeOf(capacity)), null, capacity);
+	}
+
+	/**
+	 * Creates a recorder over a prepared buffer.
+	 * 
+	 * @param buffer
+	 *            the buffer, large enough for the header and every record
+	 * @param channel
+	 *            the file the buffer is mapped from, or null
+	 * @param capacity
+	 *            number of events to make room for
+	 */
+	private TraceRecorder(ByteBuffer buffer, FileChannel channel, int capacity) {
+		this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+		this.channel = channel;
+		this.capacity = capacity;
+		buffer.putInt(0, MAGIC);
+		buffer.putInt(4, VERSION);
+		reset();
+	}
+
+	/**
+	 * Creates a recorder which writes its log straight into a memory-mapped file. The file is
+	 * created, or truncated, to the size of the full log.
+	 * 
+	 * @param file
+	 *            the file
+	 * @param capacity
+	 *            number of events to make room for
+	 * @return the recorder, which should be closed when done
+	 * @throws IOException
+	 *             if the file cannot be created or mapped
+	 */
+	public static TraceRecorder mapped(Path file, int capacity) throws IOException {
+		final int size = sizeOf(capacity);
+		final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			return new TraceRecorder(channel.map(FileChannel.MapMode.READ_WRITE, 0, size), channel, capacity);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Gets the size of a log.
+	 * 
+	 * @param capacity
+	 *            number of records
+	 * @return the size, in bytes
+	 */
+	private static int sizeOf(int capacity) {
+		if (capacity < 0 || capacity > MAX_CAPACITY) {
+			throw new IllegalArgumentException(String.format("capacity must be between 0 and %d, was %d", MAX_CAPACITY, capacity));
+		}
+		return HEADER_BYTES + capacity * RECORD_BYTES;
+	}
+
+	/**
+	 * Appends an event, or counts it as dropped if the log is full.
+	 * 
+	 * @param type
+	 *            the kind of event
+	 * @param nodeId
+	 *            id of the node involved
+	 * @param aux
+	 *            a value chosen by the hunter, such as the size of its stack
+	 */
+	public void record(TraceEvent type, long nodeId, int aux) {
+		if (count == capacity) {
+			dropped++;
+			return;
+		}
+		final int at = HEADER_BYTES + count * RECORD_BYTES;
+		buffer.putLong(at, System.nanoTime() - startNanos);
+		buffer.putLong(at + 8, nodeId);
+		buffer.putInt(at + 16, type.ordinal());
+		buffer.putInt(at + 20, aux);
+		count++;
+	}
+
+	/**
+	 * Discards every record, and restarts the clock.
+	 */
+	public void reset() {
+		count = 0;
+		dropped = 0;
+		startNanos = System.nanoTime();
+		buffer.putLong(START_OFFSET, System.currentTimeMillis());
+		writeCounts();
+	}
+
+	/**
+	 * Writes the counts into the header, and forces a mapped log out to its file.
+	 */
+	public void flush() {
+		writeCounts();
+		if (channel != null) {
+			((MappedByteBuffer) buffer).force();
+		}
+	}
+
+	/**
+	 * Writes the counts into the header. They are kept in fields while recording, so each event
+	 * only writes its own record.
+	 */
+	private void writeCounts() {
+		buffer.putLong(COUNT_OFFSET, count);
+		buffer.putLong(DROPPED_OFFSET, dropped);
+	}
+
+	/**
+	 * Creates a reader over the events recorded so far. Events recorded afterwards are not seen
+	 * by the reader, but a reset while it is in use overwrites what it reads.
+	 * 
+	 * @return the reader
+	 */
+	public TraceReader replay() {
+		writeCounts();
+		return new TraceReader(buffer.duplicate());
+	}
+
+	/**
+	 * Gets the number of events recorded.
+	 * 
+	 * @return the record count
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Gets the number of events which did not fit in the log.
+	 * 
+	 * @return the dropped count
+	 */
+	public long getDropped() {
+		return dropped;
+	}
+
+	/**
+	 * Gets the number of events the log can hold.
+	 * 
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Flushes the log, and closes its file if it has one.
+	 * 
+	 * @throws IOException
+	 *             if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		flush();
+		if (channel != null) {
+			channel.close();
+		}
+	}
+
+}
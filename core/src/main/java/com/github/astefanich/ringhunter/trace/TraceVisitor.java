@@ -0,0 +1,27 @@
+package com.github.astefanich.ringhunter.trace;
+
+/**
+ * Receives the events of a trace as it is replayed by a {@link TraceReader}.
+ * 
+ * @author AndrewStefanich
+ */
+@FunctionalInterface
+public interface TraceVisitor {
+
+	/**
+	 * Called once for each replayed event.
+	 * 
+	 * @param step
+	 *            index of the event within the trace
+	 * @param type
+	 *            the kind of event
+	 * @param nodeId
+	 *            id of the node involved
+	 * @param nanos
+	 *            nanoseconds since recording started
+	 * @param aux
+	 *            a value chosen by the hunter, such as the size of its stack
+	 */
+	void event(int step, TraceEvent type, long nodeId, long nanos, int aux);
+
+}
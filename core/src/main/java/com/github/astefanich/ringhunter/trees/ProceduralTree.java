@@ -0,0 +1,85 @@
+package com.github.astefanich.ringhunter.trees;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.nodes.ProceduralNode;
+
+/**
+ * Generates a procedural world of up to maxFanOut children per node and maxDepth levels, which
+ * only comes into being as it is explored. Children are created the first time a node's
+ * {@link MiddleEarthNode#getChildren()} is called, from a hash of the seed and the node's id,
+ * and the seed also decides where Frodo is. The default world has around 10^9 virtual nodes, but a
+ * hunt only uses memory for the nodes it actually reaches.
+ * 
+ * @author AndrewStefanich
+ * @see ProceduralNode
+ * @see RandomTree
+ */
+public class ProceduralTree {
+
+	/** default for the most children any node can have */
+	public static final int DEFAULT_MAX_FAN_OUT = 8;
+
+	/** default for the number of levels below the root; with 4 children on average, about 4^15 nodes */
+	public static final int DEFAULT_MAX_DEPTH = 15;
+
+	/** parameters of the world */
+	private final ProceduralNode.World world;
+
+	/** the root, created on first request */
+	private ProceduralNode root;
+
+	/**
+	 * Creates a world with the default fan-out and depth.
+	 * 
+	 * @param seed
+	 *            seed of the world
+	 */
+	public ProceduralTree(long seed) {
+		this(seed, DEFAULT_MAX_FAN_OUT, DEFAULT_MAX_DEPTH);
+	}
+
+	/**
+	 * Creates a world.
+	 * 
+	 * @param seed
+	 *            seed of the world
+	 * @param maxFanOut
+	 *            the most children any node can have
+	 * @param maxDepth
+	 *            levels below the root
+	 */
+	public ProceduralTree(long seed, int maxFanOut, int maxDepth) {
+		world = new ProceduralNode.World(seed, maxFanOut, maxDepth);
+	}
+
+	/**
+	 * Gets the root node of the world. Only the root exists until its children are requested.
+	 * 
+	 * @return the root
+	 */
+	public MiddleEarthNode getTreeTop() {
+		if (root == null) {
+			root = world.createRoot();
+		}
+		return root;
+	}
+
+	/**
+	 * Gets the level of the ring bearer, which the seed decides.
+	 * 
+	 * @return levels below the root
+	 */
+	public int getRingDepth() {
+		return world.getRingDepth();
+	}
+
+	/**
+	 * Gets the number of nodes which have been created so far.
+	 * 
+	 * @return the node count
+	 */
+	public long getMaterializedCount() {
+		return world.getMaterializedCount();
+	}
+
+}
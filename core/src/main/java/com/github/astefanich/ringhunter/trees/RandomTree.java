@@ -1,14 +1,11 @@
 package com.github.astefanich.ringhunter.trees;
 
-import java.awt.Component;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
-import org.abego.treelayout.TreeLayout;
-import org.abego.treelayout.util.DefaultConfiguration;
-import org.abego.treelayout.util.DefaultTreeForTreeLayout;
-
+import com.github.astefanich.ringhunter.events.GenerateEvent;
 import com.github.astefanich.ringhunter.hunters.AbstractRingHunter;
 import com.github.astefanich.ringhunter.nodes.Being;
 import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
@@ -18,8 +15,9 @@ import com.github.astefanich.ringhunter.nodes.Root;
 /**
  * Generates a random tree structure with 0-4 children per node. Nodes are represented
  * by Tolkien's Middle-earth locations or characters. This will create a tree which returns a
- * {@link MiddleEarthNode} for a {@link AbstractRingHunter} to search, and also creates a printable tree
- * with the same structure.
+ * {@link MiddleEarthNode} for a {@link AbstractRingHunter} to search; the render module draws it.
+ * The ring bearer can be moved after the tree is generated, see
+ * {@link #getRingRelocator()}.
  * 
  * @author AndrewStefanich
  */
@@ -38,6 +36,12 @@ public class RandomTree {
 	 */
 	private static final int MAX = 4;
 
+	/** the longest road between a node and its parent, in leagues */
+	private static final int MAX_DISTANCE = 100;
+
+	/** source of every random choice, so a seeded tree can be generated again */
+	private final Random random;
+
 	/** collection of Beings/Places in Middle-earth */
 	private List<MiddleEarthNode> nodes;
 
@@ -53,8 +57,42 @@ public class RandomTree {
 	/** we want to ensure the tree we built contains Frodo */
 	private boolean treeHasRing;
 
-	/** constructs a tree for printing use. Does not affect the hunter algorithm */
-	private DefaultTreeForTreeLayout<MiddleEarthNode> treeToVisualize;
+	/** number of nodes in the tree, including Angmar and Frodo */
+	private int treeSize;
+
+	/** number of levels below Angmar */
+	private int treeDepth;
+
+	/** number of invalid trees thrown away by the last call to getTreeTop() */
+	private int retryCount;
+
+	/**
+	 * Creates a generator whose trees differ from run to run.
+	 */
+	public RandomTree() {
+		this(new Random());
+	}
+
+	/**
+	 * Creates a generator which produces the same sequence of trees each time it is created with
+	 * the same seed.
+	 * 
+	 * @param seed
+	 *            the seed
+	 */
+	public RandomTree(long seed) {
+		this(new Random(seed));
+	}
+
+	/**
+	 * Creates a generator.
+	 * 
+	 * @param random
+	 *            source of every random choice
+	 */
+	private RandomTree(Random random) {
+		this.random = random;
+	}
 
 	/**
 	 * Gets the root node of a randomly arranged tree.
@@ -62,13 +100,63 @@ public class RandomTree {
 	 * @return the root
 	 */
 	public MiddleEarthNode getTreeTop() {
+		final GenerateEvent event = new GenerateEvent();
+		event.begin();
+		retryCount = 0;
 		reset();
 		while (!buildSubTree(angmar, MAX)) {  //keeps building until we get a valid tree
+			retryCount++;
 			reset();
 		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.setTreeSize(treeSize);
+			event.setTreeDepth(treeDepth);
+			event.setRetries(retryCount);
+			event.commit();
+		}
 		return angmar;
 	}
 
+	/**
+	 * Gets the number of nodes in the last generated tree, including the root and the ring bearer.
+	 * 
+	 * @return the node count
+	 */
+	public int getTreeSize() {
+		return treeSize;
+	}
+
+	/**
+	 * Gets the number of levels below the root of the last generated tree.
+	 * 
+	 * @return the depth
+	 */
+	public int getTreeDepth() {
+		return treeDepth;
+	}
+
+	/**
+	 * Gets the number of invalid trees which were thrown away while generating the last tree.
+	 * 
+	 * @return the retry count
+	 */
+	public int getRetryCount() {
+		return retryCount;
+	}
+
+	/**
+	 * Gets a relocator which moves the ring bearer of the last generated tree.
+	 * 
+	 * @return the relocator
+	 */
+	public RingRelocator getRingRelocator() {
+		if (frodo == null) {
+			throw new IllegalStateException("no tree has been generated yet");
+		}
+		return new RingRelocator(frodo);
+	}
+
 	/**
 	 * Re-sets our list, root, and target.
 	 */
@@ -76,11 +164,14 @@ public class RandomTree {
 		initializeList((nodes = new ArrayList<>()));
 		angmar = new Root("Angmar", "realm of the Ringwraiths");
 		frodo = new Being(null, "Frodo", "bearer of The One Ring");
-		adjacentNode = nodes.get(new Random().nextInt(nodes.size()));
+		adjacentNode = nodes.get(random.nextInt(nodes.size()));
 		frodo.setParent(adjacentNode);  //selects a random parent for the ring bearer
+		frodo.setDistanceFromParent(1 + random.nextInt(MAX_DISTANCE));
 		frodo.setHasRing(true);
 		adjacentNode.setAdjacentToRing(true);
-		treeToVisualize = new DefaultTreeForTreeLayout<MiddleEarthNode>(angmar);
+		treeHasRing = false;
+		treeSize = 1;
+		treeDepth = 0;
 	}
 
 	/**
@@ -91,18 +182,12 @@ public class RandomTree {
 	 *            the list to add to
 	 */
 	private void initializeList(List<MiddleEarthNode> nodes) {
-		/** the index of the name parameter, from the String[] */
-		final int name_index = 0;
-		/** the index of the description parameter, from the String[] */
-		final int desc_index = 1;
-		/** the index of the type parameter, from the String[] */
-		final int type_index = 2;
-		for (int i = 0; i < stringz.length; i++) {
-			final String[] tokens = stringz[i].split("/");
-			if (tokens[type_index].equals("Being")) {
-				nodes.add(new Being(null, tokens[name_index], tokens[desc_index]));
-			} else if (tokens[type_index].equals("Place")) {
-				nodes.add(new Place(null, tokens[name_index], tokens[desc_index]));
+		for (int i = 0; i < BANK.length; i++) {
+			final String[] tokens = BANK[i];
+			if (tokens[TYPE_INDEX].equals("Being")) {
+				nodes.add(new Being(null, tokens[NAME_INDEX], tokens[DESC_INDEX]));
+			} else if (tokens[TYPE_INDEX].equals("Place")) {
+				nodes.add(new Place(null, tokens[NAME_INDEX], tokens[DESC_INDEX]));
 			} else {
 				System.out.println(String.format("Type could not be identifed for %s. Object not created for this arg",
 						stringz[i]));
@@ -111,55 +196,66 @@ public class RandomTree {
 	} //end of initializeList
 
 	/**
-	 * Recursively creates a random subtree from a given node. Depth should not be greater than the
-	 * max variable. (the depth argument ensures capacity and allows for a more even distribution)
+	 * Creates a random subtree from a given node. Depth should not be greater than the max
+	 * variable. (the depth argument ensures capacity and allows for a more even distribution)
+	 * Nodes are branched in the same depth-first order a recursive build would use, but from an
+	 * array-backed stack, so no branch can overflow the call stack.
 	 * 
 	 * @param rootNode
 	 *            the starting point for branching down
 	 * @param depth
-	 *            the branch depth of each iteration
+	 *            the branch depth of rootNode
 	 * @return true if it's a valid tree, otherwise false (false conditions: Angmar doesn't have
 	 *         children and/or Frodo isn't in the tree)
 	 */
 	private boolean buildSubTree(MiddleEarthNode rootNode, int depth) {
-		int randomNumChildren = new Random().nextInt(MAX + 1);		//between 0 and the MAX (inclusive)
-		//we randomly generate # of children, but Angmar should have atleast one child
-		if (rootNode.equals(angmar) && randomNumChildren <= 0) {
-			return false;
-		}
-		//we will create branches until the collection does not meet capacity, or it the algorithm stops naturally (via 0 children, or depth gauge)
-		if (randomNumChildren > nodes.size()) {
-			return treeHasRing; //we reached the end of our available node objects
-		}
-		for (int i = 0; i < randomNumChildren; i++) {
-			MiddleEarthNode randomChild = nodes.get(new Random().nextInt(nodes.size()));  //gets a random node from the list
-			randomChild.setParent(rootNode);
-			nodes.remove(randomChild); //remove node to avoid duplicates in the tree
-		}
-		for (MiddleEarthNode node : rootNode.getChildren()) {
-			treeToVisualize.addChild(rootNode, node);
-			if (node.isAdjacentToRing()) {
-				treeToVisualize.addChild(node, frodo);
-				treeHasRing = true;
-			} else if (depth > 2) { //this signifies we are 1 level from the base, so we don't want the children to have subtrees
-				buildSubTree(node, new Integer(depth - 1));	//new Integer object, don't want the depth value to be shared during the recursion
+		MiddleEarthNode[] branches = new MiddleEarthNode[MAX * MAX];  //nodes still to branch from
+		int[] gauges = new int[branches.length];  //the depth gauge of each one
+		int top = 0;
+		branches[top] = rootNode;
+		gauges[top++] = depth;
+		while (top > 0) {
+			final MiddleEarthNode parent = branches[--top];
+			final int gauge = gauges[top];
+			branches[top] = null;
+			int randomNumChildren = random.nextInt(MAX + 1);		//between 0 and the MAX (inclusive)
+			//we randomly generate # of children, but Angmar should have atleast one child
+			if (parent == angmar && randomNumChildren <= 0) {
+				return false;
+			}
+			//we will create branches until the collection does not meet capacity, or it the algorithm stops naturally (via 0 children, or depth gauge)
+			if (randomNumChildren > nodes.size()) {
+				continue; //we reached the end of our available node objects
+			}
+			for (int i = 0; i < randomNumChildren; i++) {
+				MiddleEarthNode randomChild = nodes.get(random.nextInt(nodes.size()));  //gets a random node from the list
+				randomChild.setParent(parent);
+				randomChild.setDistanceFromParent(1 + random.nextInt(MAX_DISTANCE));  //between 1 and MAX_DISTANCE leagues
+				nodes.remove(randomChild); //remove node to avoid duplicates in the tree
+			}
+			final int level = MAX - gauge + 1;  //level of the children being added, Angmar's children are level 1
+			final List<MiddleEarthNode> children = parent.getChildren();
+			if (top + children.size() > branches.length) {
+				branches = Arrays.copyOf(branches, Math.max(branches.length * 2, top + children.size()));
+				gauges = Arrays.copyOf(gauges, branches.length);
+			}
+			for (int i = children.size() - 1; i >= 0; i--) {  //last child pushed first, so the first child branches next
+				final MiddleEarthNode node = children.get(i);
+				treeSize++;
+				treeDepth = Math.max(treeDepth, level);
+				if (node.isAdjacentToRing()) {  //Frodo is already attached to this node
+					treeSize++;
+					treeDepth = Math.max(treeDepth, level + 1);
+					treeHasRing = true;
+				} else if (gauge > 2) { //this signifies we are 1 level from the base, so we don't want the children to have subtrees
+					branches[top] = node;
+					gauges[top++] = gauge - 1;
+				}
 			}
 		}
 		return treeHasRing;
 	} //end of buildTree()
 
-	/**
-	 * Gets the randomly generated tree as a graphic
-	 * 
-	 * @return the tree component
-	 */
-	public Component getTreeGraphic() {
-		TreeLayout<MiddleEarthNode> layout = new TreeLayout<MiddleEarthNode>(treeToVisualize,
-				new NodeSizer(), new DefaultConfiguration<MiddleEarthNode>(70, 15));
-		TreeVisualizer treeComponent = new TreeVisualizer(layout);
-		return treeComponent;
-	}
-
 	/** Bank of names, descriptions, and object types for use in the tree. */
 	private static final String[] stringz = {
 			"Alatar/the blue wizard/Being",
@@ -247,4 +343,22 @@ public class RandomTree {
 			"Woodland Realm/now known as Mirkwood/Place",
 	}; //end of stringz
 
+	/** the index of the name parameter, from the String[] */
+	private static final int NAME_INDEX = 0;
+
+	/** the index of the description parameter, from the String[] */
+	private static final int DESC_INDEX = 1;
+
+	/** the index of the type parameter, from the String[] */
+	private static final int TYPE_INDEX = 2;
+
+	/** the String bank, split into name, description and type once rather than for every tree */
+	private static final String[][] BANK = new String[stringz.length][];
+
+	static {
+		for (int i = 0; i < stringz.length; i++) {
+			BANK[i] = stringz[i].split("/");
+		}
+	}
+
 } //end of RandomizedTreeGenerator class
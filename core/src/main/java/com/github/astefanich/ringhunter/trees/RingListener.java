@@ -0,0 +1,24 @@
+package com.github.astefanich.ringhunter.trees;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+
+/**
+ * Notified each time a {@link RingRelocator} moves the ring bearer.
+ * 
+ * @author AndrewStefanich
+ */
+public interface RingListener {
+
+	/**
+	 * Called after the ring bearer has been moved.
+	 * 
+	 * @param bearer
+	 *            the ring bearer
+	 * @param from
+	 *            the node the bearer was a child of
+	 * @param to
+	 *            the node the bearer is now a child of
+	 */
+	void ringMoved(MiddleEarthNode bearer, MiddleEarthNode from, MiddleEarthNode to);
+
+}
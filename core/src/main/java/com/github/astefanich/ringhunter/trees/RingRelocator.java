@@ -0,0 +1,117 @@
+package com.github.astefanich.ringhunter.trees;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+
+/**
+ * Moves the ring bearer around a tree while it is being hunted. A move detaches the bearer from
+ * its parent, clears that parent's adjacency flag, attaches the bearer to its new parent and sets
+ * the new parent's flag, then notifies every {@link RingListener}. <br>
+ * The cost of a move only depends on the old parent's children, never on the size or depth of
+ * the tree: whether the new parent lies below the bearer is a lookup in the set of the bearer's
+ * descendants, which is taken once when the relocator is created. Moving the bearer never changes
+ * that set, so it stays right as long as nodes are only added below the bearer before then. Not
+ * thread safe: moves should happen on the thread which runs the hunt, between steps.
+ * 
+ * @author AndrewStefanich
+ * @see RandomTree#getRingRelocator()
+ */
+public class RingRelocator {
+
+	/** the node which holds the ring */
+	private final MiddleEarthNode bearer;
+
+	/** the bearer and every node below it, which it cannot be moved under */
+	private final Set<MiddleEarthNode> subtree = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/** notified after every move */
+	private final List<RingListener> listeners = new ArrayList<>();
+
+	/**
+	 * Creates a relocator for a ring bearer.
+	 * 
+	 * @param bearer
+	 *            the node holding the ring, which must have a parent
+	 */
+	public RingRelocator(MiddleEarthNode bearer) {
+		if (bearer == null || !bearer.hasRing()) {
+			throw new IllegalArgumentException("bearer must hold the ring");
+		}
+		if (!bearer.hasParent()) {
+			throw new IllegalArgumentException("bearer must have a parent");
+		}
+		this.bearer = bearer;
+		final Deque<MiddleEarthNode> stack = new ArrayDeque<>();
+		stack.push(bearer);
+		while (!stack.isEmpty()) {
+			final MiddleEarthNode node = stack.pop();
+			subtree.add(node);
+			for (MiddleEarthNode child : node.getChildren()) {
+				stack.push(child);
+			}
+		}
+	}
+
+	/**
+	 * Gets the node holding the ring.
+	 * 
+	 * @return the bearer
+	 */
+	public MiddleEarthNode getBearer() {
+		return bearer;
+	}
+
+	/**
+	 * Registers a listener for future moves.
+	 * 
+	 * @param listener
+	 *            the listener
+	 */
+	public void addListener(RingListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Unregisters a listener.
+	 * 
+	 * @param listener
+	 *            the listener
+	 */
+	public void removeListener(RingListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Moves the ring bearer below a new parent.
+	 * 
+	 * @param to
+	 *            the new parent, which must not be the bearer or one of its descendants
+	 */
+	public void relocateTo(MiddleEarthNode to) {
+		if (to == null) {
+			throw new IllegalArgumentException("to must not be null");
+		}
+		if (subtree.contains(to)) {
+			throw new IllegalArgumentException(String.format("%s cannot be moved below itself", bearer));
+		}
+		final MiddleEarthNode from = bearer.getParent();
+		if (from == to) {
+			return;
+		}
+		from.removeChild(bearer);
+		from.setAdjacentToRing(false);
+		bearer.setParent(to);
+		to.setAdjacentToRing(true);
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).ringMoved(bearer, from, to);
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.github.astefanich.ringhunter.bench;
+
+import java.util.Arrays;
+
+import com.github.astefanich.ringhunter.hunters.CooperativeHunter;
+import com.github.astefanich.ringhunter.nodes.TreeSnapshot;
+import com.github.astefanich.ringhunter.reports.SilentReportRenderer;
+
+/**
+ * Measures how {@link CooperativeHunter} scales with its number of agents. Prints one row per
+ * agent count: median hunt time, speedup over a single agent, steals, nodes reached again after
+ * another agent claimed them, and how evenly the expansions were spread (smallest and largest share).
+ * <br>
+ * Usage: {@code CooperativeScaling [fanOut] [depth] [maxAgents]}
+ * 
+ * @author AndrewStefanich
+ */
+public class CooperativeScaling {
+
+	/** timed hunts per agent count */
+	private static final int RUNS = 7;
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args
+	 *            optional fan-out, depth and maximum agent count
+	 */
+	public static void main(String[] args) {
+		final int fanOut = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+		final int depth = args.length > 1 ? Integer.parseInt(args[1]) : 7;
+		final int maxAgents = args.length > 2 ? Integer.parseInt(args[2])
+				: Runtime.getRuntime().availableProcessors();
+
+		final TreeSnapshot tree = TreeSnapshot.of(SyntheticTrees.complete(fanOut, depth));
+		System.out.println(String.format("tree: %d nodes, fan-out %d, depth %d", tree.size(), fanOut, depth));
+		System.out.println(String.format("%6s %10s %8s %8s %10s %14s", "agents", "median ms", "speedup", "steals",
+				"revisits", "share min/max"));
+
+		double baseline = 0;
+		for (int agents = 1; agents <= maxAgents; agents = nextAgentCount(agents, maxAgents)) {
+			final CooperativeHunter hunter = new CooperativeHunter(agents);
+			hunter.setRenderer(new SilentReportRenderer());
+			final long[] times = new long[RUNS];
+			for (int run = -2; run < RUNS; run++) {  //two warm-up runs
+				final long start = System.nanoTime();
+				hunter.startAt(tree.getRoot());
+				if (run >= 0) {
+					times[run] = System.nanoTime() - start;
+				}
+			}
+			Arrays.sort(times);
+			final double median = times[RUNS / 2] / 1e6;
+			if (agents == 1) {
+				baseline = median;
+			}
+			final long[] expansions = hunter.getAgentExpansions();
+			final long total = Arrays.stream(expansions).sum();
+			final long min = Arrays.stream(expansions).min().getAsLong();
+			final long max = Arrays.stream(expansions).max().getAsLong();
+			System.out.println(String.format("%6d %10.2f %8.2f %8d %10d %6.1f%%/%5.1f%%", agents, median,
+					baseline / median, hunter.getSteals(), hunter.getRevisits(), 100.0 * min / total,
+					100.0 * max / total));
+			hunter.close();
+		}
+	}
+
+	/**
+	 * Doubles the agent count, but always finishes with maxAgents.
+	 * 
+	 * @param agents
+	 *            the current count
+	 * @param maxAgents
+	 *            the last count
+	 * @return the next count, greater than maxAgents when done
+	 */
+	private static int nextAgentCount(int agents, int maxAgents) {
+		if (agents < maxAgents && agents * 2 > maxAgents) {
+			return maxAgents;
+		}
+		return agents * 2;
+	}
+
+}
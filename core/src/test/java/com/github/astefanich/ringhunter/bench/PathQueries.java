@@ -0,0 +1,105 @@
+package com.github.astefanich.ringhunter.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.github.astefanich.ringhunter.hunters.DepthFirstHunter;
+import com.github.astefanich.ringhunter.nodes.AncestorIndex;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.reports.SilentReportRenderer;
+
+/**
+ * Compares answering many ring path queries with an {@link AncestorIndex} against hunting for
+ * each ring with a {@link DepthFirstHunter}. The ring is given to several random leaves of a
+ * complete tree; the hunter searches for each bearer in turn (with only that bearer holding the
+ * ring), and the index answers every query in one batch, from the root and then from a random
+ * node. Every indexed path from the root is checked against the hunter's.
+ * <br>
+ * Usage: {@code PathQueries [rings] [fanOut] [depth] [seed]}
+ * 
+ * @author AndrewStefanich
+ */
+public class PathQueries {
+
+	/**
+	 * Runs the comparison.
+	 * 
+	 * @param args
+	 *            optional number of ring bearers, tree shape and seed
+	 */
+	public static void main(String[] args) {
+		final int rings = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		final int fanOut = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+		final int depth = args.length > 2 ? Integer.parseInt(args[2]) : 9;
+		final SplittableRandom random = new SplittableRandom(args.length > 3 ? Long.parseLong(args[3]) : 0);
+
+		final MiddleEarthNode root = SyntheticTrees.complete(fanOut, depth);
+		final List<MiddleEarthNode> leaves = new ArrayList<>();
+		final List<MiddleEarthNode> all = new ArrayList<>();
+		final List<MiddleEarthNode> stack = new ArrayList<>();
+		stack.add(root);
+		while (!stack.isEmpty()) {
+			final MiddleEarthNode node = stack.remove(stack.size() - 1);
+			node.setHasRing(false);
+			all.add(node);
+			if (node.getChildren().isEmpty()) {
+				leaves.add(node);
+			}
+			stack.addAll(node.getChildren());
+		}
+		final List<MiddleEarthNode> bearers = new ArrayList<>(rings);
+		for (int r = 0; r < rings; r++) {
+			bearers.add(leaves.get(random.nextInt(leaves.size())));
+		}
+
+		//one hunt per bearer, each with only that bearer holding the ring
+		final DepthFirstHunter hunter = new DepthFirstHunter();
+		hunter.setRenderer(new SilentReportRenderer());
+		final List<List<MiddleEarthNode>> hunted = new ArrayList<>(rings);
+		long start = System.nanoTime();
+		for (MiddleEarthNode bearer : bearers) {
+			bearer.setHasRing(true);
+			hunter.startAt(root);
+			bearer.setHasRing(false);
+			hunted.add(hunter.getPath());
+		}
+		final long huntNanos = System.nanoTime() - start;
+
+		for (MiddleEarthNode bearer : bearers) {
+			bearer.setHasRing(true);
+		}
+		start = System.nanoTime();
+		final AncestorIndex index = AncestorIndex.of(root);
+		final long buildNanos = System.nanoTime() - start;
+		start = System.nanoTime();
+		final List<List<MiddleEarthNode>> fromRoot = index.paths(root, bearers);
+		final long rootNanos = System.nanoTime() - start;
+		final MiddleEarthNode from = all.get(random.nextInt(all.size()));
+		start = System.nanoTime();
+		final List<List<MiddleEarthNode>> fromNode = index.paths(from, bearers);
+		final long nodeNanos = System.nanoTime() - start;
+
+		long steps = 0;
+		for (int r = 0; r < rings; r++) {
+			if (!fromRoot.get(r).equals(hunted.get(r))) {
+				throw new IllegalStateException(String.format("path to ring %d differs from the hunter's", r));
+			}
+			final List<MiddleEarthNode> path = fromNode.get(r);
+			if (path.get(0) != from || path.get(path.size() - 1) != bearers.get(r)) {
+				throw new IllegalStateException(String.format("path from %s to ring %d has the wrong ends", from, r));
+			}
+			steps += path.size();
+		}
+		System.out.println(String.format("%d nodes, %d ring bearers, %d distinct", index.size(), rings,
+				index.getRingBearers().size()));
+		System.out.println(String.format("depth-first hunts  %10.2f ms  (%.1f us per ring)", huntNanos / 1e6,
+				huntNanos / 1e3 / rings));
+		System.out.println(String.format("index build        %10.2f ms", buildNanos / 1e6));
+		System.out.println(String.format("paths from root    %10.2f ms  (%.2f us per ring)", rootNanos / 1e6,
+				rootNanos / 1e3 / rings));
+		System.out.println(String.format("paths from a node  %10.2f ms  (%.2f us per ring, %.1f steps each)",
+				nodeNanos / 1e6, nodeNanos / 1e3 / rings, (double) steps / rings));
+	}
+
+}
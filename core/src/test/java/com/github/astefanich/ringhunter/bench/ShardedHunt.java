@@ -0,0 +1,80 @@
+package com.github.astefanich.ringhunter.bench;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.astefanich.ringhunter.hunters.AbstractRingHunter;
+import com.github.astefanich.ringhunter.hunters.HunterRegistry;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.reports.SilentReportRenderer;
+import com.github.astefanich.ringhunter.shard.ShardCoordinator;
+import com.github.astefanich.ringhunter.shard.ShardResult;
+import com.github.astefanich.ringhunter.trees.ProceduralTree;
+
+/**
+ * Splits one procedural tree across worker JVMs with {@link ShardCoordinator}, hunts it in both
+ * modes, and checks each path against a hunt of the whole tree in this JVM. Prints how long
+ * starting the shards took, how the nodes were spread, and the time and visits of each hunt.
+ * <br>
+ * Usage: {@code ShardedHunt [shards] [seed] [maxFanOut] [maxDepth] [hunter]}
+ * 
+ * @author AndrewStefanich
+ */
+public class ShardedHunt {
+
+	/** hunts per mode; the first one warms the workers up */
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Runs the hunts.
+	 * 
+	 * @param args
+	 *            optional shard count, seed, tree shape and hunter name
+	 * @throws IOException
+	 *             if the workers cannot be started or reached
+	 */
+	public static void main(String[] args) throws IOException {
+		final int shards = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		final long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+		final int maxFanOut = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+		final int maxDepth = args.length > 3 ? Integer.parseInt(args[3]) : 9;
+		final HunterRegistry registry = HunterRegistry.load();
+		final String hunterName = args.length > 4 ? args[4] : registry.getDefaultName();
+
+		final MiddleEarthNode root = new ProceduralTree(seed, maxFanOut, maxDepth).getTreeTop();
+		long start = System.nanoTime();
+		try (ShardCoordinator coordinator = ShardCoordinator.start(root, shards)) {
+			System.out.println(String.format("%d shards started in %.1f ms, %d pieces, nodes per shard %s", shards,
+					(System.nanoTime() - start) / 1e6, coordinator.getPieceCount(),
+					Arrays.toString(coordinator.getShardSizes())));
+
+			final AbstractRingHunter local = registry.create(hunterName);
+			local.setRenderer(new SilentReportRenderer());
+			start = System.nanoTime();
+			local.startAt(root);
+			final List<MiddleEarthNode> expected = local.getPath();
+			local.close();
+			System.out.println(String.format("%-10s %10.1f ms %10d visits %4d steps", "in-process",
+					(System.nanoTime() - start) / 1e6, local.getNodesVisited(), expected.size()));
+
+			for (ShardCoordinator.Mode mode : ShardCoordinator.Mode.values()) {
+				ShardResult result = null;
+				for (int round = 0; round < ROUNDS; round++) {
+					result = coordinator.hunt(hunterName, mode);
+				}
+				final List<MiddleEarthNode> path = result.getPath(root);
+				for (String failure : result.getFailures()) {
+					System.out.println(String.format("%-10s failed on %s", mode, failure));
+				}
+				if (!result.isFound() || !path.get(path.size() - 1).hasRing()) {
+					throw new IllegalStateException(String.format("%s hunt did not reach the ring", mode));
+				}
+				System.out.println(String.format("%-10s %10.1f ms %10d visits %4d steps, shard %d%s", mode,
+						result.getElapsedNanos() / 1e6, result.getNodesVisited(), path.size(), result.getShard(),
+						path.equals(expected) ? "" : " (a different path than in-process)"));
+			}
+		}
+	}
+
+}
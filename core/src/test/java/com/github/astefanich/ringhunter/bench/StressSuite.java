@@ -0,0 +1,292 @@
+package com.github.astefanich.ringhunter.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+import com.github.astefanich.ringhunter.analytics.TreeAnalyzer;
+import com.github.astefanich.ringhunter.analytics.TreeStats;
+import com.github.astefanich.ringhunter.graphs.DepthFirstGraphHunter;
+import com.github.astefanich.ringhunter.graphs.GraphBuilder;
+import com.github.astefanich.ringhunter.hunters.AbstractRingHunter;
+import com.github.astefanich.ringhunter.hunters.CooperativeHunter;
+import com.github.astefanich.ringhunter.hunters.DepthFirstHunter;
+import com.github.astefanich.ringhunter.hunters.ReplanningHunter;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.nodes.StructuralHash;
+import com.github.astefanich.ringhunter.nodes.TreeSnapshot;
+import com.github.astefanich.ringhunter.reports.SilentReportRenderer;
+import com.github.astefanich.ringhunter.trees.RandomTree;
+
+/**
+ * Runs hunters and tree utilities over extremely deep and extremely wide trees, checks that they
+ * get the right answer, and prints how their running time grows with the size of the tree. The
+ * suite runs on a thread with a deliberately small call stack, so anything which recurses once
+ * per level fails at once on the deep trees. <br>
+ * For each shape and operation, the scaling exponent is estimated from the smallest and largest
+ * tree, each timed at its fastest of a few runs: about 1 means the running time is linear in the
+ * number of nodes. A wrong answer, or an exponent above {@value #MAX_EXPONENT}, ends the suite
+ * with a non-zero exit status. {@link RandomTree} generation is checked on the same thread, but
+ * not scaled, since the game's trees cannot grow deeper than a few levels. Painting is covered by
+ * {@code PaintStress} in the render module, since the layout library is not available here. <br>
+ * Usage: {@code StressSuite [size...]} (default 10000 100000 1000000)
+ * 
+ * @author AndrewStefanich
+ */
+public class StressSuite {
+
+	/** call stack size of the thread running the suite, far too small for recursion per level */
+	static final long STACK_BYTES = 256 * 1024;
+
+	/**
+	 * the fastest an operation's running time may grow with the number of nodes; n log n from
+	 * 10<sup>4</sup> to 10<sup>6</sup> nodes comes to about n^1.09, and quadratic work to n^2
+	 */
+	static final double MAX_EXPONENT = 1.5;
+
+	/** runs of each operation, of which the fastest counts */
+	static final int RUNS = 3;
+
+	/** random trees generated and hunted; they are too small to be worth timing one by one */
+	private static final int RANDOM_TREES = 1000;
+
+	/**
+	 * The extreme shapes of tree.
+	 */
+	private enum Shape {
+
+		/** a single branch, with the ring at the bottom */
+		PATH(SyntheticTrees::path) {
+			@Override
+			int depthOf(int size) {
+				return size;
+			}
+		},
+
+		/** one level, with the ring as the root's last child */
+		STAR(SyntheticTrees::star) {
+			@Override
+			int depthOf(int size) {
+				return 1;
+			}
+		};
+
+		/** builds a tree of this shape from its size parameter */
+		private final IntFunction<MiddleEarthNode> builder;
+
+		/**
+		 * Creates a shape.
+		 * 
+		 * @param builder
+		 *            builds a tree of this shape
+		 */
+		Shape(IntFunction<MiddleEarthNode> builder) {
+			this.builder = builder;
+		}
+
+		/**
+		 * Gets the depth of the ring in a tree of this shape.
+		 * 
+		 * @param size
+		 *            the size parameter of the tree
+		 * @return levels between the root and the ring
+		 */
+		abstract int depthOf(int size);
+	}
+
+	/** the names of the operations, in the order they are run */
+	private static final String[] OPERATIONS = { "build", "depth-first", "replanning", "cooperative", "snapshot",
+			"hash", "analyze", "graph dfs" };
+
+	/**
+	 * Runs the suite.
+	 * 
+	 * @param args
+	 *            optional size parameters, smallest first
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the suite
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		final int[] sizes = args.length == 0 ? new int[] { 10_000, 100_000, 1_000_000 } : new int[args.length];
+		for (int i = 0; i < args.length; i++) {
+			sizes[i] = Integer.parseInt(args[i]);
+		}
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		final Thread suite = new Thread(null, () -> run(sizes), "stress", STACK_BYTES);
+		suite.setUncaughtExceptionHandler((thread, e) -> failure.set(e));
+		suite.start();
+		suite.join();
+		if (failure.get() != null) {
+			System.out.println("FAILED: " + failure.get());
+			failure.get().printStackTrace();
+			System.exit(1);
+		}
+		System.out.println("all checks passed");
+	}
+
+	/**
+	 * Times every operation on every shape and size, after a warm-up on the smallest size, and
+	 * fails if any of them grows faster than {@link #MAX_EXPONENT} allows.
+	 * 
+	 * @param sizes
+	 *            the size parameters
+	 */
+	private static void run(int[] sizes) {
+		generate();
+		for (Shape shape : Shape.values()) {
+			measure(shape, sizes[0]);  //warm up
+		}
+		System.out.println(String.format("%-6s %9s %-12s %10s %10s", "shape", "nodes", "operation", "ms", "ns/node"));
+		final List<String> tooSlow = new ArrayList<>();
+		for (Shape shape : Shape.values()) {
+			final List<long[]> timings = new ArrayList<>();
+			for (int size : sizes) {
+				final long[] nanos = measure(shape, size);
+				for (int run = 1; run < RUNS; run++) {
+					final long[] again = measure(shape, size);
+					for (int op = 0; op < OPERATIONS.length; op++) {
+						nanos[op] = Math.min(nanos[op], again[op]);
+					}
+				}
+				timings.add(nanos);
+				for (int op = 0; op < OPERATIONS.length; op++) {
+					System.out.println(String.format("%-6s %9d %-12s %10.1f %10.1f", shape, size + 1, OPERATIONS[op],
+							nanos[op] / 1e6, (double) nanos[op] / (size + 1)));
+				}
+			}
+			if (sizes.length > 1) {
+				final long[] first = timings.get(0);
+				final long[] last = timings.get(timings.size() - 1);
+				for (int op = 0; op < OPERATIONS.length; op++) {
+					final double exponent = exponent(sizes[0] + 1, first[op], sizes[sizes.length - 1] + 1, last[op]);
+					final boolean slow = exponent > MAX_EXPONENT;
+					System.out.println(String.format("%-6s scaling of %-12s n^%.2f%s", shape, OPERATIONS[op], exponent,
+							slow ? "  TOO SLOW" : ""));
+					if (slow) {
+						tooSlow.add(shape + " " + OPERATIONS[op]);
+					}
+				}
+			}
+			System.out.println();
+		}
+		check(tooSlow.isEmpty(), "running time grows faster than n^%.2f for %s", MAX_EXPONENT, tooSlow);
+	}
+
+	/**
+	 * Estimates the exponent k for which running time grows as n^k, from two trees.
+	 * 
+	 * @param smallNodes
+	 *            nodes in the smaller tree
+	 * @param smallNanos
+	 *            running time on the smaller tree
+	 * @param largeNodes
+	 *            nodes in the larger tree
+	 * @param largeNanos
+	 *            running time on the larger tree
+	 * @return the exponent
+	 */
+	static double exponent(int smallNodes, long smallNanos, int largeNodes, long largeNanos) {
+		return Math.log((double) largeNanos / Math.max(1, smallNanos)) / Math.log((double) largeNodes / smallNodes);
+	}
+
+	/**
+	 * Generates random trees the way the game does, and checks that each one has a ring to find.
+	 */
+	private static void generate() {
+		final RandomTree generator = new RandomTree(0);
+		final DepthFirstHunter hunter = new DepthFirstHunter();
+		hunter.setRenderer(new SilentReportRenderer());
+		final long start = System.nanoTime();
+		for (int i = 0; i < RANDOM_TREES; i++) {
+			final MiddleEarthNode root = generator.getTreeTop();
+			hunter.startAt(root);
+			final List<MiddleEarthNode> path = hunter.getPath();
+			check(!path.isEmpty() && path.get(path.size() - 1).hasRing(), "random tree %d has no ring to find", i);
+			check(path.size() - 1 <= generator.getTreeDepth(), "random tree %d has its ring at depth %d, below its depth %d",
+					i, path.size() - 1, generator.getTreeDepth());
+		}
+		System.out.println(String.format("generated and hunted %d random trees in %.1f ms", RANDOM_TREES,
+				(System.nanoTime() - start) / 1e6));
+	}
+
+	/**
+	 * Builds one tree, and runs and checks every operation on it.
+	 * 
+	 * @param shape
+	 *            shape of the tree
+	 * @param size
+	 *            size parameter of the tree
+	 * @return nanoseconds taken by each operation
+	 */
+	private static long[] measure(Shape shape, int size) {
+		final int nodes = size + 1;  //both shapes add the ring bearer
+		final int depth = shape.depthOf(size);
+		final long[] nanos = new long[OPERATIONS.length];
+		int op = 0;
+
+		long start = System.nanoTime();
+		final MiddleEarthNode root = shape.builder.apply(size);
+		nanos[op++] = System.nanoTime() - start;
+
+		for (AbstractRingHunter hunter : new AbstractRingHunter[] { new DepthFirstHunter(), new ReplanningHunter(),
+				new CooperativeHunter() }) {
+			hunter.setRenderer(new SilentReportRenderer());
+			start = System.nanoTime();
+			hunter.startAt(root);
+			nanos[op++] = System.nanoTime() - start;
+			final List<MiddleEarthNode> path = hunter.getPath();
+			check(path.size() == depth + 1, "%s found a path of %d steps, expected %d", hunter.getName(), path.size(),
+					depth + 1);
+			check(path.get(path.size() - 1).hasRing(), "%s's path does not end at the ring", hunter.getName());
+			check(hunter instanceof CooperativeHunter || hunter.getNodesVisited() == nodes,
+					"%s visited %d nodes, expected %d", hunter.getName(), hunter.getNodesVisited(), nodes);
+			hunter.close();
+		}
+
+		start = System.nanoTime();
+		final TreeSnapshot snapshot = TreeSnapshot.of(root);
+		nanos[op++] = System.nanoTime() - start;
+		check(snapshot.size() == nodes && snapshot.getDepth() == depth, "snapshot has %d nodes and depth %d",
+				snapshot.size(), snapshot.getDepth());
+
+		start = System.nanoTime();
+		final StructuralHash hash = StructuralHash.of(root);
+		nanos[op++] = System.nanoTime() - start;
+		check(hash.size() == nodes && hash.getDepth() == depth, "hash has %d nodes and depth %d", hash.size(),
+				hash.getDepth());
+		check(hash.getRootHash() == snapshot.getStructuralHash().getRootHash(), "snapshot hashes differently");
+
+		start = System.nanoTime();
+		final TreeStats stats = TreeAnalyzer.analyze(root);
+		nanos[op++] = System.nanoTime() - start;
+		check(stats.getTreeSizes().getMax() == nodes && stats.getRingDepths().getMax() == depth,
+				"analysis found %d nodes and the ring at depth %d", stats.getTreeSizes().getMax(),
+				stats.getRingDepths().getMax());
+
+		start = System.nanoTime();
+		final DepthFirstGraphHunter graphHunter = new DepthFirstGraphHunter();
+		graphHunter.startAt(GraphBuilder.fromTree(root).build(), 0);
+		nanos[op++] = System.nanoTime() - start;
+		check(graphHunter.getPath().length == depth + 1, "graph path has %d steps, expected %d",
+				graphHunter.getPath().length, depth + 1);
+		return nanos;
+	}
+
+	/**
+	 * Fails the suite if a check does not hold.
+	 * 
+	 * @param holds
+	 *            the outcome of the check
+	 * @param format
+	 *            describes the failure
+	 * @param args
+	 *            arguments of the description
+	 */
+	static void check(boolean holds, String format, Object... args) {
+		if (!holds) {
+			throw new IllegalStateException(String.format(format, args));
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.github.astefanich.ringhunter.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.astefanich.ringhunter.nodes.Being;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.nodes.Place;
+import com.github.astefanich.ringhunter.nodes.Root;
+
+/**
+ * Builds large trees of known shape for benchmarks. {@link com.github.astefanich.ringhunter.trees.RandomTree}
+ * never grows past 85 nodes, which is too small to measure anything.
+ * 
+ * @author AndrewStefanich
+ */
+public final class SyntheticTrees {
+
+	/** description shared by every generated place */
+	private static final String DESCRIPTION = "a generated place";
+
+	/**
+	 * Not instantiable.
+	 */
+	private SyntheticTrees() {
+	}
+
+	/**
+	 * Builds a complete tree, where every node above the last level has fanOut children, and
+	 * gives the ring to the last leaf (the last node a depth-first search reaches).
+	 * 
+	 * @param fanOut
+	 *            children per node
+	 * @param depth
+	 *            levels below the root
+	 * @return the root
+	 */
+	public static MiddleEarthNode complete(int fanOut, int depth) {
+		final MiddleEarthNode root = new Root("Angmar", "realm of the Ringwraiths");
+		List<MiddleEarthNode> level = new ArrayList<>();
+		level.add(root);
+		int count = 0;
+		for (int d = 1; d < depth; d++) {
+			final List<MiddleEarthNode> next = new ArrayList<>(level.size() * fanOut);
+			for (MiddleEarthNode parent : level) {
+				for (int i = 0; i < fanOut; i++) {
+					next.add(new Place(parent, "Place " + count++, DESCRIPTION));
+				}
+			}
+			level = next;
+		}
+		final MiddleEarthNode adjacent = level.get(level.size() - 1);
+		for (MiddleEarthNode parent : level) {
+			for (int i = 0; i < fanOut; i++) {
+				if (parent != adjacent || i < fanOut - 1) {
+					new Place(parent, "Place " + count++, DESCRIPTION);
+				}
+			}
+		}
+		giveRing(adjacent);
+		return root;
+	}
+
+	/**
+	 * Builds a tree with a single branch, and gives the ring to the node at the bottom.
+	 * 
+	 * @param depth
+	 *            levels below the root, at least 1
+	 * @return the root
+	 */
+	public static MiddleEarthNode path(int depth) {
+		if (depth < 1) {
+			throw new IllegalArgumentException("depth must be at least 1");
+		}
+		final MiddleEarthNode root = new Root("Angmar", "realm of the Ringwraiths");
+		MiddleEarthNode last = root;
+		for (int d = 1; d < depth; d++) {
+			last = new Place(last, "Place " + d, DESCRIPTION);
+		}
+		giveRing(last);
+		return root;
+	}
+
+	/**
+	 * Builds a tree of one level, and gives the ring to the root's last child.
+	 * 
+	 * @param fanOut
+	 *            children of the root, at least 1
+	 * @return the root
+	 */
+	public static MiddleEarthNode star(int fanOut) {
+		if (fanOut < 1) {
+			throw new IllegalArgumentException("fanOut must be at least 1");
+		}
+		final MiddleEarthNode root = new Root("Angmar", "realm of the Ringwraiths");
+		for (int i = 1; i < fanOut; i++) {
+			new Place(root, "Place " + i, DESCRIPTION);
+		}
+		giveRing(root);
+		return root;
+	}
+
+	/**
+	 * Attaches Frodo, holding the ring, as the last child of a node.
+	 * 
+	 * @param adjacent
+	 *            the node which will be adjacent to the ring
+	 * @return Frodo
+	 */
+	static MiddleEarthNode giveRing(MiddleEarthNode adjacent) {
+		final MiddleEarthNode frodo = new Being(adjacent, "Frodo", "bearer of The One Ring");
+		frodo.setHasRing(true);
+		adjacent.setAdjacentToRing(true);
+		return frodo;
+	}
+
+}
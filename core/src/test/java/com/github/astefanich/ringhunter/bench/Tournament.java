@@ -0,0 +1,192 @@
+package com.github.astefanich.ringhunter.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import com.github.astefanich.ringhunter.hunters.AbstractRingHunter;
+import com.github.astefanich.ringhunter.hunters.HunterRegistry;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.nodes.TreeSnapshot;
+import com.github.astefanich.ringhunter.reports.SilentReportRenderer;
+import com.github.astefanich.ringhunter.trees.ProceduralTree;
+import com.github.astefanich.ringhunter.trees.RandomTree;
+
+/**
+ * Runs every hunter in the {@link HunterRegistry} over the same seeded trees, and prints how each
+ * one did, so the best hunter for each shape of tree can be picked. For each shape, one table
+ * row per hunter shows the mean nodes visited, the median and 90th percentile hunt time, the
+ * bytes allocated per hunt, the mean path length, and how many hunts did not end at the ring.
+ * <br>
+ * Hunters take turns, so they don't slow each other down. A single-threaded hunter's hunts run
+ * in parallel over the corpus, one hunter per worker thread; a hunter which searches with
+ * several threads of its own hunts one tree at a time, so its threads get the machine to
+ * themselves instead of competing with other workers' copies. Allocation is the growth of every
+ * thread's allocation counter during the turn, which also covers hunters with threads of their
+ * own. Procedural trees are created afresh for every hunt, so no hunter benefits from nodes
+ * another one materialized. <br>
+ * Usage: {@code Tournament [trees] [seed]}
+ * 
+ * @author AndrewStefanich
+ */
+public class Tournament {
+
+	/**
+	 * A shape of tree, and how to make the corpus of that shape.
+	 */
+	private enum Shape {
+
+		/** trees from {@link RandomTree}, as the game plays */
+		RANDOM {
+			@Override
+			Supplier<MiddleEarthNode> tree(long seed) {
+				final TreeSnapshot tree = TreeSnapshot.of(new RandomTree(seed).getTreeTop());
+				return tree::getRoot;
+			}
+		},
+
+		/** deep procedural trees with few children per node */
+		DEEP {
+			@Override
+			Supplier<MiddleEarthNode> tree(long seed) {
+				return () -> new ProceduralTree(seed, 2, 14).getTreeTop();
+			}
+		},
+
+		/** shallow procedural trees with many children per node */
+		WIDE {
+			@Override
+			Supplier<MiddleEarthNode> tree(long seed) {
+				return () -> new ProceduralTree(seed, 12, 4).getTreeTop();
+			}
+		};
+
+		/**
+		 * Makes one tree of the corpus.
+		 * 
+		 * @param seed
+		 *            seed of the tree
+		 * @return gives the root of the tree to each hunt
+		 */
+		abstract Supplier<MiddleEarthNode> tree(long seed);
+	}
+
+	/**
+	 * Runs the tournament.
+	 * 
+	 * @param args
+	 *            optional number of trees per shape, and seed
+	 */
+	public static void main(String[] args) {
+		final int trees = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		final long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+		final HunterRegistry registry = HunterRegistry.load();
+
+		for (Shape shape : Shape.values()) {
+			final List<Supplier<MiddleEarthNode>> corpus = new ArrayList<>(trees);
+			for (int i = 0; i < trees; i++) {
+				corpus.add(shape.tree(new SplittableRandom(seed + i).nextLong()));
+			}
+			System.out.println(String.format("%s: %d trees", shape, trees));
+			System.out.println(String.format("%-24s %12s %10s %10s %12s %8s %6s", "hunter", "mean visits", "p50 us",
+					"p90 us", "bytes/hunt", "path", "wrong"));
+			String fastest = null;
+			double fastestMedian = Double.MAX_VALUE;
+			for (String name : registry.getNames()) {
+				final double median = play(name, registry.supplierOf(name), corpus);
+				if (median < fastestMedian) {
+					fastestMedian = median;
+					fastest = name;
+				}
+			}
+			System.out.println(String.format("fastest: %s%n", fastest));
+		}
+	}
+
+	/**
+	 * Runs one hunter over the corpus twice, once to warm up and once measured, and prints its
+	 * row.
+	 * 
+	 * @param name
+	 *            the hunter's name
+	 * @param hunters
+	 *            creates the hunters
+	 * @param corpus
+	 *            the trees
+	 * @return the median hunt time, in microseconds
+	 */
+	private static double play(String name, Supplier<AbstractRingHunter> hunters,
+			List<Supplier<MiddleEarthNode>> corpus) {
+		final int size = corpus.size();
+		final long[] visits = new long[size];
+		final long[] nanos = new long[size];
+		final long[] pathLengths = new long[size];
+		final AtomicInteger wrong = new AtomicInteger();
+		//one hunter per worker, reused, so hunters which start threads don't start them for every hunt
+		final Queue<AbstractRingHunter> created = new ConcurrentLinkedQueue<>();
+		final ThreadLocal<AbstractRingHunter> hunter = ThreadLocal.withInitial(() -> {
+			final AbstractRingHunter h = hunters.get();
+			h.setRenderer(new SilentReportRenderer());
+			created.add(h);
+			return h;
+		});
+		final boolean parallel = hunter.get().getThreadCount() == 1;
+		long allocated = 0;
+		for (int round = 0; round < 2; round++) {
+			wrong.set(0);
+			final long allocatedBefore = allocatedBytes();
+			final IntStream hunts = IntStream.range(0, size);
+			(parallel ? hunts.parallel() : hunts).forEach(i -> {
+				final AbstractRingHunter h = hunter.get();
+				final MiddleEarthNode root = corpus.get(i).get();
+				final int visitedBefore = h.getNodesVisited();
+				final long start = System.nanoTime();
+				h.startAt(root);
+				nanos[i] = System.nanoTime() - start;
+				visits[i] = h.getNodesVisited() - visitedBefore;
+				final List<MiddleEarthNode> path = h.getPath();
+				pathLengths[i] = path.size();
+				if (path.isEmpty() || !path.get(path.size() - 1).hasRing()) {
+					wrong.incrementAndGet();
+				}
+			});
+			allocated = allocatedBytes() - allocatedBefore;
+		}
+		created.forEach(AbstractRingHunter::close);
+		Arrays.sort(nanos);
+		final double median = nanos[size / 2] / 1e3;
+		System.out.println(String.format("%-24s %12.1f %10.1f %10.1f %12d %8.2f %6d", name,
+				Arrays.stream(visits).average().orElse(0), median, nanos[(int) (size * 0.9)] / 1e3,
+				allocated / Math.max(1, size), Arrays.stream(pathLengths).average().orElse(0), wrong.get()));
+		return median;
+	}
+
+	/**
+	 * Gets the number of bytes allocated so far by every live thread, or 0 if this JVM cannot
+	 * tell.
+	 * 
+	 * @return the byte count
+	 */
+	static long allocatedBytes() {
+		final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+			return 0;
+		}
+		final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+		long total = 0;
+		for (long bytes : allocations.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+			if (bytes > 0) {  //-1 for threads which have died
+				total += bytes;
+			}
+		}
+		return total;
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.github.astefanich.ringhunter.bench;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.github.astefanich.ringhunter.export.DotExporter;
+import com.github.astefanich.ringhunter.export.GraphMLExporter;
+import com.github.astefanich.ringhunter.export.HuntOverlay;
+import com.github.astefanich.ringhunter.export.TreeExporter;
+import com.github.astefanich.ringhunter.hunters.AbstractRingHunter;
+import com.github.astefanich.ringhunter.hunters.HunterRegistry;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.reports.SilentReportRenderer;
+import com.github.astefanich.ringhunter.trace.TraceRecorder;
+import com.github.astefanich.ringhunter.trees.ProceduralTree;
+
+/**
+ * Hunts a procedural tree with a trace recorder attached, then exports the whole tree with the
+ * hunt overlaid, as DOT if the file name ends in .dot and as GraphML otherwise. The tree is first
+ * exported to a channel which discards everything, so every node exists before the measured
+ * export; the heap which is still in use after that export is what the exporter kept. Prints the
+ * node count, the file size, the throughput, and the bytes allocated and kept.
+ * <br>
+ * Usage: {@code TreeExport [file] [seed] [maxFanOut] [maxDepth] [hunter]}
+ * 
+ * @author AndrewStefanich
+ */
+public class TreeExport {
+
+	/** events the trace can hold; visits past these are left out of the overlay */
+	private static final int TRACE_CAPACITY = 1 << 20;
+
+	/**
+	 * Runs the export.
+	 * 
+	 * @param args
+	 *            optional file, seed, tree shape and hunter name
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		final Path file = Paths.get(args.length > 0 ? args[0] : "middle-earth.graphml");
+		final long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+		final int maxFanOut = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+		final int maxDepth = args.length > 3 ? Integer.parseInt(args[3]) : 9;
+		final HunterRegistry registry = HunterRegistry.load();
+		final AbstractRingHunter hunter = registry.create(args.length > 4 ? args[4] : registry.getDefaultName());
+		hunter.setRenderer(new SilentReportRenderer());
+
+		final ProceduralTree tree = new ProceduralTree(seed, maxFanOut, maxDepth);
+		final MiddleEarthNode root = tree.getTreeTop();
+		final HuntOverlay overlay;
+		try (TraceRecorder recorder = new TraceRecorder(TRACE_CAPACITY)) {
+			hunter.setTraceRecorder(recorder);
+			hunter.startAt(root);
+			overlay = HuntOverlay.of(hunter);
+		}
+		hunter.close();
+		final TreeExporter exporter = file.toString().endsWith(".dot") ? new DotExporter() : new GraphMLExporter();
+		exporter.setOverlay(overlay);
+		exporter.export(root, new WritableByteChannel() {
+
+			@Override
+			public boolean isOpen() {
+				return true;
+			}
+
+			@Override
+			public void close() {
+			}
+
+			@Override
+			public int write(ByteBuffer src) {
+				final int length = src.remaining();
+				src.position(src.limit());
+				return length;
+			}
+		});
+
+		final long heapBefore = usedHeap();
+		final long bytesBefore = Tournament.allocatedBytes();
+		final long start = System.nanoTime();
+		final long nodes = exporter.export(root, file);
+		final long nanos = System.nanoTime() - start;
+		final long allocated = Tournament.allocatedBytes() - bytesBefore;
+		final long kept = Math.max(0, usedHeap() - heapBefore);  //collections can free more than the export kept
+		final long size = Files.size(file);
+
+		System.out.println(String.format("%s: %d nodes (%d materialized), %d visited, path of %d", file, nodes,
+				tree.getMaterializedCount(), overlay.getVisitCount(), overlay.getPathLength()));
+		System.out.println(String.format("%.1f MB in %.1f ms (%.1f MB/s, %.0f ns per node)", size / 1e6, nanos / 1e6,
+				size / 1e6 / (nanos / 1e9), (double) nanos / nodes));
+		System.out.println(String.format("%.1f bytes allocated per node, %.1f KB kept after the export",
+				(double) allocated / nodes, kept / 1e3));
+	}
+
+	/**
+	 * Collects garbage, then gets the heap in use.
+	 * 
+	 * @return the used bytes
+	 */
+	private static long usedHeap() {
+		System.gc();
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.github.astefanich.ringhunter.bench;
+
+import com.github.astefanich.ringhunter.analytics.TreeAnalyzer;
+import com.github.astefanich.ringhunter.analytics.TreeStats;
+import com.github.astefanich.ringhunter.trees.RandomTree;
+
+/**
+ * Generates many trees with {@link RandomTree}, and prints what they look like: size, depth,
+ * retries, how deep the ring is and how often it can be reached, and the depth, fan-out and
+ * subtree size of their nodes. Use it to tune the generator, or to check that benchmark inputs
+ * match the trees the game produces.
+ * <br>
+ * Usage: {@code TreeSurvey [trees] [seed]}
+ * 
+ * @author AndrewStefanich
+ */
+public class TreeSurvey {
+
+	/**
+	 * Runs the survey.
+	 * 
+	 * @param args
+	 *            optional number of trees and seed
+	 */
+	public static void main(String[] args) {
+		final long trees = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+		final long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+
+		final long start = System.nanoTime();
+		final TreeStats stats = TreeAnalyzer.survey(trees, seed);
+		final double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(stats);
+		System.out.println(String.format("%.2f s, %.0f trees/s", seconds, trees / seconds));
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.github.astefanich.ringhunter.render;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.abego.treelayout.TreeForTreeLayout;
+import org.abego.treelayout.TreeLayout;
+
+import com.github.astefanich.ringhunter.export.NodeCoordinates;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+
+/**
+ * The positions a {@link TreeLayout} gave the nodes of a tree, as the centers of their boxes. A
+ * cached layout may have been made for another tree of the same shape, so the two trees are
+ * walked side by side and each node takes the box of the node in the same place.
+ * 
+ * @author AndrewStefanich
+ */
+final class LayoutCoordinates implements NodeCoordinates {
+
+	/** box of each node of the tree */
+	private final Map<MiddleEarthNode, Rectangle2D.Double> bounds = new IdentityHashMap<>();
+
+	/**
+	 * Takes the positions of a tree's nodes from a layout.
+	 * 
+	 * @param layout
+	 *            a layout of a tree shaped like root's
+	 * @param root
+	 *            the root of the tree
+	 */
+	LayoutCoordinates(TreeLayout<MiddleEarthNode> layout, MiddleEarthNode root) {
+		final TreeForTreeLayout<MiddleEarthNode> laidOut = layout.getTree();
+		final Map<MiddleEarthNode, Rectangle2D.Double> boxes = layout.getNodeBounds();
+		final Deque<MiddleEarthNode[]> stack = new ArrayDeque<>();  //pairs of a node and its laid out twin
+		stack.push(new MiddleEarthNode[] { root, laidOut.getRoot() });
+		while (!stack.isEmpty()) {
+			final MiddleEarthNode[] pair = stack.pop();
+			bounds.put(pair[0], boxes.get(pair[1]));
+			final Iterator<MiddleEarthNode> twins = laidOut.getChildren(pair[1]).iterator();
+			for (MiddleEarthNode child : pair[0].getChildren()) {
+				if (!twins.hasNext()) {
+					break;
+				}
+				stack.push(new MiddleEarthNode[] { child, twins.next() });
+			}
+		}
+	}
+
+	/**
+	 * Gets the horizontal position of the center of a node's box.
+	 * 
+	 * @param node
+	 *            a node of the tree
+	 * @return the position, or {@link Double#NaN} if the node was not laid out
+	 */
+	@Override
+	public double getX(MiddleEarthNode node) {
+		final Rectangle2D.Double box = bounds.get(node);
+		return box == null ? Double.NaN : box.getCenterX();
+	}
+
+	/**
+	 * Gets the vertical position of the center of a node's box.
+	 * 
+	 * @param node
+	 *            a node of the tree
+	 * @return the position, or {@link Double#NaN} if the node was not laid out
+	 */
+	@Override
+	public double getY(MiddleEarthNode node) {
+		final Rectangle2D.Double box = bounds.get(node);
+		return box == null ? Double.NaN : box.getCenterY();
+	}
+
+}
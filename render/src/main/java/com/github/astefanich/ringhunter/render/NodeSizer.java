@@ -1,4 +1,4 @@
-package com.github.astefanich.ringhunter.trees;
+package com.github.astefanich.ringhunter.render;
 
 import org.abego.treelayout.NodeExtentProvider;
 
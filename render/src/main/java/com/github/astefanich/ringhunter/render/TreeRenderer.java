@@ -0,0 +1,128 @@
+package com.github.astefanich.ringhunter.render;
+
+import java.awt.Component;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.abego.treelayout.TreeLayout;
+import org.abego.treelayout.util.DefaultConfiguration;
+import org.abego.treelayout.util.DefaultTreeForTreeLayout;
+
+import com.github.astefanich.ringhunter.cache.LruCache;
+import com.github.astefanich.ringhunter.events.LayoutEvent;
+import com.github.astefanich.ringhunter.export.NodeCoordinates;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.nodes.StructuralHash;
+import com.github.astefanich.ringhunter.nodes.TreeDiff;
+
+/**
+ * Lays out trees and draws them with a {@link TreeVisualizer}. The renderer hands back the same
+ * component every time, so drawing the tree again after the ring was relocated only repaints the
+ * subtrees that changed. A tree which looks the same as one this renderer drew recently reuses
+ * its layout. A layout holds every node of its tree, so the cache is bounded by the nodes its
+ * layouts hold rather than by their number, and is dropped with the renderer.
+ * 
+ * @author AndrewStefanich
+ */
+public class TreeRenderer {
+
+	/** the most nodes the cached layouts hold between them */
+	private static final int MAX_CACHED_NODES = 1 << 16;
+
+	/** layouts of recently drawn trees, keyed by {@link StructuralHash} and weighed by node count */
+	private final LruCache<Long, TreeLayout<MiddleEarthNode>> layouts = new LruCache<>(MAX_CACHED_NODES,
+			layout -> layout.getNodeBounds().size());
+
+	/** the component returned by the last call to getTreeGraphic() */
+	private TreeVisualizer treeGraphic;
+
+	/** hashes of the tree treeGraphic is drawing */
+	private StructuralHash drawnTree;
+
+	/**
+	 * Copies the current shape of a tree (which may have changed since it was generated, if the
+	 * ring was relocated) into a tree for printing use.
+	 * 
+	 * @param root
+	 *            the root of the tree
+	 * @return the printable tree
+	 */
+	private static DefaultTreeForTreeLayout<MiddleEarthNode> buildTreeToVisualize(MiddleEarthNode root) {
+		final DefaultTreeForTreeLayout<MiddleEarthNode> treeToVisualize = new DefaultTreeForTreeLayout<MiddleEarthNode>(
+				root);
+		final Deque<MiddleEarthNode> stack = new ArrayDeque<>();
+		stack.push(root);
+		while (!stack.isEmpty()) {
+			final MiddleEarthNode node = stack.pop();
+			for (MiddleEarthNode child : node.getChildren()) {
+				treeToVisualize.addChild(node, child);
+				stack.push(child);
+			}
+		}
+		return treeToVisualize;
+	}
+
+	/**
+	 * Gets a tree as a graphic.
+	 * 
+	 * @param root
+	 *            the root of the tree
+	 * @return the tree component
+	 */
+	public Component getTreeGraphic(MiddleEarthNode root) {
+		if (root == null) {
+			throw new IllegalArgumentException("root must not be null");
+		}
+		final LayoutEvent event = new LayoutEvent();
+		event.begin();
+		final StructuralHash tree = StructuralHash.of(root);
+		final TreeLayout<MiddleEarthNode> layout = layoutOf(tree, root);
+		if (treeGraphic == null) {
+			treeGraphic = new TreeVisualizer(layout);
+		} else {
+			treeGraphic.setTreeLayout(layout, TreeDiff.between(drawnTree, tree));
+		}
+		drawnTree = tree;
+		event.end();
+		if (event.shouldCommit()) {
+			event.setTreeSize(tree.size());
+			event.setTreeDepth(tree.getDepth());
+			event.commit();
+		}
+		return treeGraphic;
+	}
+
+	/**
+	 * Gets the positions the nodes of a tree are drawn at, for exporting with the tree.
+	 * 
+	 * @param root
+	 *            the root of the tree
+	 * @return the center of each node's box, in the coordinates of the tree graphic
+	 */
+	public NodeCoordinates getCoordinates(MiddleEarthNode root) {
+		if (root == null) {
+			throw new IllegalArgumentException("root must not be null");
+		}
+		return new LayoutCoordinates(layoutOf(StructuralHash.of(root), root), root);
+	}
+
+	/**
+	 * Gets the layout of a tree, from the cache if one of the same shape was laid out recently.
+	 * 
+	 * @param tree
+	 *            the hashes of the tree
+	 * @param root
+	 *            the root of the tree
+	 * @return the layout
+	 */
+	private TreeLayout<MiddleEarthNode> layoutOf(StructuralHash tree, MiddleEarthNode root) {
+		TreeLayout<MiddleEarthNode> layout = layouts.get(tree.getRootHash());
+		if (layout == null) {
+			layout = new TreeLayout<MiddleEarthNode>(buildTreeToVisualize(root), new NodeSizer(),
+					new DefaultConfiguration<MiddleEarthNode>(70, 15));
+			layouts.put(tree.getRootHash(), layout);
+		}
+		return layout;
+	}
+
+}
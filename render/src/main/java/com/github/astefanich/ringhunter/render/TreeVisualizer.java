@@ -0,0 +1,259 @@
+package com.github.astefanich.ringhunter.render;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+
+import javax.swing.JComponent;
+
+import org.abego.treelayout.TreeForTreeLayout;
+import org.abego.treelayout.TreeLayout;
+
+import com.github.astefanich.ringhunter.events.PaintEvent;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.nodes.TreeDiff;
+
+/**
+ * Utility class for printing a tree
+ * 
+ * @author AndrewStefanich
+ */
+@SuppressWarnings("serial")
+public class TreeVisualizer extends JComponent {
+
+	/** the layout */
+	private TreeLayout<MiddleEarthNode> treeLayout;
+
+	private final static int ARC_SIZE = 10;
+	private final static Color BOX_COLOR = Color.orange;
+	private final static Color BORDER_COLOR = Color.darkGray;
+	private final static Color TEXT_COLOR = Color.black;
+
+	/**
+	 * Specifies the tree to be displayed by passing in a {@link TreeLayout} for
+	 * that tree.
+	 * 
+	 * @param treeLayout
+	 *            the {@link TreeLayout} to be displayed
+	 */
+	public TreeVisualizer(TreeLayout<MiddleEarthNode> treeLayout) {
+		this.treeLayout = treeLayout;
+
+		Dimension size = treeLayout.getBounds().getBounds().getSize();
+		setPreferredSize(size);
+	}
+
+	/**
+	 * Replaces the tree being displayed, and repaints only the parts of the component which
+	 * changed: the subtrees the diff found, and any node the new layout moved, along with the
+	 * edges to them. If the size of the tree changed, everything is repainted.
+	 * 
+	 * @param newLayout
+	 *            the {@link TreeLayout} of the new tree
+	 * @param diff
+	 *            the differences between the tree being displayed and the new one
+	 */
+	public void setTreeLayout(TreeLayout<MiddleEarthNode> newLayout, TreeDiff diff) {
+		final TreeLayout<MiddleEarthNode> oldLayout = treeLayout;
+		treeLayout = newLayout;
+		final Dimension size = newLayout.getBounds().getBounds().getSize();
+		if (!size.equals(getPreferredSize())) {
+			setPreferredSize(size);
+			revalidate();
+			repaint();
+			return;
+		}
+		final Map<MiddleEarthNode, Rectangle2D.Double> oldBounds = oldLayout.getNodeBounds();
+		final Map<MiddleEarthNode, Rectangle2D.Double> newBounds = newLayout.getNodeBounds();
+		Rectangle dirty = null;
+		for (MiddleEarthNode node : diff.getChangedBefore()) {
+			dirty = include(dirty, oldBounds.get(node));
+		}
+		for (MiddleEarthNode node : diff.getChangedAfter()) {
+			dirty = include(dirty, newBounds.get(node));
+		}
+		//unchanged subtrees may still have been moved over by the layout
+		final Deque<MiddleEarthNode> stack = new ArrayDeque<>();
+		stack.push(newLayout.getTree().getRoot());
+		while (!stack.isEmpty()) {
+			final MiddleEarthNode parent = stack.pop();
+			for (MiddleEarthNode child : newLayout.getTree().getChildren(parent)) {
+				final Rectangle2D.Double before = oldBounds.get(child);
+				final Rectangle2D.Double after = newBounds.get(child);
+				if (before == null || !before.equals(after)) {  //the edge from the parent moved too
+					dirty = include(include(include(dirty, before), after), newBounds.get(parent));
+					dirty = include(dirty, oldBounds.get(parent));
+				}
+				stack.push(child);
+			}
+		}
+		if (dirty != null) {
+			repaint(dirty);
+		}
+	}
+
+	/**
+	 * Grows a region to include a node's box.
+	 * 
+	 * @param region
+	 *            the region so far, or null if empty
+	 * @param box
+	 *            the box, or null if the node is not in the layout
+	 * @return the grown region
+	 */
+	private static Rectangle include(Rectangle region, Rectangle2D.Double box) {
+		if (box == null) {
+			return region;
+		}
+		final Rectangle bounds = box.getBounds();
+		if (region == null) {
+			return bounds;
+		}
+		region.add(bounds);
+		return region;
+	}
+
+	/**
+	 * the tree
+	 * 
+	 * @return the tree instance
+	 */
+	private TreeForTreeLayout<MiddleEarthNode> getTree() {
+		return treeLayout.getTree();
+	}
+
+	/**
+	 * Gets children
+	 * 
+	 * @param parent
+	 *            the parent node
+	 * @return collection of children
+	 */
+	private Iterable<MiddleEarthNode> getChildren(MiddleEarthNode parent) {
+		return getTree().getChildren(parent);
+	}
+
+	/**
+	 * Gets the numeric bounds of the node, for printing
+	 * 
+	 * @param node
+	 *            the node
+	 * @return the rectangle (can be a border)
+	 */
+	private Rectangle2D.Double getBoundsOfNode(MiddleEarthNode node) {
+		return treeLayout.getNodeBounds().get(node);
+	}
+
+	/**
+	 * paints the branches, walking the tree with an array-backed stack so deep trees can't
+	 * overflow the call stack
+	 * 
+	 * @param g
+	 *            graphics
+	 * @param root
+	 *            the root node
+	 */
+	private void paintEdges(Graphics g, MiddleEarthNode root) {
+		final TreeForTreeLayout<MiddleEarthNode> tree = getTree();
+		MiddleEarthNode[] stack = new MiddleEarthNode[16];
+		int top = 0;
+		stack[top++] = root;
+		while (top > 0) {
+			final MiddleEarthNode parent = stack[--top];
+			stack[top] = null;
+			if (tree.isLeaf(parent)) {
+				continue;
+			}
+			Rectangle2D.Double b1 = getBoundsOfNode(parent);
+			double x1 = b1.getCenterX();
+			double y1 = b1.getCenterY();
+			for (MiddleEarthNode child : getChildren(parent)) {
+				Rectangle2D.Double b2 = getBoundsOfNode(child);
+				g.drawLine((int) x1, (int) y1, (int) b2.getCenterX(),
+						(int) b2.getCenterY());
+
+				if (top == stack.length) {
+					stack = Arrays.copyOf(stack, top * 2);
+				}
+				stack[top++] = child;
+			}
+		}
+	}
+
+	/**
+	 * paints the boxes, which represent nodes
+	 * 
+	 * @param g
+	 *            graphics
+	 * @param node
+	 *            the node
+	 */
+	private void paintBox(Graphics g, MiddleEarthNode node) {
+		// draw the box in the background
+		if (node.getName().equals("Frodo")) {
+			g.setColor(Color.GREEN);
+		} else {
+			g.setColor(BOX_COLOR);
+		}
+		Rectangle2D.Double box = getBoundsOfNode(node);
+		g.fillRoundRect((int) box.x, (int) box.y, (int) box.width - 1,
+				(int) box.height - 1, ARC_SIZE, ARC_SIZE);
+		g.setColor(BORDER_COLOR);
+		g.drawRoundRect((int) box.x, (int) box.y, (int) box.width - 1,
+				(int) box.height - 1, ARC_SIZE, ARC_SIZE);
+
+		// draw the text on top of the box (possibly multiple lines)
+		g.setColor(TEXT_COLOR);
+		String[] tokens = node.getName().split(" ");
+		FontMetrics m = getFontMetrics(getFont());
+		int x = (int) box.x + ARC_SIZE / 2;
+		int y = (int) box.y + m.getAscent() + m.getLeading() + 1;
+		for (int i = 0; i < tokens.length; i++) {
+			if (!tokens[i].equals("the") && !tokens[i].equals("of")) {
+				g.drawString(tokens[i], x, y);
+				y += m.getHeight();
+			}
+		}
+	}
+
+	/**
+	 * Paints ths tree
+	 * 
+	 * @param g
+	 *            graphics
+	 */
+	@Override
+	public void paint(Graphics g) {
+		final PaintEvent event = new PaintEvent();
+		event.begin();
+		super.paint(g);
+
+		//paint the structure
+		paintEdges(g, getTree().getRoot());
+		// paint the nodes' names (with a smaller font)
+		Font currentFont = g.getFont();
+		Font newFont = currentFont.deriveFont(currentFont.getSize() * .7F);  //names print in a smaller font
+		g.setFont(newFont);
+		final Rectangle clip = g.getClipBounds();
+		for (Map.Entry<MiddleEarthNode, Rectangle2D.Double> node : treeLayout.getNodeBounds().entrySet()) {
+			if (clip == null || node.getValue().intersects(clip)) {  //only repaint what changed
+				paintBox(g, node.getKey());
+			}
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.setTreeSize(treeLayout.getNodeBounds().size());
+			event.setTreeDepth(treeLayout.getLevelCount() - 1);
+			event.setArea(getWidth(), getHeight());
+			event.commit();
+		}
+	}
+}
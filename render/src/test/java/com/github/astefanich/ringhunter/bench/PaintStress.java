@@ -0,0 +1,187 @@
+package com.github.astefanich.ringhunter.bench;
+
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.render.TreeRenderer;
+import com.github.astefanich.ringhunter.render.TreeVisualizer;
+
+/**
+ * Paints extremely deep and extremely wide trees with a {@link TreeVisualizer}, on a thread with
+ * the same small call stack as {@link StressSuite}, and checks how the painting time grows with
+ * the size of the tree. Each tree is laid out beforehand on a thread with a large stack, since
+ * the layout library recurses once per level; painting walks the tree without recursion, so it
+ * must not need one. The tree is painted into a small image: every edge is drawn (and clipped),
+ * but only the boxes in view. <br>
+ * Painting is timed at its fastest of a few runs, and the scaling exponent is estimated from the
+ * smallest and largest tree, as in {@link StressSuite}. An exponent above
+ * {@value StressSuite#MAX_EXPONENT}, or a failure to paint, ends the run with a non-zero exit
+ * status. Needs no display; run with {@code -Djava.awt.headless=true}. <br>
+ * Usage: {@code PaintStress [size...]} (default 1000 10000 100000)
+ * 
+ * @author AndrewStefanich
+ */
+public class PaintStress {
+
+	/** call stack size of the thread which lays the trees out */
+	private static final long LAYOUT_STACK_BYTES = 1L << 30;
+
+	/** font to paint with, since a component outside a window has none */
+	private static final Font FONT = new Font(Font.DIALOG, Font.PLAIN, 12);
+
+	/** width and height of the image painted into */
+	private static final int CANVAS_SIZE = 256;
+
+	/**
+	 * The extreme shapes of tree.
+	 */
+	private enum Shape {
+
+		/** a single branch, with the ring at the bottom */
+		PATH(SyntheticTrees::path),
+
+		/** one level, with the ring as the root's last child */
+		STAR(SyntheticTrees::star);
+
+		/** builds a tree of this shape from its size parameter */
+		private final IntFunction<MiddleEarthNode> builder;
+
+		/**
+		 * Creates a shape.
+		 * 
+		 * @param builder
+		 *            builds a tree of this shape
+		 */
+		Shape(IntFunction<MiddleEarthNode> builder) {
+			this.builder = builder;
+		}
+	}
+
+	/**
+	 * Runs the suite.
+	 * 
+	 * @param args
+	 *            optional size parameters, smallest first
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for a tree to be laid out or painted
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		final int[] sizes = args.length == 0 ? new int[] { 1_000, 10_000, 100_000 } : new int[args.length];
+		for (int i = 0; i < args.length; i++) {
+			sizes[i] = Integer.parseInt(args[i]);
+		}
+		final BufferedImage canvas = new BufferedImage(CANVAS_SIZE, CANVAS_SIZE, BufferedImage.TYPE_INT_RGB);
+		try {
+			for (Shape shape : Shape.values()) {
+				final Component graphic = layOut(shape, sizes[0]);
+				onThread(StressSuite.STACK_BYTES, () -> paint(graphic, canvas));  //warm up
+			}
+			System.out.println(String.format("%-6s %9s %10s %10s", "shape", "nodes", "ms", "ns/node"));
+			final StringBuilder tooSlow = new StringBuilder();
+			for (Shape shape : Shape.values()) {
+				final long[] nanos = new long[sizes.length];
+				for (int s = 0; s < sizes.length; s++) {
+					final Component graphic = layOut(shape, sizes[s]);
+					nanos[s] = Long.MAX_VALUE;
+					for (int run = 0; run < StressSuite.RUNS; run++) {
+						nanos[s] = Math.min(nanos[s], onThread(StressSuite.STACK_BYTES, () -> paint(graphic, canvas)));
+					}
+					System.out.println(String.format("%-6s %9d %10.1f %10.1f", shape, sizes[s] + 1, nanos[s] / 1e6,
+							(double) nanos[s] / (sizes[s] + 1)));
+				}
+				if (sizes.length > 1) {
+					final double exponent = StressSuite.exponent(sizes[0] + 1, nanos[0], sizes[sizes.length - 1] + 1,
+							nanos[sizes.length - 1]);
+					final boolean slow = exponent > StressSuite.MAX_EXPONENT;
+					System.out.println(String.format("%-6s scaling of paint n^%.2f%s", shape, exponent,
+							slow ? "  TOO SLOW" : ""));
+					if (slow) {
+						tooSlow.append(' ').append(shape);
+					}
+				}
+				System.out.println();
+			}
+			StressSuite.check(tooSlow.length() == 0, "painting grows faster than n^%.2f for%s",
+					StressSuite.MAX_EXPONENT, tooSlow);
+		} catch (IllegalStateException e) {
+			System.out.println("FAILED: " + e.getMessage());
+			e.printStackTrace();
+			System.exit(1);
+		}
+		System.out.println("all checks passed");
+	}
+
+	/**
+	 * Builds a tree and lays it out, on a thread with a large stack.
+	 * 
+	 * @param shape
+	 *            shape of the tree
+	 * @param size
+	 *            size parameter of the tree
+	 * @return the component which paints the tree
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the layout
+	 */
+	private static Component layOut(Shape shape, int size) throws InterruptedException {
+		return onThread(LAYOUT_STACK_BYTES, () -> {
+			final Component graphic = new TreeRenderer().getTreeGraphic(shape.builder.apply(size));
+			graphic.setSize(graphic.getPreferredSize());
+			graphic.setFont(FONT);
+			return graphic;
+		});
+	}
+
+	/**
+	 * Paints a tree into an image.
+	 * 
+	 * @param graphic
+	 *            the component which paints the tree
+	 * @param canvas
+	 *            the image
+	 * @return nanoseconds taken
+	 */
+	private static long paint(Component graphic, BufferedImage canvas) {
+		final Graphics2D g = canvas.createGraphics();
+		try {
+			g.setClip(0, 0, CANVAS_SIZE, CANVAS_SIZE);
+			final long start = System.nanoTime();
+			graphic.paint(g);
+			return System.nanoTime() - start;
+		} finally {
+			g.dispose();
+		}
+	}
+
+	/**
+	 * Runs a task on a new thread with a given call stack size, and waits for it.
+	 * 
+	 * @param <T>
+	 *            type of the task's result
+	 * @param stackBytes
+	 *            call stack size of the thread
+	 * @param task
+	 *            the task
+	 * @return what the task returned
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the task
+	 */
+	private static <T> T onThread(long stackBytes, Supplier<T> task) throws InterruptedException {
+		final AtomicReference<T> result = new AtomicReference<>();
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		final Thread thread = new Thread(null, () -> result.set(task.get()), "paint stress", stackBytes);
+		thread.setUncaughtExceptionHandler((t, e) -> failure.set(e));
+		thread.start();
+		thread.join();
+		if (failure.get() != null) {
+			throw new IllegalStateException(failure.get().toString(), failure.get());
+		}
+		return result.get();
+	}
+
+}
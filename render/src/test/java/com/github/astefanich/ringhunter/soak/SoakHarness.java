@@ -0,0 +1,301 @@
+package com.github.astefanich.ringhunter.soak;
+
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import com.github.astefanich.ringhunter.hunters.AbstractRingHunter;
+import com.github.astefanich.ringhunter.hunters.HunterRegistry;
+import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.render.TreeRenderer;
+import com.github.astefanich.ringhunter.reports.SilentReportRenderer;
+import com.github.astefanich.ringhunter.trees.RandomTree;
+
+/**
+ * Runs every phase of the game many times, measures the bytes allocated and the latency of each
+ * operation, and fails if a phase goes over its budget. The phases are tree generation
+ * ({@code generate}), a hunt by each registered hunter ({@code hunt.<class name>}), tree layout
+ * ({@code layout}) and painting the tree into an offscreen image ({@code paint}). <br>
+ * Budgets are read from a properties file: {@code <phase>.bytesPerOp} caps the mean allocation
+ * per operation, {@code <phase>.p99Micros} caps the 99th percentile latency, and
+ * {@code gc.totalMillis} caps the time spent in garbage collection over the measured run. A
+ * measurement without a budget is reported but never fails. Latency depends on the machine and
+ * whatever else runs on it, where allocation does not, so set latency budgets only for a known
+ * machine. {@code iterations}, {@code warmup} and {@code seed} set the length of the run. <br>
+ * Allocation is the growth of every thread's allocation counter, so hunters with threads of their
+ * own are covered. Painting needs no display; run with {@code -Djava.awt.headless=true}. <br>
+ * Usage: {@code SoakHarness [budgets file]} (default src/test/soak/budgets.properties)
+ * 
+ * @author AndrewStefanich
+ */
+public class SoakHarness {
+
+	/** one phase of the game, measured separately */
+	private static final class Phase {
+
+		/** the name, which prefixes its budget keys */
+		private final String name;
+
+		/** the time of each measured operation */
+		private final long[] nanos;
+
+		/** bytes allocated by the measured operations */
+		private long bytes;
+
+		/** number of operations measured */
+		private int count;
+
+		/**
+		 * Creates a phase.
+		 * 
+		 * @param name
+		 *            the name
+		 * @param iterations
+		 *            the number of operations which will be measured
+		 */
+		Phase(String name, int iterations) {
+			this.name = name;
+			this.nanos = new long[iterations];
+		}
+	}
+
+	/** the font a window would give the tree graphic, which has none of its own outside one */
+	private static final Font FONT = new Font(Font.DIALOG, Font.PLAIN, 12);
+
+	/** the budgets */
+	private final Properties budgets;
+
+	/** the phases, in the order they run */
+	private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+	/** budgets that were exceeded */
+	private final List<String> breaches = new ArrayList<>();
+
+	/** the offscreen image the tree is painted into, grown when a tree does not fit */
+	private BufferedImage canvas = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+
+	/** bytes the allocation counters report for reading them, taken off every measurement */
+	private long counterOverhead;
+
+	/**
+	 * Creates a harness.
+	 * 
+	 * @param budgets
+	 *            the budgets and run length
+	 */
+	public SoakHarness(Properties budgets) {
+		this.budgets = budgets;
+	}
+
+	/**
+	 * Runs the harness, and exits with a failure status if any budget is exceeded.
+	 * 
+	 * @param args
+	 *            optional path of the budgets file
+	 * @throws IOException
+	 *             if the budgets cannot be read
+	 */
+	public static void main(String[] args) throws IOException {
+		final Properties budgets = new Properties();
+		try (Reader in = Files.newBufferedReader(Paths.get(args.length > 0 ? args[0] : "src/test/soak/budgets.properties"),
+				StandardCharsets.UTF_8)) {
+			budgets.load(in);
+		}
+		final List<String> breaches = new SoakHarness(budgets).run();
+		if (!breaches.isEmpty()) {
+			System.out.println("BUDGETS EXCEEDED:");
+			breaches.forEach(breach -> System.out.println("  " + breach));
+			System.exit(1);
+		}
+		System.out.println("all phases within budget");
+	}
+
+	/**
+	 * Runs the warm-up and the measured iterations, prints a row per phase, and checks the
+	 * budgets.
+	 * 
+	 * @return the budgets that were exceeded, empty if none
+	 */
+	public List<String> run() {
+		final int iterations = Integer.parseInt(budgets.getProperty("iterations", "2000"));
+		final int warmup = Integer.parseInt(budgets.getProperty("warmup", "500"));
+		final long seed = Long.parseLong(budgets.getProperty("seed", "0"));
+
+		final RandomTree generator = new RandomTree(seed);
+		final HunterRegistry registry = HunterRegistry.load();
+		final List<AbstractRingHunter> hunters = new ArrayList<>();
+		for (String name : registry.getNames()) {
+			final AbstractRingHunter hunter = registry.create(name);
+			hunter.setRenderer(new SilentReportRenderer());
+			hunters.add(hunter);
+		}
+		final TreeRenderer renderer = new TreeRenderer();
+
+		phases.clear();
+		breaches.clear();
+		for (int i = 0; i < warmup; i++) {
+			iterate(generator, hunters, renderer, false);
+		}
+		counterOverhead = Long.MAX_VALUE;
+		for (int i = 0; i < 100; i++) {
+			counterOverhead = Math.min(counterOverhead, -allocatedBytes() + allocatedBytes());
+		}
+		final long gcBefore = gcMillis();
+		for (int i = 0; i < iterations; i++) {
+			iterate(generator, hunters, renderer, true);
+		}
+		final long gcTotal = gcMillis() - gcBefore;
+		hunters.forEach(AbstractRingHunter::close);
+
+		System.out.println(String.format("%-28s %12s %12s %12s %12s", "phase", "bytes/op", "budget", "p99 us",
+				"budget"));
+		for (Phase phase : phases.values()) {
+			Arrays.sort(phase.nanos, 0, phase.count);
+			final long bytesPerOp = phase.bytes / Math.max(1, phase.count);
+			final double p99 = phase.nanos[(int) Math.min(phase.count - 1, phase.count * 0.99)] / 1e3;
+			System.out.println(String.format("%-28s %12d %12s %12.1f %12s", phase.name, bytesPerOp,
+					check(phase.name + ".bytesPerOp", bytesPerOp), p99, check(phase.name + ".p99Micros", p99)));
+		}
+		System.out.println(String.format("%-28s %12d ms, budget %s", "gc", gcTotal, check("gc.totalMillis", gcTotal)));
+		return new ArrayList<>(breaches);
+	}
+
+	/**
+	 * Runs every phase once.
+	 * 
+	 * @param generator
+	 *            generates the tree
+	 * @param hunters
+	 *            one of each registered hunter
+	 * @param renderer
+	 *            lays out and draws the tree
+	 * @param measured
+	 *            false during the warm-up
+	 */
+	private void iterate(RandomTree generator, List<AbstractRingHunter> hunters, TreeRenderer renderer,
+			boolean measured) {
+		long bytes = allocatedBytes();
+		long start = System.nanoTime();
+		final MiddleEarthNode root = generator.getTreeTop();
+		record("generate", start, bytes, measured);
+
+		for (AbstractRingHunter hunter : hunters) {
+			bytes = allocatedBytes();
+			start = System.nanoTime();
+			hunter.startAt(root);
+			record("hunt." + hunter.getClass().getSimpleName(), start, bytes, measured);
+		}
+
+		bytes = allocatedBytes();
+		start = System.nanoTime();
+		final Component graphic = renderer.getTreeGraphic(root);
+		graphic.setSize(graphic.getPreferredSize());
+		record("layout", start, bytes, measured);
+
+		//painting into a reused image keeps the image itself out of the measurement
+		graphic.setFont(FONT);
+		if (canvas.getWidth() < graphic.getWidth() || canvas.getHeight() < graphic.getHeight()) {
+			canvas = new BufferedImage(Math.max(canvas.getWidth(), graphic.getWidth()),
+					Math.max(canvas.getHeight(), graphic.getHeight()), BufferedImage.TYPE_INT_RGB);
+		}
+		bytes = allocatedBytes();
+		start = System.nanoTime();
+		final Graphics2D g = canvas.createGraphics();
+		g.setClip(0, 0, graphic.getWidth(), graphic.getHeight());
+		graphic.paint(g);
+		g.dispose();
+		record("paint", start, bytes, measured);
+	}
+
+	/**
+	 * Records one operation of a phase.
+	 * 
+	 * @param name
+	 *            the phase
+	 * @param start
+	 *            {@link System#nanoTime()} when the operation started
+	 * @param bytesBefore
+	 *            {@link #allocatedBytes()} when the operation started
+	 * @param measured
+	 *            false during the warm-up, when nothing is recorded
+	 */
+	private void record(String name, long start, long bytesBefore, boolean measured) {
+		final long now = System.nanoTime();
+		if (measured) {
+			final long bytes = Math.max(0, allocatedBytes() - bytesBefore - counterOverhead);
+			final Phase phase = phases.computeIfAbsent(name,
+					n -> new Phase(n, Integer.parseInt(budgets.getProperty("iterations", "2000"))));
+			phase.nanos[phase.count++] = now - start;
+			phase.bytes += bytes;
+		}
+	}
+
+	/**
+	 * Compares a measurement to its budget, and notes a breach.
+	 * 
+	 * @param key
+	 *            the budget's key
+	 * @param value
+	 *            the measurement
+	 * @return the budget, or "-" if there is none
+	 */
+	private String check(String key, double value) {
+		final String budget = budgets.getProperty(key);
+		if (budget == null) {
+			return "-";
+		}
+		if (value > Double.parseDouble(budget)) {
+			breaches.add(String.format("%s: %.1f > %s", key, value, budget));
+		}
+		return budget;
+	}
+
+	/**
+	 * Gets the total time every garbage collector has spent collecting.
+	 * 
+	 * @return the time, in milliseconds
+	 */
+	private static long gcMillis() {
+		long total = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			total += Math.max(0, collector.getCollectionTime());  //-1 if a collector cannot tell
+		}
+		return total;
+	}
+
+	/**
+	 * Gets the number of bytes allocated so far by every live thread, or 0 if this JVM cannot
+	 * tell.
+	 * 
+	 * @return the byte count
+	 */
+	private static long allocatedBytes() {
+		final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+			return 0;
+		}
+		final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+		long total = 0;
+		for (long bytes : allocations.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+			if (bytes > 0) {  //-1 for threads which have died
+				total += bytes;
+			}
+		}
+		return total;
+	}
+
+}
@@ -0,0 +1,129 @@
+package com.github.astefanich.ringhunter.driver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+
+/**
+ * List model which holds a hunter's report one line per row. Text is appended as it is produced;
+ * each completed line becomes a new row and only the rows being added are announced to listeners,
+ * so a {@link javax.swing.JList} showing this model lays out and paints only the visible rows no
+ * matter how long the report grows.
+ * 
+ * @author AndrewStefanich
+ */
+@SuppressWarnings("serial")
+class ReportListModel extends AbstractListModel<String> implements Appendable {
+
+	/** completed lines of the report */
+	private final List<String> lines = new ArrayList<>();
+
+	/** text after the last line break, which becomes a row once its line is completed */
+	private final StringBuilder pending = new StringBuilder();
+
+	/**
+	 * Gets the number of completed lines.
+	 * 
+	 * @return the line count
+	 */
+	@Override
+	public int getSize() {
+		return lines.size();
+	}
+
+	/**
+	 * Gets a completed line.
+	 * 
+	 * @param index
+	 *            the row
+	 * @return the line, without its line break
+	 */
+	@Override
+	public String getElementAt(int index) {
+		return lines.get(index);
+	}
+
+	/**
+	 * Appends text to the report. Every line break completes a row.
+	 * 
+	 * @param csq
+	 *            the text to append
+	 * @return this model
+	 */
+	@Override
+	public ReportListModel append(CharSequence csq) {
+		return append(csq, 0, csq.length());
+	}
+
+	/**
+	 * Appends part of some text to the report. Every line break completes a row.
+	 * 
+	 * @param csq
+	 *            the text to append
+	 * @param start
+	 *            index of the first character to append
+	 * @param end
+	 *            index after the last character to append
+	 * @return this model
+	 */
+	@Override
+	public ReportListModel append(CharSequence csq, int start, int end) {
+		final int firstNewRow = lines.size();
+		int lineStart = start;
+		for (int i = start; i < end; i++) {
+			if (csq.charAt(i) == '\n') {
+				pending.append(csq, lineStart, i);
+				lines.add(pending.toString());
+				pending.setLength(0);
+				lineStart = i + 1;
+			}
+		}
+		pending.append(csq, lineStart, end);
+		if (lines.size() > firstNewRow) {
+			fireIntervalAdded(this, firstNewRow, lines.size() - 1);
+		}
+		return this;
+	}
+
+	/**
+	 * Appends a single character to the report. A line break completes a row.
+	 * 
+	 * @param c
+	 *            the character
+	 * @return this model
+	 */
+	@Override
+	public ReportListModel append(char c) {
+		if (c == '\n') {
+			lines.add(pending.toString());
+			pending.setLength(0);
+			fireIntervalAdded(this, lines.size() - 1, lines.size() - 1);
+		} else {
+			pending.append(c);
+		}
+		return this;
+	}
+
+	/**
+	 * Completes the trailing line, if any text is waiting for a line break.
+	 */
+	public void flush() {
+		if (pending.length() > 0) {
+			append('\n');
+		}
+	}
+
+	/**
+	 * Removes every line from the report.
+	 */
+	public void clear() {
+		final int size = lines.size();
+		lines.clear();
+		pending.setLength(0);
+		if (size > 0) {
+			fireIntervalRemoved(this, 0, size - 1);
+		}
+	}
+
+}
@@ -1,29 +1,45 @@
 package com.github.astefanich.ringhunter.driver;
 
-import java.applet.Applet;
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 
+import com.github.astefanich.ringhunter.events.HuntEvent;
 import com.github.astefanich.ringhunter.hunters.AbstractRingHunter;
-import com.github.astefanich.ringhunter.hunters.DepthFirstHunter;
+import com.github.astefanich.ringhunter.hunters.HunterRegistry;
 import com.github.astefanich.ringhunter.nodes.MiddleEarthNode;
+import com.github.astefanich.ringhunter.render.TreeRenderer;
+import com.github.astefanich.ringhunter.reports.ReportRenderer;
+import com.github.astefanich.ringhunter.reports.TextReportRenderer;
 import com.github.astefanich.ringhunter.trees.RandomTree;
 
 /**
- * Main driver class for this application.
+ * Main driver class for this application. <br>
+ * The window is shown before anything else is loaded: the picture is read in the background, and
+ * the hunters, the tree generator and the renderer are only created on the first click. With
+ * {@code -D}{@value #TRAINING_PROPERTY}{@code =true} the driver clicks Start once and exits, which
+ * is how the class-data-sharing archive for the app is recorded.
  * 
  * @author AndrewStefanich
  */
-public class RingHunterDriver extends Applet implements ActionListener {
+public class RingHunterDriver implements ActionListener {
+
+	/** system property which makes the driver click Start once and exit */
+	public static final String TRAINING_PROPERTY = "ringhunter.training";
 
 	/**
 	 * Creates a single instance of {@link RingHunterDriver}, which displays in a window.
@@ -32,8 +48,12 @@ public class RingHunterDriver extends Applet implements ActionListener {
 	 *            cmd line args
 	 */
 	public static void main(String[] args) {
-
-		final RingHunterDriver hunterFrame = new RingHunterDriver();
+		SwingUtilities.invokeLater(() -> {
+			final RingHunterDriver hunterFrame = new RingHunterDriver();
+			if (Boolean.getBoolean(TRAINING_PROPERTY)) {
+				hunterFrame.train();
+			}
+		});
 	}
 
 	/** introduction string, in HTML format */
@@ -81,6 +101,9 @@ public class RingHunterDriver extends Applet implements ActionListener {
 		return sb.toString();
 	}
 
+	HunterRegistry hunters;  //hunters listed in META-INF/services, -Dringhunter.hunter picks one; loaded on the first click
+	TreeRenderer treeRenderer;  //draws each new tree into the same component; created on the first click
+
 	//SWING 
 	JFrame window = new JFrame("Ring Hunter");
 	JPanel buttonPanel = new JPanel();  //panel to hold the button
@@ -88,8 +111,12 @@ public class RingHunterDriver extends Applet implements ActionListener {
 	JPanel reportPanel = new JPanel();  //panel to hold the report/introduction
 
 	JButton button = new JButton("Start");  //initiate button
-	JLabel reportLabel = new JLabel();   //our component that holds the report string
+	JLabel reportLabel = new JLabel();   //our component that holds the introduction string
+	ReportListModel reportLines = new ReportListModel();  //the hunter report, one row per line
+	JList<String> reportList = new JList<>(reportLines);  //only paints the rows in view
+	JScrollPane reportScroller = new JScrollPane(reportList);  //keeps long reports from growing the window
 	JPanel imagePanel = new JPanel();	//component that holds the tree graphic
+	SwingWorker<ImageIcon, Void> imageLoader;  //reads the picture while the window is already showing
 
 	/**
 	 * Creating an instance of this class will present an introduction pane<br>
@@ -99,8 +126,23 @@ public class RingHunterDriver extends Applet implements ActionListener {
 
 		button.addActionListener(this);
 
-		imagePanel.add(new JLabel(new ImageIcon(RingHunterDriver.class.getResource("/witch_king.png"))));
 		imagePanel.setBackground(Color.BLACK);
+		imageLoader = new SwingWorker<ImageIcon, Void>() {
+			@Override
+			protected ImageIcon doInBackground() {
+				return new ImageIcon(RingHunterDriver.class.getResource("/witch_king.png"));
+			}
+
+			@Override
+			protected void done() {
+				try {
+					imagePanel.add(new JLabel(get()));
+					window.pack();
+				} catch (InterruptedException | ExecutionException e) {
+					throw new IllegalStateException("could not load the picture", e);
+				}
+			}
+		};
 
 		//PANEL FOR THE BUTTON
 		buttonPanel.setBorder(BorderFactory.createLineBorder(Color.BLACK, 10));
@@ -114,6 +156,14 @@ public class RingHunterDriver extends Applet implements ActionListener {
 		reportLabel.setForeground(Color.WHITE);  //the text color
 		reportPanel.add(reportLabel);
 
+		//COMPONENTS WHICH DISPLAY THE REPORT (swapped in for the intro after the first click)
+		reportList.setPrototypeCellValue("Entering (the) Glittering Caves (a cave system behind Helms Deep)   ");
+		reportList.setBackground(Color.DARK_GRAY);
+		reportList.setForeground(Color.WHITE);
+		reportScroller.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
+		reportScroller.setPreferredSize(new Dimension(reportScroller.getPreferredSize().width, 500));
+		reportScroller.setBorder(BorderFactory.createEmptyBorder());
+
 		//PANEL WHICH HOLDS THE TREE COMPONENT
 		treePanel.setBorder(BorderFactory.createLineBorder(Color.BLACK, 10));
 		treePanel.setBackground(Color.BLACK);
@@ -128,6 +178,21 @@ public class RingHunterDriver extends Applet implements ActionListener {
 		reportPanel.setVisible(true);
 		window.pack();
 		window.setVisible(true);
+		imageLoader.execute();
+	}
+
+	/**
+	 * Clicks Start once, waits for the picture, and exits, so that a class-data-sharing archive
+	 * recorded during this run holds every class the app needs.
+	 */
+	private void train() {
+		button.doClick();
+		try {
+			imageLoader.get();
+		} catch (InterruptedException | ExecutionException e) {
+			throw new IllegalStateException("could not load the picture", e);
+		}
+		System.exit(0);
 	}
 
 	/**
@@ -148,18 +213,45 @@ public class RingHunterDriver extends Applet implements ActionListener {
 		treePanel.removeAll();  //empties the container holding the map for each iteration
 		button.setText("Reset");  //if we reached this point, our user has clicked the button atleast once
 
+		if (hunters == null) {
+			hunters = HunterRegistry.load();
+			treeRenderer = new TreeRenderer();
+		}
+
 		//get a new tree/report for each user click
-		AbstractRingHunter myHunter = new DepthFirstHunter();
+		AbstractRingHunter myHunter = hunters.createDefault();
 		RandomTree myTree = new RandomTree();
 		MiddleEarthNode treeRoot = myTree.getTreeTop();
+
+		//the hunter streams its report straight into the list, one row per line
+		reportLines.clear();
+		reportLines.append("Hunter name: ").append(myHunter.getName()).append("\n\nHunting report:\n");
+		final ReportRenderer renderer = new TextReportRenderer(reportLines);
+		myHunter.setRenderer(renderer);
+
+		final HuntEvent huntEvent = new HuntEvent();
+		huntEvent.begin();
 		myHunter.startAt(treeRoot);
+		huntEvent.end();
+		myHunter.close();
+		if (huntEvent.shouldCommit()) {
+			huntEvent.setTreeSize(myTree.getTreeSize());
+			huntEvent.setTreeDepth(myTree.getTreeDepth());
+			huntEvent.setHunter(myHunter.getName());
+			huntEvent.setNodesVisited(myHunter.getNodesVisited());
+			huntEvent.setReportLength((int) renderer.getLength());
+			huntEvent.commit();
+		}
 
-		String reportString = String.format("Hunter name: %s\n\nHunting report:%s", myHunter.getName(),
-				myHunter.report());
-		reportLabel.setText(stringToHTML(9, 0, reportString));
+		reportLines.flush();
+		if (reportLabel.getParent() == reportPanel) {  //first click replaces the introduction with the report
+			reportPanel.remove(reportLabel);
+			reportPanel.add(reportScroller);
+		}
+		reportList.ensureIndexIsVisible(0);
 		reportPanel.setBackground(Color.DARK_GRAY);
 
-		treePanel.add(myTree.getTreeGraphic());
+		treePanel.add(treeRenderer.getTreeGraphic(treeRoot));
 		treePanel.setBackground(Color.LIGHT_GRAY);
 		window.pack();
 		window.setVisible(true);